@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package io.vertx.config.benchmarks;
+
+import io.vertx.config.ConfigRetriever;
+import io.vertx.config.ConfigRetrieverOptions;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the reads of the last configuration: {@code cachedConfig} copies it, as
+ * {@link ConfigRetriever#getCachedConfig()} does on every call, while {@code snapshot} reads a value from the
+ * immutable snapshot, without copying it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CachedConfigBenchmark {
+
+  @Param({"100", "10000", "100000"})
+  public int keys;
+
+  private Vertx vertx;
+  private ConfigRetriever retriever;
+
+  @Setup
+  public void setup() {
+    vertx = Vertx.vertx();
+    JsonObject config = ConfigGenerator.generate(keys, 0);
+    retriever = ConfigRetriever.create(vertx, new ConfigRetrieverOptions().setScanPeriod(0)
+      .addStore(MemoryConfigStoreFactory.store("cached", Collections.singletonList(config.toBuffer()))));
+    retriever.getConfig().await();
+  }
+
+  @TearDown
+  public void tearDown() {
+    retriever.close();
+    vertx.close().await();
+  }
+
+  @Benchmark
+  public JsonObject cachedConfig() {
+    return retriever.getCachedConfig();
+  }
+
+  @Benchmark
+  public boolean snapshot() {
+    return retriever.getSnapshot().containsKey("section-0.group-0.key-0");
+  }
+}
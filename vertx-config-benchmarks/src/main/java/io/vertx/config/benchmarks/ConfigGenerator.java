@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package io.vertx.config.benchmarks;
+
+import io.vertx.core.json.JsonObject;
+
+import java.util.Random;
+
+/**
+ * Generates synthetic configurations. The generation is deterministic: the same parameters always produce the same
+ * configuration, so the results of the benchmarks can be compared across runs.
+ * <p>
+ * The keys are spread in sections and groups, {@code section-s.group-g.key-k}, so merges and comparisons go through
+ * nested objects like they do with real configurations.
+ */
+final class ConfigGenerator {
+
+  private static final int SECTIONS = 10;
+  private static final int GROUPS = 10;
+
+  private ConfigGenerator() {
+    // Avoid direct instantiation.
+  }
+
+  /**
+   * @param keys the number of values
+   * @param seed the seed of the values, configurations generated with distinct seeds have the same keys but
+   *             different values
+   * @return the configuration
+   */
+  static JsonObject generate(int keys, long seed) {
+    Random random = new Random(seed);
+    JsonObject root = new JsonObject();
+    for (int i = 0; i < keys; i++) {
+      JsonObject section = child(root, "section-" + i % SECTIONS);
+      JsonObject group = child(section, "group-" + i / SECTIONS % GROUPS);
+      group.put("key-" + i, value(random));
+    }
+    return root;
+  }
+
+  /**
+   * @param config the configuration, not modified
+   * @param value  the new value
+   * @return a copy of the configuration with a single modified value
+   */
+  static JsonObject modify(JsonObject config, Object value) {
+    JsonObject copy = config.copy();
+    child(child(copy, "section-0"), "group-0").put("key-0", value);
+    return copy;
+  }
+
+  private static JsonObject child(JsonObject parent, String name) {
+    JsonObject child = parent.getJsonObject(name);
+    if (child == null) {
+      child = new JsonObject();
+      parent.put(name, child);
+    }
+    return child;
+  }
+
+  private static Object value(Random random) {
+    switch (random.nextInt(3)) {
+      case 0:
+        return random.nextInt();
+      case 1:
+        return random.nextBoolean();
+      default:
+        return Long.toHexString(random.nextLong());
+    }
+  }
+}
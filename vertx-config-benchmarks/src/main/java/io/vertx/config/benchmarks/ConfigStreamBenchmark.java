@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package io.vertx.config.benchmarks;
+
+import io.vertx.config.ConfigRetriever;
+import io.vertx.config.ConfigRetrieverOptions;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the delivery of a new configuration to the configuration streams: each operation computes a new
+ * configuration and waits until every stream has received it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigStreamBenchmark {
+
+  @Param({"1", "10", "100"})
+  public int streams;
+
+  @Param({"100", "10000"})
+  public int keys;
+
+  private Vertx vertx;
+  private ConfigRetriever retriever;
+  private final AtomicLong delivered = new AtomicLong();
+  private long expected;
+
+  @Setup
+  public void setup() {
+    vertx = Vertx.vertx();
+    JsonObject config = ConfigGenerator.generate(keys, 0);
+    retriever = ConfigRetriever.create(vertx, new ConfigRetrieverOptions().setScanPeriod(0)
+      .addStore(MemoryConfigStoreFactory.store("stream",
+        List.of(config.toBuffer(), ConfigGenerator.modify(config, "changed").toBuffer()))));
+    retriever.getConfig().await();
+    for (int i = 0; i < streams; i++) {
+      ReadStream<JsonObject> stream = retriever.newConfigStream();
+      stream.handler(json -> delivered.incrementAndGet());
+    }
+    // Wait for the delivery of the current configuration to the new streams
+    await(streams);
+  }
+
+  @TearDown
+  public void tearDown() {
+    retriever.close();
+    vertx.close().await();
+  }
+
+  @Benchmark
+  public long dispatch() {
+    retriever.getConfig().await();
+    return await(expected + streams);
+  }
+
+  private long await(long count) {
+    while (delivered.get() < count) {
+      Thread.onSpinWait();
+    }
+    expected = count;
+    return count;
+  }
+}
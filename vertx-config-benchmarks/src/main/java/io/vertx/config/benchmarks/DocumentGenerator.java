@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package io.vertx.config.benchmarks;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Map;
+
+/**
+ * Generates documents of a given format and of approximately a given size, all describing the same kind of
+ * configuration, see {@link ConfigGenerator}.
+ */
+final class DocumentGenerator {
+
+  // The approximate size of a value in a JSON document
+  private static final int BYTES_PER_KEY = 40;
+
+  private DocumentGenerator() {
+    // Avoid direct instantiation.
+  }
+
+  /**
+   * @param format the format: {@code json}, {@code properties}, {@code raw}, {@code yaml} or {@code hocon}
+   * @param size   the approximate size in bytes
+   * @return the document
+   */
+  static Buffer generate(String format, int size) {
+    JsonObject config = ConfigGenerator.generate(Math.max(1, size / BYTES_PER_KEY), 0);
+    StringBuilder builder = new StringBuilder(size + size / 4);
+    switch (format) {
+      case "json":
+      case "raw":
+        return config.toBuffer();
+      case "properties":
+        writeProperties(builder, "", config, "=");
+        break;
+      case "hocon":
+        writeProperties(builder, "", config, " = ");
+        break;
+      case "yaml":
+        writeYaml(builder, "", config);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown format " + format);
+    }
+    return Buffer.buffer(builder.toString());
+  }
+
+  private static void writeProperties(StringBuilder builder, String prefix, JsonObject json, String separator) {
+    for (Map.Entry<String, Object> entry : json) {
+      if (entry.getValue() instanceof JsonObject) {
+        writeProperties(builder, prefix + entry.getKey() + ".", (JsonObject) entry.getValue(), separator);
+      } else {
+        builder.append(prefix).append(entry.getKey()).append(separator).append(entry.getValue()).append('\n');
+      }
+    }
+  }
+
+  private static void writeYaml(StringBuilder builder, String indent, JsonObject json) {
+    for (Map.Entry<String, Object> entry : json) {
+      builder.append(indent).append(entry.getKey()).append(':');
+      if (entry.getValue() instanceof JsonObject) {
+        builder.append('\n');
+        writeYaml(builder, indent + "  ", (JsonObject) entry.getValue());
+      } else if (entry.getValue() instanceof String) {
+        builder.append(" \"").append(entry.getValue()).append("\"\n");
+      } else {
+        builder.append(' ').append(entry.getValue()).append('\n');
+      }
+    }
+  }
+}
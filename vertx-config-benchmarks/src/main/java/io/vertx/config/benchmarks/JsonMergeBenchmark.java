@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package io.vertx.config.benchmarks;
+
+import io.vertx.config.ConfigChange;
+import io.vertx.core.json.JsonObject;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the JSON operations done by the retriever on every computation.
+ * <p>
+ * {@code deepMerge} merges the configurations of the stores like the retriever does, in a new object and from copies
+ * of the store configurations. {@code equals} compares two equal configurations with
+ * {@link JsonObject#equals(Object)}, and {@code diff} computes their (empty) difference: this is the cost of detecting
+ * that a scan did not change anything.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonMergeBenchmark {
+
+  @Param({"1", "10", "30"})
+  public int layers;
+
+  @Param({"100", "10000"})
+  public int keys;
+
+  private JsonObject[] inputs;
+  private JsonObject merged;
+  private JsonObject same;
+
+  @Setup
+  public void setup() {
+    inputs = new JsonObject[layers];
+    for (int i = 0; i < layers; i++) {
+      inputs[i] = ConfigGenerator.generate(keys, i);
+    }
+    merged = deepMerge();
+    same = merged.copy();
+  }
+
+  @Benchmark
+  public JsonObject deepMerge() {
+    JsonObject json = new JsonObject();
+    for (JsonObject input : inputs) {
+      json.mergeIn(input.copy(), true);
+    }
+    return json;
+  }
+
+  @Benchmark
+  public boolean equals() {
+    return merged.equals(same);
+  }
+
+  @Benchmark
+  public Set<String> diff() {
+    return new ConfigChange(merged, same).getChangedPaths();
+  }
+}
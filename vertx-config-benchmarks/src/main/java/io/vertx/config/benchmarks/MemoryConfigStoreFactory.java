@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package io.vertx.config.benchmarks;
+
+import io.vertx.config.ConfigStoreOptions;
+import io.vertx.config.spi.ConfigRegistry;
+import io.vertx.config.spi.ConfigStore;
+import io.vertx.config.spi.ConfigStoreFactory;
+import io.vertx.config.spi.VersionedContent;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A store serving prepared contents from memory, so the benchmarks do not depend on the file system or the network.
+ * Each retrieval returns the next content of the list, in a loop: a store with a single content never changes, a
+ * store with two contents changes on every retrieval. A versioned store reports the content as not modified when it
+ * has the version passed to the store, as the stores able to detect their modifications do.
+ */
+final class MemoryConfigStoreFactory implements ConfigStoreFactory {
+
+  static final String NAME = "benchmark-memory";
+
+  private static final Map<String, List<Buffer>> CONTENTS = new ConcurrentHashMap<>();
+
+  static {
+    ConfigRegistry.register(new MemoryConfigStoreFactory());
+  }
+
+  /**
+   * Registers the contents of a store.
+   *
+   * @param id       the identifier of the store
+   * @param contents the contents returned in a loop
+   * @return the options of the store
+   */
+  static ConfigStoreOptions store(String id, List<Buffer> contents) {
+    CONTENTS.put(id, contents);
+    return new ConfigStoreOptions().setType(NAME).setConfig(new JsonObject().put("id", id));
+  }
+
+  /**
+   * Registers the contents of a versioned store.
+   *
+   * @param id       the identifier of the store
+   * @param contents the contents returned in a loop
+   * @return the options of the store
+   */
+  static ConfigStoreOptions versionedStore(String id, List<Buffer> contents) {
+    ConfigStoreOptions options = store(id, contents);
+    options.getConfig().put("versioned", true);
+    return options;
+  }
+
+  @Override
+  public String name() {
+    return NAME;
+  }
+
+  @Override
+  public ConfigStore create(Vertx vertx, JsonObject configuration) {
+    List<Buffer> contents = CONTENTS.get(configuration.getString("id"));
+    boolean versioned = configuration.getBoolean("versioned", false);
+    AtomicInteger next = new AtomicInteger();
+    String[] versions = new String[contents.size()];
+    for (int i = 0; i < versions.length; i++) {
+      versions[i] = Integer.toString(i);
+    }
+    Future<VersionedContent> notModified = Future.succeededFuture(VersionedContent.notModified());
+    return new ConfigStore() {
+      @Override
+      public Future<Buffer> get() {
+        return Future.succeededFuture(contents.get(Math.floorMod(next.getAndIncrement(), contents.size())));
+      }
+
+      @Override
+      public Future<VersionedContent> get(String previousVersion) {
+        if (!versioned) {
+          return ConfigStore.super.get(previousVersion);
+        }
+        int index = Math.floorMod(next.getAndIncrement(), contents.size());
+        if (versions[index].equals(previousVersion)) {
+          return notModified;
+        }
+        return Future.succeededFuture(VersionedContent.of(contents.get(index), versions[index]));
+      }
+
+      @Override
+      public Future<Void> close() {
+        return Future.succeededFuture();
+      }
+    };
+  }
+}
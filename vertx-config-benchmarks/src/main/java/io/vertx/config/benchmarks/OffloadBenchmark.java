@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package io.vertx.config.benchmarks;
+
+import io.vertx.core.Context;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of offloading the processing to a worker thread with {@code executeBlocking}, as the
+ * {@code properties}, {@code yaml} and {@code hocon} processors do. {@code inline} completes on the event loop,
+ * {@code executeBlocking} goes through a worker thread: the difference is the overhead of the offload, to compare
+ * with the processing time measured by {@link ProcessorBenchmark} to judge when offloading pays off.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OffloadBenchmark {
+
+  private Vertx vertx;
+  private Context context;
+
+  @Setup
+  public void setup() {
+    vertx = Vertx.vertx();
+    context = vertx.getOrCreateContext();
+  }
+
+  @TearDown
+  public void tearDown() {
+    vertx.close().await();
+  }
+
+  @Benchmark
+  public Object inline() {
+    Promise<Void> promise = Promise.promise();
+    context.runOnContext(promise::complete);
+    return promise.future().await();
+  }
+
+  @Benchmark
+  public Object executeBlocking() {
+    Promise<Void> promise = Promise.promise();
+    context.runOnContext(v -> vertx.executeBlocking(() -> v).onComplete(promise));
+    return promise.future().await();
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package io.vertx.config.benchmarks;
+
+import io.vertx.config.spi.ConfigProcessor;
+import io.vertx.config.spi.ConfigRegistry;
+import io.vertx.core.Context;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the processing of generated documents, from 1 KB to 50 MB, by each {@link ConfigProcessor}. The processors
+ * are called on an event loop, like the retriever does, and the measurement includes their {@code executeBlocking}
+ * offload when they use one ({@code properties}, {@code yaml} and {@code hocon}), see {@link OffloadBenchmark} for the
+ * cost of the offload alone.
+ * <p>
+ * Both the throughput and the latency distribution are reported. Run with {@code -prof gc} to get the allocation
+ * rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProcessorBenchmark {
+
+  @Param({"json", "properties", "properties-hierarchical", "raw", "yaml", "hocon"})
+  public String format;
+
+  @Param({"1024", "65536", "1048576", "52428800"})
+  public int size;
+
+  private Vertx vertx;
+  private Context context;
+  private ConfigProcessor processor;
+  private JsonObject configuration;
+  private Buffer input;
+
+  @Setup
+  public void setup() {
+    vertx = Vertx.vertx();
+    context = vertx.getOrCreateContext();
+    configuration = new JsonObject();
+    String name = format;
+    if (format.equals("properties-hierarchical")) {
+      name = "properties";
+      configuration.put("hierarchical", true);
+    } else if (format.equals("raw")) {
+      configuration.put("raw.key", "content");
+    }
+    processor = ConfigRegistry.getProcessor(name);
+    if (processor == null) {
+      throw new IllegalStateException("No processor for " + name + " on the classpath");
+    }
+    input = DocumentGenerator.generate(name, size);
+  }
+
+  @TearDown
+  public void tearDown() {
+    vertx.close().await();
+  }
+
+  @Benchmark
+  public JsonObject process() {
+    Promise<JsonObject> promise = Promise.promise();
+    context.runOnContext(v -> processor.process(vertx, configuration, input).onComplete(promise));
+    return promise.future().await();
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package io.vertx.config.benchmarks;
+
+import io.vertx.config.ConfigRetriever;
+import io.vertx.config.ConfigRetrieverOptions;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the computation of the configuration by the retriever: the retrieval of the stores, the processing of
+ * their content, the merge and the publication. The stores serve their content from memory.
+ * <p>
+ * With {@code changing}, every store returns a different content on each retrieval, so everything is processed and
+ * merged again. Otherwise, the stores always return the same content, which is the steady state of most scans.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RetrieverComputeBenchmark {
+
+  @Param({"1", "10", "30"})
+  public int stores;
+
+  @Param({"100", "10000"})
+  public int keys;
+
+  @Param({"false", "true"})
+  public boolean changing;
+
+  private Vertx vertx;
+  private ConfigRetriever retriever;
+
+  @Setup
+  public void setup() {
+    vertx = Vertx.vertx();
+    ConfigRetrieverOptions options = new ConfigRetrieverOptions().setScanPeriod(0);
+    for (int i = 0; i < stores; i++) {
+      JsonObject config = ConfigGenerator.generate(keys, i);
+      List<Buffer> contents = changing
+        ? List.of(config.toBuffer(), ConfigGenerator.modify(config, "changed").toBuffer())
+        : Collections.singletonList(config.toBuffer());
+      options.addStore(MemoryConfigStoreFactory.store("compute-" + i, contents));
+    }
+    retriever = ConfigRetriever.create(vertx, options);
+  }
+
+  @TearDown
+  public void tearDown() {
+    retriever.close();
+    vertx.close().await();
+  }
+
+  @Benchmark
+  public JsonObject compute() {
+    return retriever.getConfig().await();
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.vertx.config.benchmarks;
+
+import io.vertx.config.ConfigRetriever;
+import io.vertx.config.ConfigRetrieverOptions;
+import io.vertx.config.ConfigStoreOptions;
+import io.vertx.config.spi.ConfigProcessor;
+import io.vertx.config.spi.ConfigRegistry;
+import io.vertx.config.spi.ConfigStoreFactory;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of creating a retriever, and of resolving its store factories and processors.
+ * <p>
+ * {@code serviceLoader} scans the classpath and builds the name to implementation maps, as every retriever did before
+ * the introduction of the {@link ConfigRegistry}. {@code registry} resolves the same implementations from the
+ * registry. {@code createRetriever} creates (and closes) a retriever configured with a few stores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RetrieverStartupBenchmark {
+
+  private Vertx vertx;
+  private ConfigRetrieverOptions options;
+
+  @Setup
+  public void setup() {
+    vertx = Vertx.vertx();
+    options = new ConfigRetrieverOptions()
+      // No periodic scan
+      .setScanPeriod(0)
+      .addStore(new ConfigStoreOptions().setType("json").setConfig(new JsonObject().put("key", "value")))
+      .addStore(new ConfigStoreOptions().setType("sys"))
+      .addStore(new ConfigStoreOptions().setType("env"));
+  }
+
+  @TearDown
+  public void tearDown() {
+    vertx.close().await();
+  }
+
+  @Benchmark
+  public void serviceLoader(Blackhole blackhole) {
+    ClassLoader loader = ConfigStoreFactory.class.getClassLoader();
+    Map<String, ConfigStoreFactory> stores = new HashMap<>();
+    ServiceLoader.load(ConfigStoreFactory.class, loader).forEach(factory -> stores.put(factory.name(), factory));
+    Map<String, ConfigProcessor> processors = new HashMap<>();
+    ServiceLoader.load(ConfigProcessor.class, loader).forEach(processor -> processors.put(processor.name(), processor));
+    blackhole.consume(stores.get("json"));
+    blackhole.consume(processors.get("json"));
+  }
+
+  @Benchmark
+  public void registry(Blackhole blackhole) {
+    blackhole.consume(ConfigRegistry.getStoreFactory("json"));
+    blackhole.consume(ConfigRegistry.getProcessor("json"));
+  }
+
+  @Benchmark
+  public void createRetriever(Blackhole blackhole) {
+    ConfigRetriever retriever = ConfigRetriever.create(vertx, options);
+    blackhole.consume(retriever);
+    retriever.close();
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package io.vertx.config.benchmarks;
+
+import io.vertx.config.ConfigRetriever;
+import io.vertx.config.ConfigRetrieverOptions;
+import io.vertx.config.ConfigStoreOptions;
+import io.vertx.config.spi.ConfigRetrieverMetrics;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a periodic scan in steady state: none of the stores has been modified since the last scan. Each operation
+ * waits for the next scan, so the allocation rate reported by {@code -prof gc} ({@code gc.alloc.rate.norm}) is the
+ * number of bytes allocated per scan, by the retriever and by the timer triggering it.
+ * <p>
+ * The retriever reads the {@code json}, {@code sys} and {@code env} stores, and versioned in-memory stores standing for
+ * the stores able to detect their modifications (files, HTTP...).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SteadyStateScanBenchmark {
+
+  @Param({"1", "10"})
+  public int stores;
+
+  @Param({"100", "10000"})
+  public int keys;
+
+  private Vertx vertx;
+  private ConfigRetriever retriever;
+  private ScanCounter counter;
+  private long expected;
+
+  @Setup
+  public void setup() {
+    vertx = Vertx.vertx();
+    ConfigRetrieverOptions options = new ConfigRetrieverOptions()
+      .setScanPeriod(1)
+      .addStore(new ConfigStoreOptions().setType("json").setConfig(new JsonObject().put("key", "value")))
+      .addStore(new ConfigStoreOptions().setType("sys"))
+      .addStore(new ConfigStoreOptions().setType("env"));
+    for (int i = 0; i < stores; i++) {
+      options.addStore(MemoryConfigStoreFactory.versionedStore("steady-" + i,
+        Collections.singletonList(ConfigGenerator.generate(keys / stores, i).toBuffer())));
+    }
+    counter = new ScanCounter();
+    retriever = ConfigRetriever.create(vertx, options, counter);
+    retriever.getConfig().await();
+    expected = counter.scans;
+  }
+
+  @TearDown
+  public void tearDown() {
+    retriever.close();
+    vertx.close().await();
+  }
+
+  @Benchmark
+  public long scan() {
+    long target = ++expected;
+    while (counter.scans < target) {
+      Thread.onSpinWait();
+    }
+    return target;
+  }
+
+  /**
+   * Counts the completed scans, without allocating.
+   */
+  private static final class ScanCounter implements ConfigRetrieverMetrics {
+
+    private volatile long scans;
+
+    @Override
+    public void scanCompleted(boolean changed) {
+      // Only called from the context of the retriever
+      scans++;
+    }
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.vertx.config.impl;
+
+import io.vertx.config.ConfigChange;
+import io.vertx.core.json.JsonObject;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of finding the path-scoped listeners to wake up on a configuration change.
+ * <p>
+ * {@code trie} looks the listeners up in the prefix trie used by the retriever, its cost depends on the number of
+ * changed paths. {@code broadcast} checks every listener against the change, as each listener had to do when every
+ * change was broadcast to all of them, its cost depends on the number of listeners.
+ * <p>
+ * The trie is package-private, so this benchmark is in the package of the retriever.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListenerDispatchBenchmark {
+
+  @Param({"10", "100", "1000", "10000"})
+  public int listeners;
+
+  @Param({"1", "10", "100"})
+  public int changes;
+
+  private ListenerTrie<Integer> trie;
+  private List<String> prefixes;
+  private ConfigChange diff;
+
+  @Setup
+  public void setup() {
+    JsonObject previous = new JsonObject();
+    JsonObject current = new JsonObject();
+    trie = new ListenerTrie<>();
+    prefixes = new ArrayList<>(listeners);
+    int sections = Math.max(listeners, changes);
+    for (int i = 0; i < sections; i++) {
+      String name = "section-" + i;
+      previous.put(name, new JsonObject().put("value", i).put("enabled", true));
+      current.put(name, new JsonObject().put("value", i < changes ? -i : i).put("enabled", true));
+      if (i < listeners) {
+        String prefix = name + ".value";
+        trie.add(ConfigPath.parse(prefix), i);
+        prefixes.add("/" + name + "/value");
+      }
+    }
+    diff = new ConfigChange(previous, current);
+    // Computed once, as the retriever does for each scan
+    diff.getChangedPaths();
+  }
+
+  @Benchmark
+  public void trie(Blackhole blackhole) {
+    Set<Integer> matching = new TreeSet<>();
+    for (String pointer : diff.getChangedPaths()) {
+      trie.collect(ConfigPath.parsePointer(pointer), matching);
+    }
+    blackhole.consume(matching);
+  }
+
+  @Benchmark
+  public void broadcast(Blackhole blackhole) {
+    List<Integer> matching = new ArrayList<>();
+    for (int i = 0; i < prefixes.size(); i++) {
+      if (diff.isChanged(prefixes.get(i))) {
+        matching.add(i);
+      }
+    }
+    blackhole.consume(matching);
+  }
+}
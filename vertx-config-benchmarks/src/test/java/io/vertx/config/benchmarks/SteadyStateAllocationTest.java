@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package io.vertx.config.benchmarks;
+
+import org.junit.Test;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the {@link SteadyStateScanBenchmark} with the GC profiler, and checks that a scan in steady state stays within
+ * its allocation budget. The budget (in bytes per scan) can be changed with the {@code steady-state-scan.budget}
+ * system property.
+ */
+public class SteadyStateAllocationTest {
+
+  private static final long BUDGET = Long.getLong("steady-state-scan.budget", 256);
+
+  @Test
+  public void testAllocationBudget() throws RunnerException {
+    Options options = new OptionsBuilder()
+      .include(SteadyStateScanBenchmark.class.getSimpleName())
+      .addProfiler(GCProfiler.class)
+      // In the test JVM, its class path may not be usable by a forked JVM
+      .forks(0)
+      .warmupIterations(3)
+      .measurementIterations(3)
+      .build();
+    Collection<RunResult> results = new Runner(options).run();
+    assertThat(results).isNotEmpty();
+    for (RunResult result : results) {
+      BenchmarkParams params = result.getParams();
+      Result<?> allocation = null;
+      for (Map.Entry<String, Result> entry : result.getSecondaryResults().entrySet()) {
+        // Prefixed with a middle dot by the older JMH versions
+        if (entry.getKey().endsWith("gc.alloc.rate.norm")) {
+          allocation = entry.getValue();
+        }
+      }
+      assertThat(allocation).as("the allocation rate is not reported").isNotNull();
+      assertThat(allocation.getScore())
+        .as("bytes allocated per scan, with %s stores and %s keys", params.getParam("stores"), params.getParam("keys"))
+        .isLessThanOrEqualTo(BUDGET);
+    }
+  }
+}
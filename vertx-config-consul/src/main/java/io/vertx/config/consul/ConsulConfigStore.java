@@ -17,8 +17,10 @@
 package io.vertx.config.consul;
 
 import io.vertx.config.spi.ConfigStore;
+import io.vertx.config.spi.VersionedContent;
 import io.vertx.config.spi.utils.JsonObjectHelper;
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.internal.VertxInternal;
@@ -27,6 +29,7 @@ import io.vertx.ext.consul.ConsulClient;
 import io.vertx.ext.consul.ConsulClientOptions;
 import io.vertx.ext.consul.KeyValue;
 import io.vertx.ext.consul.KeyValueList;
+import io.vertx.ext.consul.Watch;
 
 /**
  * @author <a href="mailto:ruslan.sennov@gmail.com">Ruslan Sennov</a>
@@ -38,23 +41,61 @@ public class ConsulConfigStore implements ConfigStore {
   private final String delimiter;
   private final String prefix;
   private final boolean rawData;
+  private final ConsulClientOptions options;
+  private final boolean watch;
+  private Watch<KeyValueList> watcher;
 
   ConsulConfigStore(Vertx vertx, JsonObject configuration) {
     this.vertx = (VertxInternal) vertx;
-    client = ConsulClient.create(vertx, new ConsulClientOptions(configuration));
+    options = new ConsulClientOptions(configuration);
+    client = ConsulClient.create(vertx, options);
     delimiter = configuration.getString("delimiter", "/");
     prefix = prefix(configuration.getString("prefix"), delimiter);
     rawData = configuration.getBoolean("raw-data", true);
+    watch = configuration.getBoolean("watch", false);
+  }
+
+  @Override
+  public synchronized void watch(Handler<Void> changeHandler) {
+    if (!watch || watcher != null) {
+      return;
+    }
+    // Blocking queries on the prefix, the first result is the initial content and not a change
+    watcher = Watch.keyPrefix(prefix, vertx, options)
+      .setHandler(result -> {
+        if (result.succeeded() && result.prevResult() != null) {
+          changeHandler.handle(null);
+        }
+      })
+      .start();
+  }
+
+  @Override
+  public synchronized void unwatch() {
+    if (watcher != null) {
+      watcher.stop();
+      watcher = null;
+    }
   }
 
   @Override
   public Future<Buffer> get() {
+    return json().map(JsonObject::toBuffer);
+  }
+
+  @Override
+  public Future<VersionedContent> get(String previousVersion) {
+    return json().map(json -> VersionedContent.of(json, null));
+  }
+
+  private Future<JsonObject> json() {
     return client.getValues(prefix)
-      .map(list -> list.isPresent() ? getTree(list, prefix.length(), delimiter, rawData).toBuffer() : Buffer.buffer("{}"));
+      .map(list -> list.isPresent() ? getTree(list, prefix.length(), delimiter, rawData) : new JsonObject());
   }
 
   @Override
   public Future<Void> close() {
+    unwatch();
     client.close();
     return vertx.getOrCreateContext().succeededFuture();
   }
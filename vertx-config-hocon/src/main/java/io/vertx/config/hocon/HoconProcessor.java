@@ -29,6 +29,7 @@ import io.vertx.core.json.JsonObject;
 
 import java.io.Reader;
 import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
 
 /**
  * A processor using Typesafe Conf to read Hocon files. It also support JSON and Properties.
@@ -40,6 +41,14 @@ import java.io.StringReader;
 public class HoconProcessor implements ConfigProcessor {
   private static final String ENV_OVERRIDE_KEY = "hocon.env.override";
   private static final String RAW_DATA_KEY = "raw-data";
+  private static final byte[] INCLUDE = "include".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[][] QUALIFIERS = {
+    "required(".getBytes(StandardCharsets.US_ASCII),
+    "file(".getBytes(StandardCharsets.US_ASCII),
+    "url(".getBytes(StandardCharsets.US_ASCII),
+    "classpath(".getBytes(StandardCharsets.US_ASCII)
+  };
+
   @Override
   public String name() {
     return "hocon";
@@ -70,4 +79,67 @@ public class HoconProcessor implements ConfigProcessor {
       }
     );
   }
+
+  /**
+   * Included files are read during the resolution, so the result cannot be reused when the input contains an
+   * {@code include} directive, even if the input itself has not changed.
+   * <p>
+   * This is a conservative heuristic, not a parser: a directive is an {@code include} token at the start of a
+   * statement (the beginning of the input or of a line, or after a <code>{</code> or a {@code ,}), followed by a quoted
+   * resource or by {@code required(}, {@code file(}, {@code url(} or {@code classpath(}. So keys such as
+   * {@code includeHeaders} or {@code include = true} keep the result cacheable, while an {@code include} token inside a
+   * multi-line string may disable the cache.
+   */
+  @Override
+  public boolean isCacheable(JsonObject configuration, Buffer input) {
+    int last = input.length() - INCLUDE.length;
+    for (int i = 0; i <= last; i++) {
+      if (matches(input, i, INCLUDE) && atStatementStart(input, i) && isResource(input, i + INCLUDE.length)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean atStatementStart(Buffer input, int index) {
+    for (int i = index - 1; i >= 0; i--) {
+      byte b = input.getByte(i);
+      if (b != ' ' && b != '\t') {
+        return b == '\n' || b == '\r' || b == '{' || b == ',';
+      }
+    }
+    return true;
+  }
+
+  private static boolean isResource(Buffer input, int index) {
+    int i = index;
+    while (i < input.length() && (input.getByte(i) == ' ' || input.getByte(i) == '\t')) {
+      i++;
+    }
+    if (i < input.length() && input.getByte(i) == '"') {
+      return true;
+    }
+    if (i == index) {
+      // The token is longer than include
+      return false;
+    }
+    for (byte[] qualifier : QUALIFIERS) {
+      if (matches(input, i, qualifier)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean matches(Buffer input, int index, byte[] token) {
+    if (index + token.length > input.length()) {
+      return false;
+    }
+    for (int j = 0; j < token.length; j++) {
+      if (input.getByte(index + j) != token[j]) {
+        return false;
+      }
+    }
+    return true;
+  }
 }
@@ -20,7 +20,10 @@ package io.vertx.config.hocon.tests;
 import com.typesafe.config.ConfigException;
 import io.vertx.config.ConfigRetriever;
 import io.vertx.config.ConfigRetrieverOptions;
+import io.vertx.config.spi.ConfigProcessor;
+import io.vertx.config.spi.ConfigRegistry;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.file.FileSystemException;
 import io.vertx.core.json.JsonObject;
 import io.vertx.config.ConfigStoreOptions;
@@ -52,7 +55,9 @@ public class HoconProcessorTest {
 
   @After
   public void tearDown() {
-    retriever.close();
+    if (retriever != null) {
+      retriever.close();
+    }
     vertx.close();
   }
 
@@ -284,4 +289,22 @@ public class HoconProcessorTest {
     });
   }
 
+  @Test
+  public void testIncludeDirectivesAreNotCacheable() {
+    ConfigProcessor processor = ConfigRegistry.getProcessor("hocon");
+    JsonObject configuration = new JsonObject();
+    assertThat(processor.isCacheable(configuration, Buffer.buffer("{\"includeHeaders\": true}"))).isTrue();
+    assertThat(processor.isCacheable(configuration, Buffer.buffer("include = true\nincluded: 1"))).isTrue();
+    assertThat(processor.isCacheable(configuration, Buffer.buffer("# include \"other.conf\"\nkey: 1"))).isTrue();
+
+    assertThat(processor.isCacheable(configuration, Buffer.buffer("include \"other.conf\""))).isFalse();
+    assertThat(processor.isCacheable(configuration, Buffer.buffer("key: 1\n  include required(\"a.conf\")")))
+      .isFalse();
+    assertThat(processor.isCacheable(configuration, Buffer.buffer("sub { include file(\"/etc/a.conf\") }")))
+      .isFalse();
+    assertThat(processor.isCacheable(configuration, Buffer.buffer("a: 1, include classpath(\"a.conf\")"))).isFalse();
+    assertThat(processor.isCacheable(configuration, Buffer.buffer("include url(\"http://localhost/a.conf\")")))
+      .isFalse();
+  }
+
 }
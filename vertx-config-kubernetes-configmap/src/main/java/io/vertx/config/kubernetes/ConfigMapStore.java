@@ -18,6 +18,7 @@
 package io.vertx.config.kubernetes;
 
 import io.vertx.config.spi.ConfigStore;
+import io.vertx.config.spi.VersionedContent;
 import io.vertx.config.spi.utils.JsonObjectHelper;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
@@ -129,6 +130,11 @@ public class ConfigMapStore implements ConfigStore {
 
   @Override
   public Future<Buffer> get() {
+    return get(null).map(VersionedContent::getContent);
+  }
+
+  @Override
+  public Future<VersionedContent> get(String previousVersion) {
     Future<String> retrieveToken;
     if (token == null) {
       retrieveToken = getToken();
@@ -138,7 +144,7 @@ public class ConfigMapStore implements ConfigStore {
 
     return retrieveToken.flatMap(token -> {
       if (token.isEmpty()) {
-        return Future.succeededFuture(Buffer.buffer("{}"));
+        return Future.succeededFuture(VersionedContent.of(new JsonObject(), null));
       }
 
       String path = "/api/v1/namespaces/" + namespace;
@@ -166,27 +172,27 @@ public class ConfigMapStore implements ConfigStore {
     });
   }
 
-  private Future<Buffer> handle404() {
+  private Future<VersionedContent> handle404() {
     if (optional) {
-      return Future.succeededFuture(Buffer.buffer("{}"));
+      return Future.succeededFuture(VersionedContent.of(new JsonObject(), null));
     }
     return Future.failedFuture("Cannot find the config map '" + name + "' in '" + namespace + "'");
   }
 
-  private Future<Buffer> handle403() {
+  private Future<VersionedContent> handle403() {
     return Future.failedFuture("Access denied to configmap or secret in namespace " + namespace + ": " + name);
   }
 
-  private Future<Buffer> handleOtherErrors(HttpResponse<Buffer> response) {
+  private Future<VersionedContent> handleOtherErrors(HttpResponse<Buffer> response) {
     if (optional) {
-      return Future.succeededFuture(Buffer.buffer("{}"));
+      return Future.succeededFuture(VersionedContent.of(new JsonObject(), null));
     }
     return Future.failedFuture("Cannot retrieve the configmap or secret in namespace "
       + namespace + ": " + name + ", status code: " + response.statusCode() + ", error: "
       + response.bodyAsString());
   }
 
-  private Future<Buffer> handle200(HttpResponse<Buffer> response) {
+  private Future<VersionedContent> handle200(HttpResponse<Buffer> response) {
     JsonObject data = response.bodyAsJsonObject().getJsonObject("data");
     if (data == null) {
       return Future.failedFuture("Invalid secret of configmap in namespace " + namespace + " " + name
@@ -194,18 +200,18 @@ public class ConfigMapStore implements ConfigStore {
     }
     if (this.key == null) {
       if (secret) {
-        return Future.succeededFuture(new JsonObject(asSecretObjectMap(data.getMap())).toBuffer());
+        return Future.succeededFuture(VersionedContent.of(new JsonObject(asSecretObjectMap(data.getMap())), null));
       }
-      return Future.succeededFuture(new JsonObject(asObjectMap(data.getMap())).toBuffer());
+      return Future.succeededFuture(VersionedContent.of(new JsonObject(asObjectMap(data.getMap())), null));
     }
     String string = data.getString(this.key);
     if (string == null) {
       return Future.failedFuture("Cannot find key '" + this.key + "' in the configmap or secret '" + this.name + "'");
     }
     if (secret) {
-      return Future.succeededFuture(Buffer.buffer(DECODER.decode(string)));
+      return Future.succeededFuture(VersionedContent.of(Buffer.buffer(DECODER.decode(string)), null));
     }
-    return Future.succeededFuture(Buffer.buffer(string));
+    return Future.succeededFuture(VersionedContent.of(Buffer.buffer(string), null));
   }
 
   private static Map<String, Object> asObjectMap(Map<String, Object> source) {
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package io.vertx.config.load;
+
+import io.vertx.config.ConfigStoreOptions;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * The backends exercised by the harness, with the configuration of their store pointing to the local stand-in.
+ */
+enum Backend {
+
+  HTTP("http"),
+  SPRING("spring-config-server"),
+  KUBERNETES("configmap"),
+  VAULT("vault"),
+  CONSUL("consul"),
+  REDIS("redis");
+
+  private final String storeType;
+
+  Backend(String storeType) {
+    this.storeType = storeType;
+  }
+
+  String storeType() {
+    return storeType;
+  }
+
+  /**
+   * @param port the port of the stand-in
+   * @return the options of a store retrieving the configuration from the stand-in
+   */
+  ConfigStoreOptions store(int port) {
+    JsonObject config;
+    switch (this) {
+      case HTTP:
+        config = new JsonObject().put("host", "localhost").put("port", port).put("path", "/app");
+        break;
+      case SPRING:
+        config = new JsonObject().put("url", "http://localhost:" + port + "/app/default");
+        break;
+      case KUBERNETES:
+        config = new JsonObject().put("host", "localhost").put("port", port).put("ssl", false)
+          .put("token", StandIn.TOKEN).put("namespace", "default").put("name", "app");
+        break;
+      case VAULT:
+        config = new JsonObject().put("host", "localhost").put("port", port)
+          .put("token", StandIn.TOKEN).put("path", "secret/app");
+        break;
+      case CONSUL:
+        config = new JsonObject().put("host", "localhost").put("port", port).put("prefix", "app");
+        break;
+      case REDIS:
+        config = new JsonObject().put("endpoints", new JsonArray().add("redis://localhost:" + port)).put("key", "app");
+        break;
+      default:
+        throw new IllegalStateException();
+    }
+    return new ConfigStoreOptions().setType(storeType).setConfig(config);
+  }
+}
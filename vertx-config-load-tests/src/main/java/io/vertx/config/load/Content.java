@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package io.vertx.config.load;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The configuration served by the stand-in servers. Each version is encoded once for every backend protocol, so the
+ * stand-ins do not compete with the retrievers for the CPU.
+ */
+final class Content {
+
+  private static final int SECTIONS = 10;
+
+  private final JsonObject config;
+  private volatile Encoded encoded;
+
+  /**
+   * @param keys the number of values of the configuration
+   */
+  Content(int keys) {
+    Random random = new Random(0);
+    config = new JsonObject();
+    for (int i = 0; i < keys; i++) {
+      JsonObject section = config.getJsonObject("section-" + i % SECTIONS);
+      if (section == null) {
+        section = new JsonObject();
+        config.put("section-" + i % SECTIONS, section);
+      }
+      section.put("key-" + i, Long.toHexString(random.nextLong()));
+    }
+    encoded = new Encoded(0, config);
+  }
+
+  /**
+   * Modifies a value of the configuration, and publishes a new version.
+   */
+  synchronized void change() {
+    long version = encoded.version + 1;
+    config.getJsonObject("section-0").put("key-0", "version-" + version);
+    encoded = new Encoded(version, config);
+  }
+
+  Encoded get() {
+    return encoded;
+  }
+
+  /**
+   * A version of the configuration, encoded for each backend.
+   */
+  static final class Encoded {
+
+    final long version;
+    final String etag;
+    // Plain HTTP store
+    final Buffer json;
+    // Spring Config Server environment
+    final Buffer spring;
+    // Kubernetes config map, the values are strings
+    final Buffer configMap;
+    // Vault secret
+    final Buffer vault;
+    // Consul key/value list, the values are base64 encoded
+    final Buffer consul;
+    // Redis hash, as a RESP3 map
+    final Buffer redis;
+
+    private Encoded(long version, JsonObject config) {
+      this.version = version;
+      this.etag = "\"" + version + "\"";
+      this.json = config.toBuffer();
+      Map<String, String> flat = flatten(config);
+      this.spring = new JsonObject()
+        .put("name", "app")
+        .put("profiles", new JsonArray().add("default"))
+        .put("propertySources", new JsonArray()
+          .add(new JsonObject().put("name", "stand-in").put("source", config)))
+        .toBuffer();
+      JsonObject data = new JsonObject();
+      flat.forEach(data::put);
+      this.configMap = new JsonObject()
+        .put("kind", "ConfigMap")
+        .put("apiVersion", "v1")
+        .put("metadata", new JsonObject().put("name", "app").put("resourceVersion", Long.toString(version)))
+        .put("data", data)
+        .toBuffer();
+      this.vault = new JsonObject()
+        .put("request_id", "stand-in")
+        .put("lease_id", "")
+        .put("renewable", false)
+        .put("lease_duration", 0)
+        .put("data", config)
+        .toBuffer();
+      JsonArray entries = new JsonArray();
+      Base64.Encoder encoder = Base64.getEncoder();
+      flat.forEach((key, value) -> entries.add(new JsonObject()
+        .put("Key", "app/" + key.replace('.', '/'))
+        .put("Value", encoder.encodeToString(value.getBytes(StandardCharsets.UTF_8)))
+        .put("Flags", 0)
+        .put("CreateIndex", 1)
+        .put("ModifyIndex", version + 1)
+        .put("LockIndex", 0)));
+      this.consul = entries.toBuffer();
+      Buffer resp = Buffer.buffer().appendString("%" + flat.size() + "\r\n");
+      flat.forEach((key, value) -> Resp.appendBulk(Resp.appendBulk(resp, key), value));
+      this.redis = resp;
+    }
+
+    private static Map<String, String> flatten(JsonObject config) {
+      Map<String, String> flat = new LinkedHashMap<>();
+      for (Map.Entry<String, Object> section : config) {
+        for (Map.Entry<String, Object> entry : (JsonObject) section.getValue()) {
+          flat.put(section.getKey() + "." + entry.getKey(), String.valueOf(entry.getValue()));
+        }
+      }
+      return flat;
+    }
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package io.vertx.config.load;
+
+import io.vertx.config.spi.ConfigRetrieverMetrics;
+import io.vertx.core.json.JsonObject;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The latencies measured across all the retrievers. The histograms of the current interval are replaced on each
+ * report, the ones of the whole run are kept.
+ */
+final class Latencies {
+
+  private static final long MICROSECONDS = 1000L;
+
+  private volatile Histogram interval = histogram();
+  private final Histogram total = histogram();
+  private final Map<String, Histogram> fetches = new ConcurrentHashMap<>();
+  private final LongAdder changed = new LongAdder();
+  private final LongAdder failures = new LongAdder();
+
+  /**
+   * @return the metrics of a retriever, measuring the duration of its scans
+   */
+  Recorder recorder() {
+    return new Recorder();
+  }
+
+  /**
+   * @return the percentiles of the scans of the interval, in microseconds, and starts a new interval
+   */
+  JsonObject rollInterval() {
+    Histogram current = interval;
+    interval = histogram();
+    return toJson(current);
+  }
+
+  JsonObject toJson() {
+    JsonObject stores = new JsonObject();
+    fetches.forEach((type, histogram) -> stores.put(type, toJson(histogram)));
+    return new JsonObject()
+      .put("scans", toJson(total))
+      .put("changedScans", changed.sum())
+      .put("failedFetches", failures.sum())
+      .put("fetches", stores);
+  }
+
+  private static Histogram histogram() {
+    // Durations in nanoseconds, resized as needed, known with 3 significant digits
+    return new ConcurrentHistogram(3);
+  }
+
+  /**
+   * @return the count, minimum, maximum, mean and main percentiles, in microseconds
+   */
+  private static JsonObject toJson(Histogram histogram) {
+    long n = histogram.getTotalCount();
+    JsonObject json = new JsonObject().put("count", n);
+    if (n == 0) {
+      return json;
+    }
+    return json
+      .put("min", histogram.getMinValue() / MICROSECONDS)
+      .put("max", histogram.getMaxValue() / MICROSECONDS)
+      .put("mean", (long) histogram.getMean() / MICROSECONDS)
+      .put("p50", histogram.getValueAtPercentile(50) / MICROSECONDS)
+      .put("p90", histogram.getValueAtPercentile(90) / MICROSECONDS)
+      .put("p99", histogram.getValueAtPercentile(99) / MICROSECONDS)
+      .put("p999", histogram.getValueAtPercentile(99.9) / MICROSECONDS);
+  }
+
+  /**
+   * The metrics of a retriever. The scans of a retriever run one at a time on its context, the start of the current
+   * scan is recorded by the before scan handler.
+   */
+  final class Recorder implements ConfigRetrieverMetrics {
+
+    private long start;
+
+    void scanStarted() {
+      start = System.nanoTime();
+    }
+
+    @Override
+    public void storeFetched(String store, long duration, long bytes, boolean succeeded) {
+      if (succeeded) {
+        fetches.computeIfAbsent(store, s -> histogram()).recordValue(duration);
+      } else {
+        failures.increment();
+      }
+    }
+
+    @Override
+    public void scanCompleted(boolean changed) {
+      if (start == 0) {
+        // Not a periodic scan
+        return;
+      }
+      long duration = System.nanoTime() - start;
+      start = 0;
+      interval.recordValue(duration);
+      total.recordValue(duration);
+      if (changed) {
+        Latencies.this.changed.increment();
+      }
+    }
+  }
+}
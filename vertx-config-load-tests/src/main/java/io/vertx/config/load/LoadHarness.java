@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package io.vertx.config.load;
+
+import io.vertx.config.ConfigRetriever;
+import io.vertx.config.ConfigRetrieverOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.json.JsonObject;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives many retrievers against local stand-ins of the remote stores, and periodically reports:
+ * <ul>
+ * <li>the scan latency percentiles (from the before scan handler to the end of the scan),</li>
+ * <li>the requests per second received by each stand-in,</li>
+ * <li>the utilization of the event loops (the CPU time of the event loop threads),</li>
+ * <li>the heap growth since the retrievers have been created.</li>
+ * </ul>
+ * Everything runs in the same JVM, on the loopback interface, no network access is required. The retrievers and the
+ * stand-ins share the same event loops, so the utilization includes the cost of serving the configuration.
+ * <p>
+ * Options (all optional):
+ * <pre>
+ * --retrievers n        the number of retrievers (5000)
+ * --scan-period ms      the scan period of each retriever (5000)
+ * --duration s          the duration of the run, once the retrievers are created (60)
+ * --report-interval s   the interval between the reports (10)
+ * --backends b,b        the backends to use, among http, spring, kubernetes, vault, consul and redis (all)
+ * --keys n              the number of values of the configuration (100)
+ * --change-period ms    the period of the configuration changes, 0 to never change it (10000)
+ * --event-loops n       the number of event loops (the vert.x default)
+ * </pre>
+ * The retrievers are spread over the backends, each retriever reading a single store, and their creation is spread
+ * over a scan period so their scans do not all happen at the same time.
+ */
+public class LoadHarness {
+
+  private final int retrievers;
+  private final long scanPeriod;
+  private final long duration;
+  private final long reportInterval;
+  private final Set<Backend> backends;
+  private final int keys;
+  private final long changePeriod;
+  private final int eventLoops;
+
+  private final Latencies latencies = new Latencies();
+  private final List<StandIn> standIns = new ArrayList<>();
+  private final List<ConfigRetriever> created = new ArrayList<>();
+  private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+  private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+  private long baselineHeap;
+  private long lastReport;
+  private long lastCpu;
+  private long[] lastRequests;
+
+  LoadHarness(String[] args) {
+    int retrievers = 5000;
+    long scanPeriod = 5000;
+    long duration = 60;
+    long reportInterval = 10;
+    Set<Backend> backends = EnumSet.allOf(Backend.class);
+    int keys = 100;
+    long changePeriod = 10000;
+    int eventLoops = VertxOptions.DEFAULT_EVENT_LOOP_POOL_SIZE;
+    for (int i = 0; i < args.length; i += 2) {
+      if (i + 1 == args.length) {
+        throw new IllegalArgumentException("Missing value of " + args[i]);
+      }
+      String value = args[i + 1];
+      switch (args[i]) {
+        case "--retrievers":
+          retrievers = Integer.parseInt(value);
+          break;
+        case "--scan-period":
+          scanPeriod = Long.parseLong(value);
+          break;
+        case "--duration":
+          duration = Long.parseLong(value);
+          break;
+        case "--report-interval":
+          reportInterval = Long.parseLong(value);
+          break;
+        case "--backends":
+          backends = EnumSet.noneOf(Backend.class);
+          for (String name : value.split(",")) {
+            backends.add(Backend.valueOf(name.trim().toUpperCase()));
+          }
+          break;
+        case "--keys":
+          keys = Integer.parseInt(value);
+          break;
+        case "--change-period":
+          changePeriod = Long.parseLong(value);
+          break;
+        case "--event-loops":
+          eventLoops = Integer.parseInt(value);
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown option " + args[i]);
+      }
+    }
+    if (retrievers <= 0 || scanPeriod <= 0 || backends.isEmpty()) {
+      throw new IllegalArgumentException("At least one retriever, one backend and a scan period are required");
+    }
+    this.retrievers = retrievers;
+    this.scanPeriod = scanPeriod;
+    this.duration = duration;
+    this.reportInterval = reportInterval;
+    this.backends = backends;
+    this.keys = keys;
+    this.changePeriod = changePeriod;
+    this.eventLoops = eventLoops;
+  }
+
+  public static void main(String[] args) {
+    new LoadHarness(args).run();
+  }
+
+  void run() {
+    Vertx vertx = Vertx.vertx(new VertxOptions().setEventLoopPoolSize(eventLoops));
+    try {
+      Content content = new Content(keys);
+      List<Future<StandIn>> starting = new ArrayList<>();
+      for (Backend backend : backends) {
+        starting.add(new StandIn(backend, content).start(vertx));
+      }
+      for (Future<StandIn> future : starting) {
+        standIns.add(future.await());
+      }
+      for (StandIn standIn : standIns) {
+        System.out.println("Stand-in " + standIn.backend() + " listening on port " + standIn.port());
+      }
+      if (changePeriod > 0) {
+        vertx.setPeriodic(changePeriod, l -> content.change());
+      }
+
+      createRetrievers(vertx);
+      baselineHeap = heapAfterGc();
+      lastReport = System.nanoTime();
+      lastCpu = eventLoopCpuTime();
+      lastRequests = requests();
+      System.out.println(retrievers + " retrievers created, baseline heap " + baselineHeap / (1024 * 1024) + " MB");
+
+      long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(duration);
+      long interval = TimeUnit.SECONDS.toNanos(Math.max(1, reportInterval));
+      while (System.nanoTime() < end) {
+        LockSupport.parkNanos(Math.min(interval, end - System.nanoTime()));
+        System.out.println(report(latencies.rollInterval()).encode());
+      }
+
+      JsonObject result = latencies.toJson()
+        .put("retrievers", retrievers)
+        .put("heapGrowth", heapAfterGc() - baselineHeap);
+      System.out.println(result.encodePrettily());
+    } finally {
+      created.forEach(ConfigRetriever::close);
+      vertx.close().await();
+    }
+  }
+
+  private void createRetrievers(Vertx vertx) {
+    long pause = TimeUnit.MILLISECONDS.toNanos(scanPeriod) / retrievers;
+    for (int i = 0; i < retrievers; i++) {
+      StandIn standIn = standIns.get(i % standIns.size());
+      Latencies.Recorder recorder = latencies.recorder();
+      ConfigRetriever retriever = ConfigRetriever.create(vertx, new ConfigRetrieverOptions()
+        .setScanPeriod(scanPeriod)
+        .addStore(standIn.backend().store(standIn.port())), recorder);
+      retriever.setBeforeScanHandler(v -> recorder.scanStarted());
+      created.add(retriever);
+      LockSupport.parkNanos(pause);
+    }
+  }
+
+  private JsonObject report(JsonObject scans) {
+    long now = System.nanoTime();
+    long elapsed = now - lastReport;
+    long cpu = eventLoopCpuTime();
+    long[] requests = requests();
+    JsonObject rates = new JsonObject();
+    for (int i = 0; i < standIns.size(); i++) {
+      rates.put(standIns.get(i).backend().name().toLowerCase(),
+        (requests[i] - lastRequests[i]) * TimeUnit.SECONDS.toNanos(1) / elapsed);
+    }
+    JsonObject report = new JsonObject()
+      .put("scans", scans)
+      .put("requestsPerSecond", rates)
+      // The average utilization of an event loop, in percent
+      .put("eventLoopUtilization", (cpu - lastCpu) * 100 / (elapsed * eventLoops))
+      .put("heapGrowth", memory.getHeapMemoryUsage().getUsed() - baselineHeap);
+    lastReport = now;
+    lastCpu = cpu;
+    lastRequests = requests;
+    return report;
+  }
+
+  private long[] requests() {
+    long[] requests = new long[standIns.size()];
+    for (int i = 0; i < requests.length; i++) {
+      requests[i] = standIns.get(i).requests();
+    }
+    return requests;
+  }
+
+  private long eventLoopCpuTime() {
+    long total = 0;
+    for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds())) {
+      if (info != null && info.getThreadName().startsWith("vert.x-eventloop-thread-")) {
+        long time = threads.getThreadCpuTime(info.getThreadId());
+        if (time > 0) {
+          total += time;
+        }
+      }
+    }
+    return total;
+  }
+
+  private long heapAfterGc() {
+    System.gc();
+    return memory.getHeapMemoryUsage().getUsed();
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package io.vertx.config.load;
+
+import io.vertx.core.buffer.Buffer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The subset of the Redis serialization protocol (RESP) needed by the Redis stand-in: the commands sent by the
+ * clients (arrays of bulk strings), and the replies.
+ */
+final class Resp {
+
+  private Buffer pending = Buffer.buffer();
+
+  /**
+   * Appends the received bytes, and parses the complete commands.
+   *
+   * @param data the received bytes
+   * @return the complete commands, each as the list of its arguments
+   */
+  List<List<String>> parse(Buffer data) {
+    pending.appendBuffer(data);
+    List<List<String>> commands = new ArrayList<>();
+    int[] position = {0};
+    while (true) {
+      int start = position[0];
+      List<String> command = command(position);
+      if (command == null) {
+        position[0] = start;
+        break;
+      }
+      commands.add(command);
+    }
+    pending = pending.getBuffer(position[0], pending.length());
+    return commands;
+  }
+
+  private List<String> command(int[] position) {
+    String header = line(position);
+    if (header == null) {
+      return null;
+    }
+    if (header.charAt(0) != '*') {
+      // Inline command
+      return List.of(header.trim().split(" +"));
+    }
+    int count = Integer.parseInt(header.substring(1));
+    List<String> arguments = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      String length = line(position);
+      if (length == null) {
+        return null;
+      }
+      int size = Integer.parseInt(length.substring(1));
+      if (pending.length() < position[0] + size + 2) {
+        return null;
+      }
+      arguments.add(pending.getString(position[0], position[0] + size, "UTF-8"));
+      position[0] += size + 2;
+    }
+    return arguments;
+  }
+
+  private String line(int[] position) {
+    for (int i = position[0]; i < pending.length() - 1; i++) {
+      if (pending.getByte(i) == '\r' && pending.getByte(i + 1) == '\n') {
+        String line = pending.getString(position[0], i, "UTF-8");
+        position[0] = i + 2;
+        return line;
+      }
+    }
+    return null;
+  }
+
+  static Buffer appendBulk(Buffer buffer, String value) {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    return buffer.appendString("$" + bytes.length + "\r\n").appendBytes(bytes).appendString("\r\n");
+  }
+
+  static Buffer ok() {
+    return Buffer.buffer("+OK\r\n");
+  }
+
+  static Buffer error(String message) {
+    return Buffer.buffer("-ERR " + message + "\r\n");
+  }
+
+  /**
+   * @return the reply to {@code HELLO}, switching to RESP3
+   */
+  static Buffer hello() {
+    Buffer buffer = Buffer.buffer("%7\r\n");
+    appendBulk(appendBulk(buffer, "server"), "redis");
+    appendBulk(appendBulk(buffer, "version"), "7.2.0");
+    appendBulk(buffer, "proto").appendString(":3\r\n");
+    appendBulk(buffer, "id").appendString(":1\r\n");
+    appendBulk(appendBulk(buffer, "mode"), "standalone");
+    appendBulk(appendBulk(buffer, "role"), "master");
+    appendBulk(buffer, "modules").appendString("*0\r\n");
+    return buffer;
+  }
+}
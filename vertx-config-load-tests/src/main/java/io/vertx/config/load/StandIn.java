@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package io.vertx.config.load;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.net.NetSocket;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A local server mimicking the API of a backend, as called by its configuration store. Every backend but Redis is
+ * served over HTTP. The stand-in counts the requests it receives.
+ */
+final class StandIn {
+
+  static final String TOKEN = "stand-in-token";
+
+  private final Backend backend;
+  private final Content content;
+  private final LongAdder requests = new LongAdder();
+  private int port;
+
+  StandIn(Backend backend, Content content) {
+    this.backend = backend;
+    this.content = content;
+  }
+
+  /**
+   * Starts the server on a random port.
+   *
+   * @param vertx the vert.x instance
+   * @return a future completed once the server listens
+   */
+  Future<StandIn> start(Vertx vertx) {
+    Future<Integer> listening;
+    if (backend == Backend.REDIS) {
+      listening = vertx.createNetServer()
+        .connectHandler(this::redis)
+        .listen(0, "localhost")
+        .map(server -> server.actualPort());
+    } else {
+      listening = vertx.createHttpServer(new HttpServerOptions().setHost("localhost"))
+        .requestHandler(this::http)
+        .listen(0)
+        .map(server -> server.actualPort());
+    }
+    return listening.map(p -> {
+      port = p;
+      return this;
+    });
+  }
+
+  Backend backend() {
+    return backend;
+  }
+
+  int port() {
+    return port;
+  }
+
+  long requests() {
+    return requests.sum();
+  }
+
+  private void http(HttpServerRequest request) {
+    requests.increment();
+    Content.Encoded current = content.get();
+    switch (backend) {
+      case HTTP:
+        if (current.etag.equals(request.getHeader("If-None-Match"))) {
+          request.response().setStatusCode(304).putHeader("ETag", current.etag).end();
+        } else {
+          request.response().putHeader("ETag", current.etag);
+          json(request, current.json);
+        }
+        break;
+      case SPRING:
+        json(request, current.spring);
+        break;
+      case KUBERNETES:
+        if (!("Bearer " + TOKEN).equals(request.getHeader("Authorization"))) {
+          request.response().setStatusCode(401).end();
+        } else if (!request.path().equals("/api/v1/namespaces/default/configmaps/app")) {
+          request.response().setStatusCode(404).end();
+        } else {
+          json(request, current.configMap);
+        }
+        break;
+      case VAULT:
+        if (!TOKEN.equals(request.getHeader("X-Vault-Token"))) {
+          request.response().setStatusCode(403).end();
+        } else {
+          json(request, current.vault);
+        }
+        break;
+      case CONSUL:
+        request.response().putHeader("X-Consul-Index", Long.toString(current.version + 1));
+        json(request, current.consul);
+        break;
+      default:
+        request.response().setStatusCode(404).end();
+    }
+  }
+
+  private static void json(HttpServerRequest request, Buffer body) {
+    request.response().putHeader("Content-Type", "application/json").end(body);
+  }
+
+  private void redis(NetSocket socket) {
+    Resp resp = new Resp();
+    socket.handler(data -> {
+      for (List<String> command : resp.parse(data)) {
+        String name = command.get(0).toUpperCase();
+        switch (name) {
+          case "HELLO":
+            socket.write(Resp.hello());
+            break;
+          case "HGETALL":
+            requests.increment();
+            socket.write(content.get().redis);
+            break;
+          case "PING":
+            socket.write(Buffer.buffer("+PONG\r\n"));
+            break;
+          case "SELECT":
+          case "CLIENT":
+          case "AUTH":
+            socket.write(Resp.ok());
+            break;
+          default:
+            socket.write(Resp.error("unknown command '" + name + "'"));
+        }
+      }
+    });
+  }
+}
@@ -18,6 +18,7 @@
 package io.vertx.config.redis;
 
 import io.vertx.config.spi.ConfigStore;
+import io.vertx.config.spi.VersionedContent;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
@@ -47,13 +48,22 @@ public class RedisConfigStore implements ConfigStore {
 
   @Override
   public Future<Buffer> get() {
+    return json().map(JsonObject::toBuffer);
+  }
+
+  @Override
+  public Future<VersionedContent> get(String previousVersion) {
+    return json().map(json -> VersionedContent.of(json, null));
+  }
+
+  private Future<JsonObject> json() {
     return redis.send(Request.cmd(Command.HGETALL).arg(field))
       .map(resp -> {
         JsonObject result = new JsonObject();
         for (String key : resp.getKeys()) {
           result.put(key, resp.get(key).toString());
         }
-        return result.toBuffer();
+        return result;
       });
   }
 }
@@ -14,11 +14,31 @@ public class ConfigRetrieverOptionsConverter {
    static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, ConfigRetrieverOptions obj) {
     for (java.util.Map.Entry<String, Object> member : json) {
       switch (member.getKey()) {
+        case "distributionAddress":
+          if (member.getValue() instanceof String) {
+            obj.setDistributionAddress((String)member.getValue());
+          }
+          break;
         case "includeDefaultStores":
           if (member.getValue() instanceof Boolean) {
             obj.setIncludeDefaultStores((Boolean)member.getValue());
           }
           break;
+        case "lastKnownGoodPath":
+          if (member.getValue() instanceof String) {
+            obj.setLastKnownGoodPath((String)member.getValue());
+          }
+          break;
+        case "maxConfigAge":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxConfigAge(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "metricsEnabled":
+          if (member.getValue() instanceof Boolean) {
+            obj.setMetricsEnabled((Boolean)member.getValue());
+          }
+          break;
         case "scanPeriod":
           if (member.getValue() instanceof Number) {
             obj.setScanPeriod(((Number)member.getValue()).longValue());
@@ -43,7 +63,15 @@ public class ConfigRetrieverOptionsConverter {
   }
 
    static void toJson(ConfigRetrieverOptions obj, java.util.Map<String, Object> json) {
+    if (obj.getDistributionAddress() != null) {
+      json.put("distributionAddress", obj.getDistributionAddress());
+    }
     json.put("includeDefaultStores", obj.isIncludeDefaultStores());
+    if (obj.getLastKnownGoodPath() != null) {
+      json.put("lastKnownGoodPath", obj.getLastKnownGoodPath());
+    }
+    json.put("maxConfigAge", obj.getMaxConfigAge());
+    json.put("metricsEnabled", obj.isMetricsEnabled());
     json.put("scanPeriod", obj.getScanPeriod());
     if (obj.getStores() != null) {
       JsonArray array = new JsonArray();
@@ -17,13 +17,22 @@
 
 package examples;
 
+import io.vertx.config.ConfigKey;
 import io.vertx.config.ConfigRetriever;
 import io.vertx.config.ConfigRetrieverOptions;
+import io.vertx.config.ConfigSnapshot;
 import io.vertx.config.ConfigStoreOptions;
+import io.vertx.config.ConfigView;
+import io.vertx.config.spi.ConfigProcessor;
+import io.vertx.config.spi.ConfigRegistry;
+import io.vertx.config.spi.ConfigStoreFactory;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+
+import java.util.Set;
 
 /**
  * @author <a href="http://escoffier.me">Clement Escoffier</a>
@@ -87,6 +96,16 @@ public class ConfigExamples {
     });
   }
 
+  public void maxAge() {
+    ConfigRetrieverOptions options = new ConfigRetrieverOptions()
+      // Calls made within 2 seconds after the last retrieval of the stores get the last configuration
+      .setMaxConfigAge(2000)
+      .addStore(new ConfigStoreOptions().setType("http")
+        .setConfig(new JsonObject().put("host", "localhost").put("port", 8080).put("path", "/A")));
+
+    ConfigRetriever retriever = ConfigRetriever.create(Vertx.vertx(), options);
+  }
+
   public void file() {
     ConfigStoreOptions file = new ConfigStoreOptions()
       .setType("file")
@@ -233,6 +252,67 @@ public class ConfigExamples {
     });
   }
 
+  public void storePeriod() {
+    ConfigRetrieverOptions options = new ConfigRetrieverOptions()
+      // Default scan period of the stores
+      .setScanPeriod(5000)
+      // Read only once, by getConfig
+      .addStore(new ConfigStoreOptions().setType("env").setScanPeriod(0))
+      // Scanned every 10 minutes
+      .addStore(new ConfigStoreOptions().setType("http").setScanPeriod(600_000)
+        .setConfig(new JsonObject().put("host", "localhost").put("port", 8080).put("path", "/A")))
+      // Scanned every 5 seconds
+      .addStore(new ConfigStoreOptions().setType("file")
+        .setConfig(new JsonObject().put("path", "my-config.json")));
+
+    ConfigRetriever retriever = ConfigRetriever.create(Vertx.vertx(), options);
+  }
+
+  public void fetchDeadline() {
+    ConfigRetrieverOptions options = new ConfigRetrieverOptions()
+      // Do not wait more than 500 ms for the HTTP server once the store has been retrieved
+      .addStore(new ConfigStoreOptions().setType("http").setFetchDeadline(500)
+        .setConfig(new JsonObject().put("host", "localhost").put("port", 8080).put("path", "/A")))
+      .addStore(new ConfigStoreOptions().setType("file")
+        .setConfig(new JsonObject().put("path", "my-config.json")));
+
+    ConfigRetriever retriever = ConfigRetriever.create(Vertx.vertx(), options);
+  }
+
+  public void circuitBreaker() {
+    ConfigRetrieverOptions options = new ConfigRetrieverOptions()
+      // Skip the HTTP server for 1 s after 3 failures, then 2 s, 4 s... up to 1 minute
+      .addStore(new ConfigStoreOptions().setType("http").setOptional(true)
+        .setCircuitBreakerThreshold(3)
+        .setCircuitBreakerBackoff(1000)
+        .setCircuitBreakerMaxBackoff(60_000)
+        .setConfig(new JsonObject().put("host", "localhost").put("port", 8080).put("path", "/A")))
+      .addStore(new ConfigStoreOptions().setType("file")
+        .setConfig(new JsonObject().put("path", "my-config.json")));
+
+    ConfigRetriever retriever = ConfigRetriever.create(Vertx.vertx(), options);
+  }
+
+  public void listenToPath(ConfigRetriever retriever) {
+    retriever.listen("http.server", change -> {
+      // Called only when a value under `http.server` changes
+    });
+
+    retriever.listen("features.*.enabled", change -> {
+      // Called when any feature is enabled or disabled
+    });
+  }
+
+  public void changedPaths(ConfigRetriever retriever) {
+    retriever.listen(change -> {
+      // JSON pointers to the added, removed and updated values
+      Set<String> paths = change.getChangedPaths();
+      if (change.isChanged("/db/pool")) {
+        // Resize the pool
+      }
+    });
+  }
+
   public void stream(ConfigStoreOptions store1, ConfigStoreOptions store2) {
     ConfigRetrieverOptions options = new ConfigRetrieverOptions()
       .setScanPeriod(2000)
@@ -253,8 +333,81 @@ public class ConfigExamples {
 
   }
 
+  public void distribution(Vertx vertx) {
+    ConfigRetrieverOptions options = new ConfigRetrieverOptions()
+      // Only one node of the cluster reads the store
+      .setDistributionAddress("my-application.config")
+      .addStore(new ConfigStoreOptions().setType("http")
+        .setConfig(new JsonObject().put("host", "localhost").put("port", 8080).put("path", "/A")));
+
+    ConfigRetriever retriever = ConfigRetriever.create(vertx, options);
+  }
+
+  public void lastKnownGood() {
+    ConfigRetrieverOptions options = new ConfigRetrieverOptions()
+      .setLastKnownGoodPath("/var/lib/my-application/config.bin")
+      .addStore(new ConfigStoreOptions().setType("http").setOptional(true)
+        .setConfig(new JsonObject().put("host", "localhost").put("port", 8080).put("path", "/A")));
+
+    ConfigRetriever retriever = ConfigRetriever.create(Vertx.vertx(), options);
+    retriever.getConfig().onSuccess(config -> {
+      // The persisted configuration if any, without waiting for the HTTP server
+    });
+  }
+
+  public void statistics() {
+    ConfigRetrieverOptions options = new ConfigRetrieverOptions()
+      .setMetricsEnabled(true)
+      .addStore(new ConfigStoreOptions().setType("file")
+        .setConfig(new JsonObject().put("path", "my-config.json")));
+
+    ConfigRetriever retriever = ConfigRetriever.create(Vertx.vertx(), options);
+    retriever.getConfig().onComplete(ar -> {
+      JsonObject statistics = retriever.getStatistics();
+      // The 99th percentile of the retrieval of the file stores, in microseconds
+      long p99 = statistics.getJsonObject("metrics").getJsonObject("stores").getJsonObject("file")
+        .getJsonObject("duration").getLong("p99");
+    });
+  }
+
+  public void registry(ConfigStoreFactory myStoreFactory, ConfigProcessor myProcessor) {
+    ConfigRegistry.register(myStoreFactory);
+    ConfigRegistry.register(myProcessor);
+  }
+
+  public void multicast(ConfigRetriever retriever) {
+    ReadStream<JsonObject> stream = retriever.newConfigStream();
+    stream.handler(conf -> {
+      // the configuration
+      stream.pause();
+      // process it, and then ask for the next one
+      stream.resume();
+    });
+
+    // Stop receiving the configuration
+    stream.handler(null);
+  }
+
   public void cache(ConfigRetriever retriever) {
     JsonObject last = retriever.getCachedConfig();
   }
 
+  public void view(ConfigRetriever retriever) {
+    // Created once, for example when the verticle starts
+    ConfigView view = ConfigView.create(retriever);
+    ConfigKey.IntKey maxConnections = view.intKey("http.server.max-connections", 100);
+    ConfigKey.BooleanKey newUi = view.booleanKey("features.new-ui.enabled", false);
+
+    // Read on every request, always up to date
+    if (newUi.getBoolean()) {
+      int max = maxConnections.getInt();
+    }
+  }
+
+  public void snapshot(ConfigRetriever retriever) {
+    ConfigSnapshot snapshot = retriever.getSnapshot();
+    int port = snapshot.getInteger("http.server.port", 8080);
+    boolean enabled = snapshot.getBoolean("/features/new-ui/enabled", false);
+  }
+
 }
@@ -21,6 +21,7 @@ import io.vertx.codegen.annotations.DataObject;
 import io.vertx.core.json.JsonObject;
 
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * A structure representing a configuration change.
@@ -34,6 +35,9 @@ public class ConfigChange {
 
   private JsonObject newConfiguration;
 
+  // Computed lazily, and reset when one of the configurations is set
+  private ConfigDiff diff;
+
   /**
    * Creates a new {@link ConfigChange} instance.
    *
@@ -64,6 +68,7 @@ public class ConfigChange {
     } else {
       this.previousConfiguration = conf;
     }
+    this.diff = null;
     return this;
   }
 
@@ -86,6 +91,7 @@ public class ConfigChange {
     } else {
       this.newConfiguration = conf;
     }
+    this.diff = null;
     return this;
   }
 
@@ -103,8 +109,9 @@ public class ConfigChange {
    * @param other the instance to copy
    */
   public ConfigChange(ConfigChange other) {
-    this.previousConfiguration = other.previousConfiguration.copy();
-    this.newConfiguration = other.newConfiguration.copy();
+    this.previousConfiguration = other.getPreviousConfiguration().copy();
+    this.newConfiguration = other.getNewConfiguration().copy();
+    this.diff = other.diff;
   }
 
   /**
@@ -118,13 +125,64 @@ public class ConfigChange {
     this.setPreviousConfiguration(json.getJsonObject("previousConfiguration", new JsonObject()));
   }
 
+  /**
+   * @return the <a href="https://tools.ietf.org/html/rfc6901">JSON pointers</a> to the values added, removed or
+   * updated between the previous and the new configuration. Nested values are compared key by key, other values
+   * (including arrays) as a whole.
+   */
+  public Set<String> getChangedPaths() {
+    return diff().getChangedPaths();
+  }
+
+  /**
+   * @return the JSON pointers to the values present in the new configuration, but not in the previous one
+   */
+  public Set<String> getAddedPaths() {
+    return diff().getAddedPaths();
+  }
+
+  /**
+   * @return the JSON pointers to the values present in the previous configuration, but not in the new one
+   */
+  public Set<String> getRemovedPaths() {
+    return diff().getRemovedPaths();
+  }
+
+  /**
+   * @return the JSON pointers to the values present in both configurations, but with different values
+   */
+  public Set<String> getUpdatedPaths() {
+    return diff().getUpdatedPaths();
+  }
+
+  /**
+   * Checks whether the value designated by the given JSON pointer (such as {@code /db/pool}) has changed, including
+   * when one of its nested values has changed. The check runs in a time proportional to the depth of the pointer.
+   *
+   * @param pointer the JSON pointer, the empty string designates the whole configuration
+   * @return {@code true} if the value has changed, {@code false} otherwise
+   * @throws IllegalArgumentException if the pointer is not a valid JSON pointer
+   */
+  public boolean isChanged(String pointer) {
+    return diff().isChanged(pointer);
+  }
+
+  private ConfigDiff diff() {
+    ConfigDiff d = diff;
+    if (d == null) {
+      d = ConfigDiff.compute(previousConfiguration, newConfiguration);
+      diff = d;
+    }
+    return d;
+  }
+
   /**
    * @return the JSON representation of the current {@link ConfigChange} instance.
    */
   public JsonObject toJson() {
     JsonObject json = new JsonObject();
-    json.put("newConfiguration", newConfiguration);
-    json.put("previousConfiguration", previousConfiguration);
+    json.put("newConfiguration", getNewConfiguration());
+    json.put("previousConfiguration", getPreviousConfiguration());
     return json;
   }
 }
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.vertx.config;
+
+import io.vertx.core.json.JsonObject;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The structural difference between two configurations, expressed as
+ * <a href="https://tools.ietf.org/html/rfc6901">JSON pointers</a>.
+ * <p>
+ * JSON objects are compared key by key, other values (including arrays) are compared as a whole. So, when a key is
+ * added or removed, only the pointer to this key is reported, not the pointers to its nested values.
+ * <p>
+ * Instances are immutable.
+ */
+final class ConfigDiff {
+
+  private static final ConfigDiff EMPTY = new ConfigDiff(Collections.emptySet(), Collections.emptySet(),
+    Collections.emptySet(), Collections.emptySet(), Collections.emptySet());
+
+  private final Set<String> added;
+  private final Set<String> removed;
+  private final Set<String> updated;
+  private final Set<String> changed;
+  // The changed pointers and all their ancestors, except the root
+  private final Set<String> affected;
+
+  private ConfigDiff(Set<String> added, Set<String> removed, Set<String> updated, Set<String> changed,
+                     Set<String> affected) {
+    this.added = added;
+    this.removed = removed;
+    this.updated = updated;
+    this.changed = changed;
+    this.affected = affected;
+  }
+
+  /**
+   * Computes the difference between the two given configurations.
+   *
+   * @param previous the previous configuration, {@code null} is considered as empty
+   * @param current  the new configuration, {@code null} is considered as empty
+   * @return the difference, never {@code null}
+   */
+  static ConfigDiff compute(JsonObject previous, JsonObject current) {
+    if (previous == current) {
+      return EMPTY;
+    }
+    Builder builder = new Builder();
+    builder.diff(previous != null ? previous : new JsonObject(), current != null ? current : new JsonObject());
+    if (builder.changed.isEmpty()) {
+      return EMPTY;
+    }
+    Set<String> affected = new HashSet<>();
+    for (String pointer : builder.changed) {
+      int index = pointer.length();
+      while (index > 0 && affected.add(pointer.substring(0, index))) {
+        index = pointer.lastIndexOf('/', index - 1);
+      }
+    }
+    return new ConfigDiff(Collections.unmodifiableSet(builder.added), Collections.unmodifiableSet(builder.removed),
+      Collections.unmodifiableSet(builder.updated), Collections.unmodifiableSet(builder.changed),
+      Collections.unmodifiableSet(affected));
+  }
+
+  /**
+   * @return whether the two configurations are equal
+   */
+  boolean isEmpty() {
+    return changed.isEmpty();
+  }
+
+  /**
+   * @return the pointers to the values present only in the new configuration
+   */
+  Set<String> getAddedPaths() {
+    return added;
+  }
+
+  /**
+   * @return the pointers to the values present only in the previous configuration
+   */
+  Set<String> getRemovedPaths() {
+    return removed;
+  }
+
+  /**
+   * @return the pointers to the values present in both configurations, but with different values
+   */
+  Set<String> getUpdatedPaths() {
+    return updated;
+  }
+
+  /**
+   * @return the pointers to the values added, removed or updated
+   */
+  Set<String> getChangedPaths() {
+    return changed;
+  }
+
+  /**
+   * Checks whether the value designated by the given pointer has changed. This method runs in a time proportional to
+   * the depth of the pointer, and not to the size of the configurations.
+   * <p>
+   * A value is considered as changed when it has been added, removed or updated, when one of its nested values has
+   * changed, or when one of its ancestors has been added, removed or replaced by a value of a different type.
+   *
+   * @param pointer the JSON pointer, the empty string designates the whole configuration
+   * @return {@code true} if the value has changed, {@code false} otherwise
+   * @throws IllegalArgumentException if the pointer is not a valid JSON pointer
+   */
+  boolean isChanged(String pointer) {
+    if (pointer.isEmpty()) {
+      return !changed.isEmpty();
+    }
+    if (pointer.charAt(0) != '/') {
+      throw new IllegalArgumentException("Invalid JSON pointer, it must start with `/`: " + pointer);
+    }
+    if (affected.contains(pointer)) {
+      return true;
+    }
+    int index = pointer.lastIndexOf('/');
+    while (index > 0) {
+      if (changed.contains(pointer.substring(0, index))) {
+        return true;
+      }
+      index = pointer.lastIndexOf('/', index - 1);
+    }
+    return false;
+  }
+
+  @Override
+  public String toString() {
+    return "ConfigDiff{added=" + added + ", removed=" + removed + ", updated=" + updated + "}";
+  }
+
+  /**
+   * Escapes a key to be used as a JSON pointer token.
+   *
+   * @param key the key
+   * @return the escaped key
+   */
+  static String escape(String key) {
+    if (key.indexOf('~') == -1 && key.indexOf('/') == -1) {
+      return key;
+    }
+    return key.replace("~", "~0").replace("/", "~1");
+  }
+
+  private static final class Builder {
+
+    private final Set<String> added = new LinkedHashSet<>();
+    private final Set<String> removed = new LinkedHashSet<>();
+    private final Set<String> updated = new LinkedHashSet<>();
+    private final Set<String> changed = new LinkedHashSet<>();
+    private final StringBuilder pointer = new StringBuilder();
+
+    private void diff(JsonObject previous, JsonObject current) {
+      for (Map.Entry<String, Object> entry : previous) {
+        int length = pointer.length();
+        pointer.append('/').append(escape(entry.getKey()));
+        if (!current.containsKey(entry.getKey())) {
+          add(removed);
+        } else {
+          Object before = entry.getValue();
+          Object after = current.getValue(entry.getKey());
+          if (before instanceof JsonObject && after instanceof JsonObject) {
+            if (before != after) {
+              diff((JsonObject) before, (JsonObject) after);
+            }
+          } else if (!valueEquals(before, after)) {
+            add(updated);
+          }
+        }
+        pointer.setLength(length);
+      }
+      for (String key : current.fieldNames()) {
+        if (!previous.containsKey(key)) {
+          int length = pointer.length();
+          pointer.append('/').append(escape(key));
+          add(added);
+          pointer.setLength(length);
+        }
+      }
+    }
+
+    private void add(Set<String> set) {
+      String path = pointer.toString();
+      set.add(path);
+      changed.add(path);
+    }
+  }
+
+  private static boolean valueEquals(Object before, Object after) {
+    if (before == after) {
+      return true;
+    }
+    if (before == null || after == null) {
+      return false;
+    }
+    if (before instanceof Number && after instanceof Number && before.getClass() != after.getClass()) {
+      // Same rules as the JSON object equality, 1 (int) and 1L are equal
+      Number n1 = (Number) before;
+      Number n2 = (Number) after;
+      if (isDecimal(n1) || isDecimal(n2)) {
+        return n1.doubleValue() == n2.doubleValue();
+      }
+      return n1.longValue() == n2.longValue();
+    }
+    return before.equals(after);
+  }
+
+  private static boolean isDecimal(Number number) {
+    return number instanceof Double || number instanceof Float || number instanceof BigDecimal;
+  }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.vertx.config;
+
+import io.vertx.config.impl.ConfigSnapshotImpl;
+
+import java.util.Objects;
+import java.util.function.BiFunction;
+
+/**
+ * An accessor to a value of the configuration, created from a {@link ConfigView}.
+ * <p>
+ * The path is parsed when the accessor is created. The value is resolved then, and every time the retriever publishes
+ * a new configuration, and kept in the accessor. Reading the value is just a field read, without lookup nor
+ * boxing when using the primitive accessors ({@link IntKey}, {@link LongKey}, {@link BooleanKey} and
+ * {@link DoubleKey}).
+ * <p>
+ * When the value is missing, or does not have the expected type, the default value is used.
+ *
+ * @param <T> the type of value
+ */
+public abstract class ConfigKey<T> {
+
+  private final String path;
+  private final ConfigSnapshotImpl.Path parsed;
+
+  ConfigKey(String path) {
+    this.path = Objects.requireNonNull(path, "The path must not be `null`");
+    this.parsed = ConfigSnapshotImpl.Path.parse(path);
+  }
+
+  /**
+   * @return the path of the value, a dotted path or a JSON pointer
+   */
+  public String path() {
+    return path;
+  }
+
+  /**
+   * @return the current value
+   */
+  public abstract T get();
+
+  /**
+   * Reads the value from the given snapshot.
+   *
+   * @param snapshot the snapshot
+   */
+  abstract void bind(ConfigSnapshot snapshot);
+
+  /**
+   * @return the value at the path of this accessor in the given snapshot, {@code null} if none
+   */
+  Object lookup(ConfigSnapshot snapshot) {
+    return ((ConfigSnapshotImpl) snapshot).getValue(parsed);
+  }
+
+  @Override
+  public String toString() {
+    return "ConfigKey{path=" + path + ", value=" + get() + "}";
+  }
+
+  /**
+   * An accessor to an object value.
+   *
+   * @param <T> the type of value
+   */
+  static final class ObjectKey<T> extends ConfigKey<T> {
+
+    // Converts the value found in a snapshot, returns null if it does not have the expected type
+    private final BiFunction<ConfigSnapshot, Object, T> reader;
+    private final T def;
+    private volatile T value;
+
+    ObjectKey(String path, BiFunction<ConfigSnapshot, Object, T> reader, T def) {
+      super(path);
+      this.reader = reader;
+      this.def = def;
+      this.value = def;
+    }
+
+    @Override
+    public T get() {
+      return value;
+    }
+
+    @Override
+    void bind(ConfigSnapshot snapshot) {
+      Object v = lookup(snapshot);
+      T converted = v != null ? reader.apply(snapshot, v) : null;
+      value = converted != null ? converted : def;
+    }
+  }
+
+  /**
+   * An accessor to an {@code int} value.
+   */
+  public static final class IntKey extends ConfigKey<Integer> {
+
+    private final int def;
+    private volatile int value;
+
+    IntKey(String path, int def) {
+      super(path);
+      this.def = def;
+      this.value = def;
+    }
+
+    /**
+     * @return the current value
+     */
+    public int getInt() {
+      return value;
+    }
+
+    @Override
+    public Integer get() {
+      return value;
+    }
+
+    @Override
+    void bind(ConfigSnapshot snapshot) {
+      Object v = lookup(snapshot);
+      value = v instanceof Number ? ((Number) v).intValue() : def;
+    }
+  }
+
+  /**
+   * An accessor to a {@code long} value.
+   */
+  public static final class LongKey extends ConfigKey<Long> {
+
+    private final long def;
+    private volatile long value;
+
+    LongKey(String path, long def) {
+      super(path);
+      this.def = def;
+      this.value = def;
+    }
+
+    /**
+     * @return the current value
+     */
+    public long getLong() {
+      return value;
+    }
+
+    @Override
+    public Long get() {
+      return value;
+    }
+
+    @Override
+    void bind(ConfigSnapshot snapshot) {
+      Object v = lookup(snapshot);
+      value = v instanceof Number ? ((Number) v).longValue() : def;
+    }
+  }
+
+  /**
+   * An accessor to a {@code double} value.
+   */
+  public static final class DoubleKey extends ConfigKey<Double> {
+
+    private final double def;
+    private volatile double value;
+
+    DoubleKey(String path, double def) {
+      super(path);
+      this.def = def;
+      this.value = def;
+    }
+
+    /**
+     * @return the current value
+     */
+    public double getDouble() {
+      return value;
+    }
+
+    @Override
+    public Double get() {
+      return value;
+    }
+
+    @Override
+    void bind(ConfigSnapshot snapshot) {
+      Object v = lookup(snapshot);
+      value = v instanceof Number ? ((Number) v).doubleValue() : def;
+    }
+  }
+
+  /**
+   * An accessor to a {@code boolean} value.
+   */
+  public static final class BooleanKey extends ConfigKey<Boolean> {
+
+    private final boolean def;
+    private volatile boolean value;
+
+    BooleanKey(String path, boolean def) {
+      super(path);
+      this.def = def;
+      this.value = def;
+    }
+
+    /**
+     * @return the current value
+     */
+    public boolean getBoolean() {
+      return value;
+    }
+
+    @Override
+    public Boolean get() {
+      return value;
+    }
+
+    @Override
+    void bind(ConfigSnapshot snapshot) {
+      Object v = lookup(snapshot);
+      value = v instanceof Boolean ? (Boolean) v : def;
+    }
+  }
+}
@@ -19,8 +19,10 @@ package io.vertx.config;
 
 import io.vertx.codegen.annotations.CacheReturn;
 import io.vertx.codegen.annotations.Fluent;
+import io.vertx.codegen.annotations.GenIgnore;
 import io.vertx.codegen.annotations.VertxGen;
 import io.vertx.config.impl.ConfigRetrieverImpl;
+import io.vertx.config.spi.ConfigRetrieverMetrics;
 import io.vertx.config.spi.ConfigStore;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
@@ -54,6 +56,23 @@ public interface ConfigRetriever {
     return retriever;
   }
 
+  /**
+   * Creates an instance of the default implementation of the {@link ConfigRetriever}, reporting its metrics to the
+   * given {@link ConfigRetrieverMetrics}.
+   *
+   * @param vertx   the vert.x instance
+   * @param options the options, must not be {@code null}, must contain the list of configured store.
+   * @param metrics the metrics, {@code null} to use the default in-memory metrics if
+   *                {@link ConfigRetrieverOptions#isMetricsEnabled()}
+   * @return the created instance.
+   */
+  @GenIgnore
+  static ConfigRetriever create(Vertx vertx, ConfigRetrieverOptions options, ConfigRetrieverMetrics metrics) {
+    ConfigRetrieverImpl retriever = new ConfigRetrieverImpl(vertx, options, metrics);
+    retriever.initializePeriodicScan();
+    return retriever;
+  }
+
   /**
    * Creates an instance of the default implementation of the {@link ConfigRetriever}, using the default
    * settings (json file, system properties and environment variables).
@@ -68,6 +87,9 @@ public interface ConfigRetriever {
   /**
    * Reads the configuration from the different {@link ConfigStore}
    * and computes the final configuration.
+   * <p>
+   * Calls made while the configuration is being computed get the result of this computation. The last configuration
+   * may also be returned if it is more recent than {@link ConfigRetrieverOptions#getMaxConfigAge()}.
    *
    * @return a future notified the computed configuration, or a failure if the
    *                          configuration cannot be retrieved
@@ -80,12 +102,22 @@ public interface ConfigRetriever {
   Future<Void> close();
 
   /**
-   * Gets the last computed configuration.
+   * Gets the last computed configuration. The returned configuration is a copy, see {@link #getSnapshot()} to read
+   * the configuration without copying it.
    *
    * @return the last configuration
    */
   JsonObject getCachedConfig();
 
+  /**
+   * Gets the snapshot of the last computed configuration. Unlike {@link #getCachedConfig()}, this method neither
+   * locks nor copies the configuration, the returned snapshot is immutable. A new snapshot is published every time
+   * the configuration changes.
+   *
+   * @return the snapshot of the last configuration, empty if the configuration has not been retrieved yet
+   */
+  ConfigSnapshot getSnapshot();
+
   /**
    * Registers a listener receiving configuration changes. This method cannot only be called if
    * the configuration is broadcasted.
@@ -94,6 +126,20 @@ public interface ConfigRetriever {
    */
   void listen(Handler<ConfigChange> listener);
 
+  /**
+   * Registers a listener receiving the configuration changes affecting the given part of the configuration. The
+   * listener is only called when a value under the given path is added, removed or updated, so registering many
+   * listeners on distinct parts of the configuration does not increase the cost of a change.
+   * <p>
+   * The path is either a dotted path such as {@code http.server}, or a JSON pointer such as {@code /http/server}.
+   * The {@code *} segment matches any key, for example {@code features.*}. The empty string designates the whole
+   * configuration.
+   *
+   * @param pathPrefix the path of the part of the configuration to listen to, must not be {@code null}
+   * @param listener   the listener
+   */
+  void listen(String pathPrefix, Handler<ConfigChange> listener);
+
   /**
    * Registers a handler called before every scan. This method is mostly used for logging purpose.
    * @param handler the handler, must not be {@code null}
@@ -121,4 +167,23 @@ public interface ConfigRetriever {
   @CacheReturn
   ReadStream<JsonObject> configStream();
 
+  /**
+   * Creates a new stream of configurations, independent of the other streams of this retriever: it has its own
+   * handlers and its own demand. When paused, only the last configuration is kept. The handlers are called on the
+   * context that set the {@link ReadStream#handler(Handler)}, so a slow stream does not delay the others. Setting a
+   * {@code null} handler unsubscribes the stream.
+   *
+   * @return the new stream, delivering the last known config and the successors
+   */
+  ReadStream<JsonObject> newConfigStream();
+
+  /**
+   * Gets the statistics of the retriever: the number of coalesced scans and of joined {@link #getConfig()} calls,
+   * and, for each store, its cache hits and misses, the number of stale configurations served and the state of its
+   * circuit breaker. When metrics are collected, they are reported under {@code metrics}.
+   *
+   * @return the statistics
+   */
+  JsonObject getStatistics();
+
 }
@@ -44,6 +44,14 @@ public class ConfigRetrieverOptions {
 
   private boolean includeDefaultStores = false;
 
+  private long maxConfigAge = 0L;
+
+  private String distributionAddress;
+
+  private String lastKnownGoodPath;
+
+  private boolean metricsEnabled = false;
+
   public ConfigRetrieverOptions() {
     // Empty constructor
   }
@@ -51,6 +59,10 @@ public class ConfigRetrieverOptions {
   public ConfigRetrieverOptions(ConfigRetrieverOptions other) {
     this.scanPeriod = other.scanPeriod;
     this.stores = other.stores;
+    this.maxConfigAge = other.maxConfigAge;
+    this.distributionAddress = other.distributionAddress;
+    this.lastKnownGoodPath = other.lastKnownGoodPath;
+    this.metricsEnabled = other.metricsEnabled;
   }
 
   public ConfigRetrieverOptions(JsonObject json) {
@@ -99,6 +111,94 @@ public class ConfigRetrieverOptions {
     return this;
   }
 
+  /**
+   * @return the maximum age of the configuration returned by {@code ConfigRetriever#getConfig()}, in ms.
+   */
+  public long getMaxConfigAge() {
+    return maxConfigAge;
+  }
+
+  /**
+   * Configures the maximum age, in ms, of the configuration returned by {@code ConfigRetriever#getConfig()}. When the
+   * stores have all been retrieved less than {@code maxConfigAge} ms ago, the last configuration is returned without
+   * retrieving them again. With {@code 0} (the default), the stores are retrieved on every call, concurrent calls
+   * still share the same retrieval.
+   *
+   * @param maxConfigAge the maximum age in ms
+   * @return the current {@link ConfigRetrieverOptions}
+   */
+  public ConfigRetrieverOptions setMaxConfigAge(long maxConfigAge) {
+    this.maxConfigAge = maxConfigAge;
+    return this;
+  }
+
+  /**
+   * @return the event bus address used to distribute the configuration in the cluster, {@code null} if disabled.
+   */
+  public String getDistributionAddress() {
+    return distributionAddress;
+  }
+
+  /**
+   * Enables the distribution of the configuration in the cluster. The retrievers configured with the same address
+   * elect a leader (using a cluster-wide lock). Only the leader retrieves the stores, and publishes the changes on the
+   * event bus. The other retrievers (followers) apply these changes instead of retrieving the stores. When the leader
+   * leaves, another retriever takes over.
+   *
+   * @param distributionAddress the event bus address, {@code null} to disable the distribution (default)
+   * @return the current {@link ConfigRetrieverOptions}
+   */
+  public ConfigRetrieverOptions setDistributionAddress(String distributionAddress) {
+    this.distributionAddress = distributionAddress;
+    return this;
+  }
+
+  /**
+   * @return the path of the file persisting the last known good configuration, {@code null} if disabled.
+   */
+  public String getLastKnownGoodPath() {
+    return lastKnownGoodPath;
+  }
+
+  /**
+   * Enables the persistence of the last known good configuration. Every new configuration, with the content of each
+   * store, is written to the given file. When the retriever is created, the persisted configuration is read
+   * asynchronously, and the first call to {@code ConfigRetriever#getConfig()} returns it while the stores are retrieved
+   * in the background. Optional stores failing before their first successful retrieval use their persisted content.
+   * <p>
+   * The file contains the configuration in clear, including the secrets it may hold (passwords, tokens...). It is
+   * created readable and writable by its owner only (on file systems supporting POSIX permissions), store it in a
+   * directory that is not shared.
+   *
+   * @param lastKnownGoodPath the file path, {@code null} to disable the persistence (default)
+   * @return the current {@link ConfigRetrieverOptions}
+   */
+  public ConfigRetrieverOptions setLastKnownGoodPath(String lastKnownGoodPath) {
+    this.lastKnownGoodPath = lastKnownGoodPath;
+    return this;
+  }
+
+  /**
+   * @return whether the retriever collects metrics.
+   */
+  public boolean isMetricsEnabled() {
+    return metricsEnabled;
+  }
+
+  /**
+   * Enables the collection of metrics: the duration of the retrieval and of the processing of each store, the size
+   * of the retrieved contents, the duration of the merge, of the comparison with the previous configuration and of the
+   * notification of the listeners, and the number of scans that changed the configuration or not. The metrics are
+   * kept in memory and reported by {@code ConfigRetriever#getStatistics()}.
+   *
+   * @param metricsEnabled {@code true} to enable the metrics, disabled by default
+   * @return the current {@link ConfigRetrieverOptions}
+   */
+  public ConfigRetrieverOptions setMetricsEnabled(boolean metricsEnabled) {
+    this.metricsEnabled = metricsEnabled;
+    return this;
+  }
+
   /**
    * @return the current list of stores.
    */
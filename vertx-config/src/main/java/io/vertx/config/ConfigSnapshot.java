@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.vertx.config;
+
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * An immutable snapshot of the configuration computed by a {@link ConfigRetriever}.
+ * <p>
+ * A new snapshot is published every time the configuration changes. Reading the current snapshot and its values
+ * requires neither locking nor copying, so it can be used on hot paths. Keep the snapshot for the duration of a
+ * unit of work (such as a request) to get consistent values.
+ * <p>
+ * Values are designated by a path, either a dotted path ({@code http.server.port}) or a JSON pointer
+ * ({@code /http/server/port}). With dotted paths, keys containing dots (such as system properties) are also found.
+ */
+@VertxGen
+public interface ConfigSnapshot {
+
+  /**
+   * @return the version of the snapshot, incremented every time the retriever publishes a new configuration
+   */
+  long version();
+
+  /**
+   * @param path the path
+   * @return whether the configuration contains a value (possibly {@code null}) at the given path
+   */
+  boolean containsKey(String path);
+
+  /**
+   * @param path the path
+   * @return the string at the given path, {@code null} if none
+   * @throws ClassCastException if the value is not a string
+   */
+  String getString(String path);
+
+  /**
+   * @param path the path
+   * @param def  the default value
+   * @return the string at the given path, {@code def} if none
+   * @throws ClassCastException if the value is not a string
+   */
+  String getString(String path, String def);
+
+  /**
+   * @param path the path
+   * @return the integer at the given path, {@code null} if none
+   * @throws ClassCastException if the value is not a number
+   */
+  Integer getInteger(String path);
+
+  /**
+   * @param path the path
+   * @param def  the default value
+   * @return the integer at the given path, {@code def} if none
+   * @throws ClassCastException if the value is not a number
+   */
+  Integer getInteger(String path, Integer def);
+
+  /**
+   * @param path the path
+   * @return the long at the given path, {@code null} if none
+   * @throws ClassCastException if the value is not a number
+   */
+  Long getLong(String path);
+
+  /**
+   * @param path the path
+   * @param def  the default value
+   * @return the long at the given path, {@code def} if none
+   * @throws ClassCastException if the value is not a number
+   */
+  Long getLong(String path, Long def);
+
+  /**
+   * @param path the path
+   * @return the double at the given path, {@code null} if none
+   * @throws ClassCastException if the value is not a number
+   */
+  Double getDouble(String path);
+
+  /**
+   * @param path the path
+   * @param def  the default value
+   * @return the double at the given path, {@code def} if none
+   * @throws ClassCastException if the value is not a number
+   */
+  Double getDouble(String path, Double def);
+
+  /**
+   * @param path the path
+   * @return the boolean at the given path, {@code null} if none
+   * @throws ClassCastException if the value is not a boolean
+   */
+  Boolean getBoolean(String path);
+
+  /**
+   * @param path the path
+   * @param def  the default value
+   * @return the boolean at the given path, {@code def} if none
+   * @throws ClassCastException if the value is not a boolean
+   */
+  Boolean getBoolean(String path, Boolean def);
+
+  /**
+   * Gets the snapshot of a part of the configuration. The returned snapshot shares the data of the current one, and
+   * has the same version.
+   *
+   * @param path the path
+   * @return the snapshot of the JSON object at the given path, {@code null} if none
+   * @throws ClassCastException if the value is not a JSON object
+   */
+  ConfigSnapshot getSnapshot(String path);
+
+  /**
+   * @param path the path
+   * @return a copy of the JSON array at the given path, {@code null} if none
+   * @throws ClassCastException if the value is not a JSON array
+   */
+  JsonArray getJsonArray(String path);
+
+  /**
+   * @return a copy of the configuration
+   */
+  JsonObject toJson();
+}
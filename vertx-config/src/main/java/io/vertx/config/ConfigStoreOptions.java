@@ -33,10 +33,40 @@ import java.util.Objects;
 @DataObject
 public class ConfigStoreOptions {
 
+  /**
+   * The default scan period, the store is scanned using the scan period of the retriever.
+   */
+  public static final long DEFAULT_SCAN_PERIOD = -1L;
+
+  /**
+   * The default fetch deadline, the retrieval of the store is always awaited.
+   */
+  public static final long DEFAULT_FETCH_DEADLINE = 0L;
+
+  /**
+   * The default number of consecutive failures opening the circuit breaker of the store, disabled.
+   */
+  public static final int DEFAULT_CIRCUIT_BREAKER_THRESHOLD = 0;
+
+  /**
+   * The default time during which the store is skipped once the circuit breaker opens, in ms.
+   */
+  public static final long DEFAULT_CIRCUIT_BREAKER_BACKOFF = 1000L;
+
+  /**
+   * The default maximum time during which the store is skipped, in ms.
+   */
+  public static final long DEFAULT_CIRCUIT_BREAKER_MAX_BACKOFF = 60_000L;
+
   private String type;
   private JsonObject config;
   private String format;
   private boolean optional;
+  private long scanPeriod = DEFAULT_SCAN_PERIOD;
+  private long fetchDeadline = DEFAULT_FETCH_DEADLINE;
+  private int circuitBreakerThreshold = DEFAULT_CIRCUIT_BREAKER_THRESHOLD;
+  private long circuitBreakerBackoff = DEFAULT_CIRCUIT_BREAKER_BACKOFF;
+  private long circuitBreakerMaxBackoff = DEFAULT_CIRCUIT_BREAKER_MAX_BACKOFF;
 
   public ConfigStoreOptions() {
     // Empty constructor
@@ -47,6 +77,11 @@ public class ConfigStoreOptions {
     this.config = other.config == null ? null : other.config.copy();
     this.format = other.format;
     this.optional = other.optional;
+    this.scanPeriod = other.scanPeriod;
+    this.fetchDeadline = other.fetchDeadline;
+    this.circuitBreakerThreshold = other.circuitBreakerThreshold;
+    this.circuitBreakerBackoff = other.circuitBreakerBackoff;
+    this.circuitBreakerMaxBackoff = other.circuitBreakerMaxBackoff;
   }
 
   public ConfigStoreOptions(JsonObject json) {
@@ -54,6 +89,11 @@ public class ConfigStoreOptions {
     config = json.getJsonObject("config");
     optional = json.getBoolean("optional", false);
     format = json.getString("format", "json");
+    scanPeriod = json.getLong("scanPeriod", DEFAULT_SCAN_PERIOD);
+    fetchDeadline = json.getLong("fetchDeadline", DEFAULT_FETCH_DEADLINE);
+    circuitBreakerThreshold = json.getInteger("circuitBreakerThreshold", DEFAULT_CIRCUIT_BREAKER_THRESHOLD);
+    circuitBreakerBackoff = json.getLong("circuitBreakerBackoff", DEFAULT_CIRCUIT_BREAKER_BACKOFF);
+    circuitBreakerMaxBackoff = json.getLong("circuitBreakerMaxBackoff", DEFAULT_CIRCUIT_BREAKER_MAX_BACKOFF);
   }
 
 
@@ -69,6 +109,11 @@ public class ConfigStoreOptions {
       json.put("format", format);
     }
     json.put("optional", optional);
+    json.put("scanPeriod", scanPeriod);
+    json.put("fetchDeadline", fetchDeadline);
+    json.put("circuitBreakerThreshold", circuitBreakerThreshold);
+    json.put("circuitBreakerBackoff", circuitBreakerBackoff);
+    json.put("circuitBreakerMaxBackoff", circuitBreakerMaxBackoff);
     return json;
   }
 
@@ -137,6 +182,113 @@ public class ConfigStoreOptions {
     return this;
   }
 
+  /**
+   * @return the scan period of the store in ms, {@code 0} if the store is not scanned periodically,
+   * {@link #DEFAULT_SCAN_PERIOD} (the default) if the store uses the scan period of the retriever.
+   */
+  public long getScanPeriod() {
+    return scanPeriod;
+  }
+
+  /**
+   * Configures the scan period of the store, in ms. The store is then retrieved on its own cadence, and the last
+   * retrieved configuration of the other stores is reused to compute the configuration. This is useful to scan slow
+   * or remote stores less often than the others, or to scan a store more often.
+   * <p>
+   * When set to {@code 0}, the store is not scanned periodically, it is only retrieved by
+   * {@link ConfigRetriever#getConfig()}. When set to {@link #DEFAULT_SCAN_PERIOD} (the default), the scan period of
+   * the retriever is used.
+   *
+   * @param scanPeriod the scan period in ms
+   * @return the current instance of {@link ConfigStoreOptions}
+   */
+  public ConfigStoreOptions setScanPeriod(long scanPeriod) {
+    this.scanPeriod = scanPeriod;
+    return this;
+  }
+
+  /**
+   * @return the fetch deadline of the store in ms, {@code 0} (the default) if none
+   */
+  public long getFetchDeadline() {
+    return fetchDeadline;
+  }
+
+  /**
+   * Configures the fetch deadline of the store, in ms. When the store takes longer to retrieve its content, the
+   * configuration is computed with the last configuration retrieved from the store (if any), so a slow store does
+   * not delay the computation. The retrieval continues in the background, and its result is applied when it arrives.
+   *
+   * @param fetchDeadline the deadline in ms, {@code 0} to always wait for the store
+   * @return the current instance of {@link ConfigStoreOptions}
+   */
+  public ConfigStoreOptions setFetchDeadline(long fetchDeadline) {
+    this.fetchDeadline = fetchDeadline;
+    return this;
+  }
+
+  /**
+   * @return the number of consecutive failures opening the circuit breaker of the store, {@code 0} (the default) if
+   * the circuit breaker is disabled
+   */
+  public int getCircuitBreakerThreshold() {
+    return circuitBreakerThreshold;
+  }
+
+  /**
+   * Enables the circuit breaker of the store. After {@code circuitBreakerThreshold} consecutive failures, the store
+   * is not called anymore for {@link #getCircuitBreakerBackoff()} ms. Then, the store is tried again: on success the
+   * circuit breaker closes, on failure the store is skipped again for twice as long, up to
+   * {@link #getCircuitBreakerMaxBackoff()} ms.
+   * <p>
+   * While the store is skipped, optional stores use their last retrieved configuration (or an empty configuration),
+   * and the retrieval of the other stores fails immediately.
+   *
+   * @param circuitBreakerThreshold the number of consecutive failures, {@code 0} to disable the circuit breaker
+   * @return the current instance of {@link ConfigStoreOptions}
+   */
+  public ConfigStoreOptions setCircuitBreakerThreshold(int circuitBreakerThreshold) {
+    this.circuitBreakerThreshold = circuitBreakerThreshold;
+    return this;
+  }
+
+  /**
+   * @return the time during which the store is skipped once the circuit breaker opens, in ms
+   */
+  public long getCircuitBreakerBackoff() {
+    return circuitBreakerBackoff;
+  }
+
+  /**
+   * Configures the time during which the store is skipped once the circuit breaker opens, in ms.
+   *
+   * @param circuitBreakerBackoff the time in ms
+   * @return the current instance of {@link ConfigStoreOptions}
+   */
+  public ConfigStoreOptions setCircuitBreakerBackoff(long circuitBreakerBackoff) {
+    this.circuitBreakerBackoff = circuitBreakerBackoff;
+    return this;
+  }
+
+  /**
+   * @return the maximum time during which the store is skipped, in ms
+   */
+  public long getCircuitBreakerMaxBackoff() {
+    return circuitBreakerMaxBackoff;
+  }
+
+  /**
+   * Configures the maximum time during which the store is skipped, in ms. The time doubles on each failed attempt,
+   * up to this value.
+   *
+   * @param circuitBreakerMaxBackoff the time in ms
+   * @return the current instance of {@link ConfigStoreOptions}
+   */
+  public ConfigStoreOptions setCircuitBreakerMaxBackoff(long circuitBreakerMaxBackoff) {
+    this.circuitBreakerMaxBackoff = circuitBreakerMaxBackoff;
+    return this;
+  }
+
   /**
    * Sets the format of the configuration that is retrieved from the store.
    *
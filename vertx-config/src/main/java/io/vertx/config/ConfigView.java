@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.vertx.config;
+
+import io.vertx.config.impl.ConfigRetrieverImpl;
+import io.vertx.config.impl.ConfigSnapshotImpl;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Creates {@link ConfigKey} accessors bound to the configuration of a {@link ConfigRetriever}.
+ * <p>
+ * The accessors are created once (for example when a verticle starts), and are updated automatically every time the
+ * retriever publishes a new configuration. Reading an accessor is a field read, so they are well suited to read
+ * values on hot paths:
+ * <pre>
+ * ConfigView view = ConfigView.create(retriever);
+ * ConfigKey.IntKey maxConnections = view.intKey("http.server.max-connections", 100);
+ * // ...
+ * int max = maxConnections.getInt();
+ * </pre>
+ * Accessors are updated one after the other, to read several values from the same version of the configuration,
+ * use a {@link ConfigSnapshot}.
+ * <p>
+ * A view is updated until it is closed. Views created for a limited time (for example per verticle) must be closed
+ * with {@link #close()}, otherwise the retriever keeps updating them.
+ */
+public final class ConfigView {
+
+  private final ConfigRetrieverImpl retriever;
+  private final Handler<ConfigSnapshot> publicationHandler = v -> rebind();
+  private final List<ConfigKey<?>> keys = new ArrayList<>();
+  private long version = -1;
+  private boolean closed;
+
+  private ConfigView(ConfigRetrieverImpl retriever) {
+    this.retriever = retriever;
+  }
+
+  /**
+   * Creates a view on the configuration of the given retriever.
+   *
+   * @param retriever the retriever, must be created using {@link ConfigRetriever#create(io.vertx.core.Vertx, ConfigRetrieverOptions)}
+   * @return the view
+   */
+  public static ConfigView create(ConfigRetriever retriever) {
+    Objects.requireNonNull(retriever, "The retriever must not be `null`");
+    if (!(retriever instanceof ConfigRetrieverImpl)) {
+      throw new IllegalArgumentException("Unsupported retriever implementation: " + retriever.getClass().getName());
+    }
+    ConfigView view = new ConfigView((ConfigRetrieverImpl) retriever);
+    view.retriever.addPublicationHandler(view.publicationHandler);
+    return view;
+  }
+
+  /**
+   * Closes the view: its accessors keep their current value, and are no longer updated. Accessors cannot be created
+   * from a closed view.
+   */
+  public void close() {
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      keys.clear();
+    }
+    retriever.removePublicationHandler(publicationHandler);
+  }
+
+  /**
+   * Creates an accessor to an {@code int} value.
+   *
+   * @param path the dotted path or JSON pointer of the value
+   * @param def  the value used when the configuration does not contain a number at this path
+   * @return the accessor
+   */
+  public ConfigKey.IntKey intKey(String path, int def) {
+    return register(new ConfigKey.IntKey(path, def));
+  }
+
+  /**
+   * Creates an accessor to a {@code long} value.
+   *
+   * @param path the dotted path or JSON pointer of the value
+   * @param def  the value used when the configuration does not contain a number at this path
+   * @return the accessor
+   */
+  public ConfigKey.LongKey longKey(String path, long def) {
+    return register(new ConfigKey.LongKey(path, def));
+  }
+
+  /**
+   * Creates an accessor to a {@code double} value.
+   *
+   * @param path the dotted path or JSON pointer of the value
+   * @param def  the value used when the configuration does not contain a number at this path
+   * @return the accessor
+   */
+  public ConfigKey.DoubleKey doubleKey(String path, double def) {
+    return register(new ConfigKey.DoubleKey(path, def));
+  }
+
+  /**
+   * Creates an accessor to a {@code boolean} value.
+   *
+   * @param path the dotted path or JSON pointer of the value
+   * @param def  the value used when the configuration does not contain a boolean at this path
+   * @return the accessor
+   */
+  public ConfigKey.BooleanKey booleanKey(String path, boolean def) {
+    return register(new ConfigKey.BooleanKey(path, def));
+  }
+
+  /**
+   * Creates an accessor to a string value.
+   *
+   * @param path the dotted path or JSON pointer of the value
+   * @param def  the value used when the configuration does not contain a string at this path, may be {@code null}
+   * @return the accessor
+   */
+  public ConfigKey<String> stringKey(String path, String def) {
+    return register(new ConfigKey.ObjectKey<>(path, (snapshot, value) -> value instanceof String ? (String) value : null,
+      def));
+  }
+
+  /**
+   * Creates an accessor to a part of the configuration.
+   *
+   * @param path the dotted path or JSON pointer of the JSON object
+   * @return the accessor, its value is {@code null} when the configuration does not contain a JSON object at this
+   * path
+   */
+  public ConfigKey<ConfigSnapshot> snapshotKey(String path) {
+    return register(new ConfigKey.ObjectKey<>(path, (snapshot, value) -> value instanceof JsonObject
+      ? new ConfigSnapshotImpl((JsonObject) value, snapshot.version()) : null, null));
+  }
+
+  private synchronized <K extends ConfigKey<?>> K register(K key) {
+    if (closed) {
+      throw new IllegalStateException("The view is closed");
+    }
+    key.bind(retriever.getSnapshot());
+    keys.add(key);
+    return key;
+  }
+
+  private synchronized void rebind() {
+    // Always bind the last snapshot, so concurrent publications cannot leave the accessors on an older one
+    ConfigSnapshot snapshot = retriever.getSnapshot();
+    if (snapshot.version() == version) {
+      return;
+    }
+    version = snapshot.version();
+    for (ConfigKey<?> key : keys) {
+      key.bind(snapshot);
+    }
+  }
+}
@@ -0,0 +1,436 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.vertx.config.impl;
+
+import io.vertx.config.ConfigChange;
+import io.vertx.config.ConfigSnapshot;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.internal.ContextInternal;
+import io.vertx.core.internal.logging.Logger;
+import io.vertx.core.internal.logging.LoggerFactory;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.shareddata.Lock;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Distributes the configuration between the retrievers of a cluster sharing the same address.
+ * <p>
+ * The retrievers elect a leader using a cluster-wide lock. The leader retrieves the stores, and publishes each new
+ * configuration as a delta (the JSON pointers to set and to remove) on the event bus address. The deltas are
+ * numbered, a follower detecting a gap (or a new leader) requests the full configuration from the leader on
+ * {@code address + ".snapshot"}. Followers keep trying to acquire the lock, so one of them takes over when the leader
+ * leaves. Only the leader watches its stores. A leader receiving a delta from another leader, because the cluster
+ * released its lock, stops watching its stores and follows the other one.
+ * <p>
+ * Message formats:
+ * <ul>
+ * <li>delta: {@code {"leader": id, "version": n, "set": {pointer: value, ...}, "remove": [pointer, ...]}}</li>
+ * <li>snapshot (reply): {@code {"leader": id, "version": n, "config": {...}}}</li>
+ * </ul>
+ */
+public final class ConfigDistribution {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ConfigDistribution.class);
+
+  // The first attempt is short, so the losers quickly know they are followers
+  private static final long FIRST_ELECTION_TIMEOUT = 100L;
+  private static final long ELECTION_TIMEOUT = 10_000L;
+
+  private final ConfigRetrieverImpl retriever;
+  private final ContextInternal context;
+  private final String address;
+  private final String snapshotAddress;
+  private final String lockName;
+  private final String id = UUID.randomUUID().toString();
+  // Completed once the first election attempt is over, whatever its outcome
+  private final Promise<Void> elected;
+
+  private boolean closed;
+  private MessageConsumer<JsonObject> deltas;
+  // Leader state: the lock, and the last distributed configuration
+  private Lock lock;
+  private MessageConsumer<JsonObject> snapshots;
+  private JsonObject distributed;
+  private long distributedVersion;
+  private long sequence;
+  // Follower state: the leader and the version of the last applied configuration
+  private String leader;
+  private long applied = -1;
+  private boolean syncing;
+
+  ConfigDistribution(ConfigRetrieverImpl retriever, ContextInternal context, String address) {
+    this.retriever = retriever;
+    this.context = context;
+    this.address = address;
+    this.snapshotAddress = address + ".snapshot";
+    this.lockName = "__vertx-config." + address;
+    this.elected = context.promise();
+    retriever.addPublicationHandler(this::distribute);
+  }
+
+  /**
+   * Registers the consumer of the deltas and starts the election.
+   */
+  void start() {
+    context.runOnContext(v -> {
+      synchronized (this) {
+        if (closed) {
+          return;
+        }
+        deltas = context.owner().eventBus().consumer(address, this::onDelta);
+      }
+      elect(FIRST_ELECTION_TIMEOUT);
+    });
+  }
+
+  /**
+   * @return whether this retriever leads the distribution
+   */
+  public synchronized boolean isLeader() {
+    return lock != null;
+  }
+
+  /**
+   * @return the identifier of this retriever in the cluster
+   */
+  public String getId() {
+    return id;
+  }
+
+  /**
+   * @return the version of the last delta published by this retriever, when it leads
+   */
+  public synchronized long getSequence() {
+    return sequence;
+  }
+
+  /**
+   * @return the identifier of the leader followed by this retriever, {@code null} if it leads or has no leader yet
+   */
+  public synchronized String getLeader() {
+    return leader;
+  }
+
+  /**
+   * @return the version of the last configuration received from the leader, {@code -1} if none
+   */
+  public synchronized long getApplied() {
+    return applied;
+  }
+
+  /**
+   * Retrieves the configuration: from the stores on the leader, from the leader on the followers. When the leader
+   * cannot be reached, the stores are retrieved locally.
+   *
+   * @param local the local retrieval of the stores
+   * @return the configuration
+   */
+  Future<JsonObject> retrieve(Supplier<Future<JsonObject>> local) {
+    return elected.future().compose(v -> {
+      if (isLeader()) {
+        return local.get();
+      }
+      return requestSnapshot().recover(err -> {
+        LOGGER.warn("Unable to get the configuration from the leader, retrieving the stores", err);
+        return local.get();
+      });
+    });
+  }
+
+  void close() {
+    stepDown(false);
+  }
+
+  /**
+   * Stops distributing the configuration, and stops watching the stores if this retriever was the leader.
+   *
+   * @param reelect whether to take part in the next elections, otherwise this object is closed
+   */
+  private void stepDown(boolean reelect) {
+    Lock l;
+    MessageConsumer<JsonObject> d;
+    MessageConsumer<JsonObject> s;
+    synchronized (this) {
+      if (!reelect) {
+        closed = true;
+        d = deltas;
+        deltas = null;
+      } else {
+        d = null;
+      }
+      l = lock;
+      s = snapshots;
+      lock = null;
+      snapshots = null;
+      // Follow the leader from its next snapshot
+      leader = null;
+      applied = -1;
+    }
+    if (d != null) {
+      d.unregister();
+    }
+    if (s != null) {
+      s.unregister();
+    }
+    if (l != null) {
+      retriever.unwatchStores();
+      // Let another retriever take over
+      l.release();
+    }
+    if (reelect && !isClosed()) {
+      context.owner().setTimer(FIRST_ELECTION_TIMEOUT, t -> elect(ELECTION_TIMEOUT));
+    }
+  }
+
+  private void elect(long timeout) {
+    context.owner().sharedData().getLockWithTimeout(lockName, timeout).onComplete(ar -> {
+      boolean leading = false;
+      if (ar.succeeded()) {
+        // Read before locking, the retriever calls this object while holding its own lock
+        long known = retriever.getSnapshot().version();
+        JsonObject config = retriever.published();
+        synchronized (this) {
+          if (!closed) {
+            lock = ar.result();
+            // The next deltas are relative to the configuration known by this retriever
+            distributed = config;
+            distributedVersion = known;
+            sequence = 0;
+            leader = null;
+            applied = -1;
+            snapshots = context.owner().eventBus().consumer(snapshotAddress, this::onSnapshotRequest);
+            leading = true;
+          }
+        }
+        if (!leading) {
+          ar.result().release();
+        }
+      }
+      elected.tryComplete();
+      if (leading) {
+        retriever.watchStores();
+        // The configuration received from the previous leader may be outdated
+        retriever.refresh();
+      } else if (ar.failed() && !isClosed()) {
+        context.owner().setTimer(FIRST_ELECTION_TIMEOUT, l -> elect(ELECTION_TIMEOUT));
+      }
+    });
+  }
+
+  private synchronized boolean isClosed() {
+    return closed;
+  }
+
+  private void distribute(ConfigSnapshot snapshot) {
+    synchronized (this) {
+      if (lock == null || snapshot.version() <= distributedVersion) {
+        return;
+      }
+      JsonObject config = ((ConfigSnapshotImpl) snapshot).unwrap();
+      ConfigChange diff = new ConfigChange(distributed, config);
+      distributed = config;
+      distributedVersion = snapshot.version();
+      if (diff.getChangedPaths().isEmpty()) {
+        return;
+      }
+      JsonObject set = new JsonObject();
+      for (String pointer : diff.getAddedPaths()) {
+        set.put(pointer, valueAt(config, pointer));
+      }
+      for (String pointer : diff.getUpdatedPaths()) {
+        set.put(pointer, valueAt(config, pointer));
+      }
+      JsonObject delta = new JsonObject()
+        .put("leader", id)
+        .put("version", ++sequence)
+        .put("set", set)
+        .put("remove", new JsonArray(new ArrayList<>(diff.getRemovedPaths())));
+      // Published under the lock, so the deltas are sent in order
+      context.owner().eventBus().publish(address, delta);
+    }
+  }
+
+  private void onSnapshotRequest(Message<JsonObject> request) {
+    JsonObject config;
+    long version;
+    synchronized (this) {
+      if (lock == null) {
+        request.fail(503, "Not the leader");
+        return;
+      }
+      config = distributed;
+      version = sequence;
+    }
+    if (config != null) {
+      request.reply(snapshot(config, version));
+    } else {
+      // Nothing retrieved yet, the concurrent requests share the same retrieval
+      retriever.getConfig().onComplete(ar -> {
+        if (ar.failed()) {
+          request.fail(500, ar.cause().getMessage());
+        } else {
+          synchronized (this) {
+            request.reply(snapshot(distributed != null ? distributed : ar.result(), sequence));
+          }
+        }
+      });
+    }
+  }
+
+  private JsonObject snapshot(JsonObject config, long version) {
+    return new JsonObject().put("leader", id).put("version", version).put("config", config);
+  }
+
+  private void onDelta(Message<JsonObject> message) {
+    JsonObject delta = message.body();
+    // The deltas are handled one by one on the context of the retriever
+    JsonObject base = retriever.published();
+    JsonObject result;
+    boolean deposed = false;
+    synchronized (this) {
+      if (closed || id.equals(delta.getString("leader"))) {
+        return;
+      }
+      if (lock != null) {
+        // Another retriever leads, the cluster released the lock of this one (when it left the cluster for a while)
+        deposed = true;
+        result = null;
+      } else if (syncing) {
+        // Included in the requested snapshot, or detected as a gap afterwards
+        return;
+      } else if (!delta.getString("leader").equals(leader) || delta.getLong("version") != applied + 1) {
+        result = null;
+      } else {
+        result = apply(base, delta.getJsonObject("set"), delta.getJsonArray("remove"));
+        applied = delta.getLong("version");
+      }
+    }
+    if (deposed) {
+      LOGGER.warn("Another retriever leads the configuration distributed on " + address + ", following it");
+      stepDown(true);
+    }
+    if (result == null) {
+      requestSnapshot()
+        .onSuccess(config -> {
+          // Ignored if this retriever has become the leader in the meantime, its stores are more recent
+          if (!isLeader()) {
+            retriever.applyRemote(config);
+          }
+        })
+        .onFailure(err -> LOGGER.warn("Unable to get the configuration from the leader", err));
+    } else {
+      retriever.applyRemote(result);
+    }
+  }
+
+  private Future<JsonObject> requestSnapshot() {
+    synchronized (this) {
+      syncing = true;
+    }
+    return context.owner().eventBus().<JsonObject>request(snapshotAddress, null)
+      .map(reply -> {
+        JsonObject body = reply.body();
+        synchronized (this) {
+          leader = body.getString("leader");
+          applied = body.getLong("version");
+        }
+        return body.getJsonObject("config");
+      })
+      .onComplete(ar -> {
+        synchronized (this) {
+          syncing = false;
+        }
+      });
+  }
+
+  private static Object valueAt(JsonObject config, String pointer) {
+    Object current = config;
+    for (String token : ConfigPath.parsePointer(pointer)) {
+      current = ((JsonObject) current).getValue(token);
+    }
+    return current;
+  }
+
+  /**
+   * Applies a delta to a configuration. Only the objects on the paths of the delta are copied, the other entries are
+   * shared with the base configuration.
+   *
+   * @param base   the configuration, not modified
+   * @param set    the values to set, indexed by JSON pointer
+   * @param remove the JSON pointers of the values to remove
+   * @return the new configuration
+   */
+  public static JsonObject apply(JsonObject base, JsonObject set, JsonArray remove) {
+    JsonObject result = base != null ? ConfigLayers.shallowCopy(base) : new JsonObject();
+    // The objects of the result that are not shared with the base, and can be modified
+    Set<JsonObject> owned = Collections.newSetFromMap(new IdentityHashMap<>());
+    owned.add(result);
+    for (Object pointer : remove) {
+      List<String> tokens = ConfigPath.parsePointer((String) pointer);
+      JsonObject parent = result;
+      for (int i = 0; parent != null && i < tokens.size() - 1; i++) {
+        Object next = parent.getValue(tokens.get(i));
+        parent = next instanceof JsonObject ? own(parent, tokens.get(i), (JsonObject) next, owned) : null;
+      }
+      if (parent != null) {
+        parent.remove(tokens.get(tokens.size() - 1));
+      }
+    }
+    for (Map.Entry<String, Object> entry : set) {
+      List<String> tokens = ConfigPath.parsePointer(entry.getKey());
+      JsonObject parent = result;
+      for (int i = 0; i < tokens.size() - 1; i++) {
+        Object next = parent.getValue(tokens.get(i));
+        parent = own(parent, tokens.get(i), next instanceof JsonObject ? (JsonObject) next : null, owned);
+      }
+      parent.put(tokens.get(tokens.size() - 1), entry.getValue());
+    }
+    return result;
+  }
+
+  /**
+   * Replaces a child of an owned object by a copy that can be modified, unless it is already owned.
+   *
+   * @param parent the parent, owned
+   * @param key    the key of the child
+   * @param child  the child, {@code null} to replace the value by an empty object
+   * @param owned  the owned objects
+   * @return the owned child
+   */
+  private static JsonObject own(JsonObject parent, String key, JsonObject child, Set<JsonObject> owned) {
+    if (child != null && owned.contains(child)) {
+      return child;
+    }
+    JsonObject copy = child != null ? ConfigLayers.shallowCopy(child) : new JsonObject();
+    parent.put(key, copy);
+    owned.add(copy);
+    return copy;
+  }
+}
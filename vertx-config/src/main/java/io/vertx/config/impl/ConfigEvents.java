@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package io.vertx.config.impl;
+
+import io.vertx.config.ConfigChange;
+import io.vertx.config.spi.ConfigProcessor;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Optional;
+
+/**
+ * The JDK Flight Recorder events emitted by the retriever, so the configuration activity appears on the same timeline
+ * as the GC or the lock contention. Each helper first checks whether its event is enabled in the current recording
+ * settings: when it is not (or when no recording is running), nothing is allocated nor recorded.
+ * <p>
+ * The {@code jdk.jfr} module is optional: when the runtime does not contain it, or does not resolve it, no event is
+ * recorded. The events are then opaque objects, always {@code null}.
+ */
+public final class ConfigEvents {
+
+  static final String SUCCEEDED = "succeeded";
+  static final String FAILED = "failed";
+  static final String CHANGED = "changed";
+  static final String UNCHANGED = "unchanged";
+  static final String MODIFIED = "modified";
+  static final String NOT_MODIFIED = "not-modified";
+  static final String SKIPPED = "skipped";
+
+  private static final boolean JFR = jfr();
+
+  private ConfigEvents() {
+    // Avoid direct instantiation.
+  }
+
+  private static boolean jfr() {
+    Optional<Module> jfr = ModuleLayer.boot().findModule("jdk.jfr");
+    if (!jfr.isPresent()) {
+      return false;
+    }
+    // The module is an optional dependency, read it explicitly in case nothing else required it
+    ConfigEvents.class.getModule().addReads(jfr.get());
+    return true;
+  }
+
+  /**
+   * @param stores the number of stores retrieved by the scan
+   * @return the started event, {@code null} if disabled
+   */
+  static Object beginScan(int stores) {
+    return JFR ? JfrEvents.beginScan(stores) : null;
+  }
+
+  static void endScan(Object event, String outcome) {
+    if (event != null) {
+      JfrEvents.endScan(event, outcome);
+    }
+  }
+
+  /**
+   * @param store the type of the store
+   * @return the started event, {@code null} if disabled
+   */
+  static Object beginFetch(String store) {
+    return JFR ? JfrEvents.beginFetch(store) : null;
+  }
+
+  static void endFetch(Object event, String outcome, long bytes) {
+    if (event != null) {
+      JfrEvents.endFetch(event, outcome, bytes);
+    }
+  }
+
+  /**
+   * Calls {@link ConfigProcessor#process(Vertx, JsonObject, Buffer)}, recording the processing.
+   *
+   * @param processor     the processor
+   * @param vertx         the vert.x instance
+   * @param configuration the processor configuration
+   * @param input         the content to process
+   * @return the result of the processor
+   */
+  public static Future<JsonObject> process(ConfigProcessor processor, Vertx vertx, JsonObject configuration,
+                                           Buffer input) {
+    if (!JFR) {
+      return processor.process(vertx, configuration, input);
+    }
+    return JfrEvents.process(processor, vertx, configuration, input);
+  }
+
+  /**
+   * Wraps the handler of the computation of the configuration of a file set, recording the computation.
+   *
+   * @param pattern the pattern of the file set
+   * @param files   the number of matching files
+   * @param handler the handler
+   * @return the handler to call once the configuration is computed
+   */
+  public static Handler<AsyncResult<JsonObject>> fileSet(String pattern, int files,
+                                                         Handler<AsyncResult<JsonObject>> handler) {
+    return JFR ? JfrEvents.fileSet(pattern, files, handler) : handler;
+  }
+
+  /**
+   * Calls a listener, recording the invocation.
+   *
+   * @param listener the listener
+   * @param change   the change
+   */
+  static void notify(Handler<ConfigChange> listener, ConfigChange change) {
+    if (!JFR) {
+      listener.handle(change);
+      return;
+    }
+    JfrEvents.notify(listener, change);
+  }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package io.vertx.config.impl;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Merges the configurations of the stores, seen as layers: a layer overrides the layers before it, and the
+ * objects present in several layers are merged recursively, as {@link JsonObject#mergeIn(JsonObject, boolean)} does.
+ * <p>
+ * The merged configuration is computed incrementally from the previous one. Only the keys present in the layers that
+ * changed (by reference) are resolved again through the layers, in priority order, and only down to the paths where
+ * the changed layers differ. The other entries are shared with the previous merged configuration, so the cost of a
+ * merge depends on the size of the changed layers, not on the total size of the configuration.
+ * <p>
+ * The layers are never modified, the values taken from them are copied. As the merged configurations share their
+ * unchanged subtrees, they must not be modified either.
+ */
+final class ConfigLayers {
+
+  private ConfigLayers() {
+    // Avoid direct instantiation.
+  }
+
+  /**
+   * Merges the given layers.
+   *
+   * @param layers the layers, from the lowest to the highest priority
+   * @return the merged configuration
+   */
+  static JsonObject merge(JsonObject[] layers) {
+    JsonObject json = new JsonObject();
+    for (JsonObject layer : layers) {
+      json.mergeIn(layer.copy(), true);
+    }
+    return json;
+  }
+
+  /**
+   * Merges the given layers, reusing the configuration merged from the previous layers.
+   *
+   * @param previous the configuration merged from {@code before}, not modified
+   * @param before   the previous layers
+   * @param after    the new layers, the same number as {@code before}
+   * @return the merged configuration, {@code previous} if none of the layers changed
+   */
+  static JsonObject merge(JsonObject previous, JsonObject[] before, JsonObject[] after) {
+    List<JsonObject> b = new ArrayList<>(before.length);
+    List<JsonObject> a = new ArrayList<>(after.length);
+    for (int i = 0; i < after.length; i++) {
+      b.add(before[i]);
+      a.add(after[i]);
+    }
+    return merge(previous, b, a);
+  }
+
+  /**
+   * @param previous the object merged from {@code before}
+   * @param before   the objects found at the same path in each previous layer, {@link #EMPTY} if none
+   * @param after    the objects found at the same path in each layer, {@link #EMPTY} if none
+   */
+  private static JsonObject merge(JsonObject previous, List<JsonObject> before, List<JsonObject> after) {
+    // The keys of the changed layers, the only ones whose value may have changed
+    Set<String> touched = new LinkedHashSet<>();
+    for (int i = 0; i < after.size(); i++) {
+      if (before.get(i) != after.get(i)) {
+        touched.addAll(before.get(i).fieldNames());
+        touched.addAll(after.get(i).fieldNames());
+      }
+    }
+    if (touched.isEmpty()) {
+      return previous;
+    }
+    // The untouched entries are shared
+    JsonObject result = shallowCopy(previous);
+    for (String key : touched) {
+      List<JsonObject> was = new ArrayList<>(before.size());
+      List<JsonObject> is = new ArrayList<>(after.size());
+      Object wasValue = resolve(before, key, was);
+      Object isValue = resolve(after, key, is);
+      if (isValue == ABSENT) {
+        result.remove(key);
+      } else if (isValue == OBJECTS && wasValue == OBJECTS && previous.getValue(key) instanceof JsonObject) {
+        // Merged from objects before and after, only merge what changed below
+        result.put(key, merge(previous.getJsonObject(key), was, is));
+      } else if (isValue == OBJECTS) {
+        result.put(key, merge(is.toArray(new JsonObject[0])));
+      } else if (isValue instanceof JsonArray) {
+        result.put(key, ((JsonArray) isValue).copy());
+      } else {
+        result.put(key, isValue);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Copies an object without copying its values, so the copy can be modified while sharing the untouched entries.
+   *
+   * @param json the object, not modified
+   * @return the copy
+   */
+  static JsonObject shallowCopy(JsonObject json) {
+    return new JsonObject(new LinkedHashMap<>(json.getMap()));
+  }
+
+  /**
+   * Resolves the value of a key through the layers, from the highest priority to the lowest: the first value that is
+   * not an object hides the layers below it.
+   *
+   * @param layers  the layers
+   * @param key     the key
+   * @param objects filled with the object found in each layer ({@link #EMPTY} if none) when the value is a merge
+   * @return {@link #OBJECTS} if the value is the merge of {@code objects}, {@link #ABSENT} if none of the layers
+   * contains the key, the value otherwise
+   */
+  private static Object resolve(List<JsonObject> layers, String key, List<JsonObject> objects) {
+    Object value = ABSENT;
+    int i = layers.size() - 1;
+    for (; i >= 0; i--) {
+      JsonObject layer = layers.get(i);
+      if (layer.containsKey(key)) {
+        value = layer.getValue(key);
+        if (!(value instanceof JsonObject)) {
+          break;
+        }
+      }
+    }
+    boolean merged = false;
+    for (int j = 0; j < layers.size(); j++) {
+      JsonObject layer = layers.get(j);
+      Object v = j > i ? layer.getValue(key) : null;
+      if (v instanceof JsonObject) {
+        objects.add((JsonObject) v);
+        merged = true;
+      } else {
+        objects.add(EMPTY);
+      }
+    }
+    return merged ? OBJECTS : value;
+  }
+
+  // Placeholder of the layers that do not contribute to a merged object, never modified
+  private static final JsonObject EMPTY = new JsonObject();
+  private static final Object ABSENT = new Object();
+  private static final Object OBJECTS = new Object();
+}
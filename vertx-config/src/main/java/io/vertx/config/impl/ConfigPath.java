@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.vertx.config.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Parses the paths designating a part of the configuration. Two syntaxes are supported:
+ * <ul>
+ * <li>paths starting with {@code /} are <a href="https://tools.ietf.org/html/rfc6901">JSON pointers</a>, such as
+ * {@code /http/server}</li>
+ * <li>other paths are dotted paths, such as {@code http.server}</li>
+ * </ul>
+ * The empty string designates the whole configuration.
+ */
+final class ConfigPath {
+
+  /**
+   * The segment matching any key, when supported.
+   */
+  static final String WILDCARD = "*";
+
+  private ConfigPath() {
+    // Avoid direct instantiation.
+  }
+
+  /**
+   * Splits the given path into its segments (keys).
+   *
+   * @param path the path, must not be {@code null}
+   * @return the list of segments, empty for the whole configuration
+   * @throws IllegalArgumentException if the path contains an empty segment
+   */
+  static List<String> parse(String path) {
+    Objects.requireNonNull(path, "The path must not be `null`");
+    if (path.isEmpty()) {
+      return Collections.emptyList();
+    }
+    if (path.charAt(0) == '/') {
+      return parsePointer(path);
+    }
+    List<String> segments = new ArrayList<>();
+    int start = 0;
+    int index;
+    while ((index = path.indexOf('.', start)) != -1) {
+      segments.add(segment(path, path.substring(start, index)));
+      start = index + 1;
+    }
+    segments.add(segment(path, path.substring(start)));
+    return segments;
+  }
+
+  /**
+   * Splits the given JSON pointer into its (unescaped) tokens.
+   *
+   * @param pointer the pointer, must be empty or start with {@code /}
+   * @return the list of tokens, empty for the whole configuration
+   */
+  static List<String> parsePointer(String pointer) {
+    if (pointer.isEmpty()) {
+      return Collections.emptyList();
+    }
+    if (pointer.charAt(0) != '/') {
+      throw new IllegalArgumentException("Invalid JSON pointer, it must start with `/`: " + pointer);
+    }
+    List<String> tokens = new ArrayList<>();
+    int start = 1;
+    int index;
+    while ((index = pointer.indexOf('/', start)) != -1) {
+      tokens.add(unescape(pointer.substring(start, index)));
+      start = index + 1;
+    }
+    tokens.add(unescape(pointer.substring(start)));
+    return tokens;
+  }
+
+  private static String segment(String path, String segment) {
+    if (segment.isEmpty()) {
+      throw new IllegalArgumentException("Invalid path, it contains an empty segment: " + path);
+    }
+    return segment;
+  }
+
+  private static String unescape(String token) {
+    if (token.indexOf('~') == -1) {
+      return token;
+    }
+    return token.replace("~1", "/").replace("~0", "~");
+  }
+}
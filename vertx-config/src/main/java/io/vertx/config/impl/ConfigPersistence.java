@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.vertx.config.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.CopyOptions;
+import io.vertx.core.file.FileSystem;
+import io.vertx.core.file.OpenOptions;
+import io.vertx.core.internal.logging.Logger;
+import io.vertx.core.internal.logging.LoggerFactory;
+import io.vertx.core.json.JsonObject;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Persists the last known good configuration in a local file, so it can be served immediately when the application
+ * restarts.
+ * <p>
+ * The file contains, for each store, an identifier of the store options, the version of the store content and the
+ * configuration computed from it, followed by the merged configuration:
+ * <pre>
+ * int     magic ("VXCF")
+ * byte    format version
+ * int     store count
+ * store*  long options id, byte present, [string version, string configuration]
+ * string  merged configuration
+ * long    checksum (xxHash64 of the previous bytes)
+ * </pre>
+ * Strings are written as their length (an int, -1 for {@code null}) followed by their UTF-8 bytes. The file is
+ * written to a temporary file and then atomically moved, so a crash never leaves a truncated file behind. Writes
+ * requested while a write is in progress are coalesced, only the last content is written. The configuration may
+ * contain secrets, so the file is only readable and writable by its owner.
+ */
+final class ConfigPersistence {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ConfigPersistence.class);
+
+  private static final int MAGIC = 0x56584346;
+  private static final byte FORMAT_VERSION = 1;
+  private static final String PERMS = "rw-------";
+
+  private final FileSystem fs;
+  private final String path;
+  private final String tmp;
+
+  private boolean writing;
+  private Buffer pending;
+
+  ConfigPersistence(Vertx vertx, String path) {
+    this.fs = vertx.fileSystem();
+    this.path = path;
+    this.tmp = path + ".tmp";
+  }
+
+  /**
+   * Computes the identifier of the options of a store, the persisted content of a store is only restored if its
+   * options have not changed.
+   *
+   * @param type   the store type
+   * @param format the format
+   * @param config the store configuration, may be {@code null}
+   * @return the identifier
+   */
+  static long id(String type, String format, JsonObject config) {
+    JsonObject json = new JsonObject().put("type", type).put("format", format).put("config", config);
+    return XxHash64.hash(Buffer.buffer(json.encode()));
+  }
+
+  /**
+   * Reads the persisted configuration, asynchronously.
+   *
+   * @param ids the identifiers of the configured stores
+   * @return a future completed with the persisted configuration, or with {@code null} if there is none or if the file
+   * cannot be read. The future does not fail.
+   */
+  Future<Content> load(List<Long> ids) {
+    return fs.exists(path)
+      .compose(exists -> exists
+        ? fs.readFile(path).map(buffer -> decode(buffer, ids))
+        : Future.<Content>succeededFuture())
+      .recover(e -> {
+        LOGGER.warn("Unable to read the persisted configuration " + path, e);
+        return Future.succeededFuture();
+      });
+  }
+
+  /**
+   * Writes the given configuration, asynchronously.
+   *
+   * @param ids      the identifiers of the stores
+   * @param versions the version of the content of each store, may contain {@code null}
+   * @param configs  the configuration computed for each store, {@code null} if none
+   * @param merged   the merged configuration
+   */
+  void save(List<Long> ids, String[] versions, JsonObject[] configs, JsonObject merged) {
+    Buffer content = encode(ids, versions, configs, merged);
+    synchronized (this) {
+      if (writing) {
+        pending = content;
+        return;
+      }
+      writing = true;
+    }
+    write(content);
+  }
+
+  private void write(Buffer content) {
+    fs.open(tmp, new OpenOptions().setWrite(true).setCreate(true).setTruncateExisting(true).setPerms(PERMS))
+      .compose(file -> file.write(content).eventually(file::close))
+      .compose(v -> fs.move(tmp, path, new CopyOptions().setReplaceExisting(true).setAtomicMove(true)))
+      .onComplete(ar -> {
+        if (ar.failed()) {
+          LOGGER.warn("Unable to persist the configuration to " + path, ar.cause());
+        }
+        Buffer next;
+        synchronized (this) {
+          next = pending;
+          pending = null;
+          writing = next != null;
+        }
+        if (next != null) {
+          write(next);
+        }
+      });
+  }
+
+  static Buffer encode(List<Long> ids, String[] versions, JsonObject[] configs, JsonObject merged) {
+    Buffer buffer = Buffer.buffer(256)
+      .appendInt(MAGIC)
+      .appendByte(FORMAT_VERSION)
+      .appendInt(ids.size());
+    for (int i = 0; i < ids.size(); i++) {
+      buffer.appendLong(ids.get(i));
+      if (configs[i] == null) {
+        buffer.appendByte((byte) 0);
+      } else {
+        buffer.appendByte((byte) 1);
+        appendString(buffer, versions[i]);
+        appendString(buffer, configs[i].encode());
+      }
+    }
+    appendString(buffer, merged.encode());
+    return buffer.appendLong(XxHash64.hash(buffer));
+  }
+
+  static Content decode(Buffer buffer, List<Long> ids) {
+    int end = buffer.length() - 8;
+    if (end < 9 || buffer.getInt(0) != MAGIC || buffer.getByte(4) != FORMAT_VERSION
+      || buffer.getLong(end) != XxHash64.hash(buffer.getBuffer(0, end))) {
+      LOGGER.warn("Ignoring the persisted configuration, the file is corrupted or has an unsupported format");
+      return null;
+    }
+    int[] position = {5};
+    int count = readInt(buffer, position);
+    String[] versions = new String[ids.size()];
+    JsonObject[] configs = new JsonObject[ids.size()];
+    int matching = 0;
+    for (int i = 0; i < count; i++) {
+      long id = buffer.getLong(position[0]);
+      position[0] += 8;
+      // Only restore the stores that are still configured the same way, at the same position
+      boolean same = i < ids.size() && ids.get(i) == id;
+      if (same) {
+        matching++;
+      }
+      if (buffer.getByte(position[0]++) == 0) {
+        continue;
+      }
+      String version = readString(buffer, position);
+      String config = readString(buffer, position);
+      if (same) {
+        versions[i] = version;
+        configs[i] = new JsonObject(config);
+      }
+    }
+    // The merged configuration is only valid if the list of stores has not changed
+    JsonObject merged = matching == ids.size() && count == ids.size()
+      ? new JsonObject(readString(buffer, position)) : null;
+    return new Content(versions, configs, merged);
+  }
+
+  private static void appendString(Buffer buffer, String value) {
+    if (value == null) {
+      buffer.appendInt(-1);
+    } else {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      buffer.appendInt(bytes.length).appendBytes(bytes);
+    }
+  }
+
+  private static int readInt(Buffer buffer, int[] position) {
+    int value = buffer.getInt(position[0]);
+    position[0] += 4;
+    return value;
+  }
+
+  private static String readString(Buffer buffer, int[] position) {
+    int length = readInt(buffer, position);
+    if (length < 0) {
+      return null;
+    }
+    String value = buffer.getString(position[0], position[0] + length, "UTF-8");
+    position[0] += length;
+    return value;
+  }
+
+  /**
+   * The persisted configuration.
+   */
+  static final class Content {
+
+    // Indexed by store, null when not restored
+    final String[] versions;
+    final JsonObject[] configs;
+    // null if the stores have changed
+    final JsonObject merged;
+
+    private Content(String[] versions, JsonObject[] configs, JsonObject merged) {
+      this.versions = versions;
+      this.configs = configs;
+      this.merged = merged;
+    }
+  }
+}
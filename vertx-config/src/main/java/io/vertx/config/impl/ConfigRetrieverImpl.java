@@ -21,22 +21,27 @@ package io.vertx.config.impl;
 import io.vertx.config.ConfigChange;
 import io.vertx.config.ConfigRetriever;
 import io.vertx.config.ConfigRetrieverOptions;
+import io.vertx.config.ConfigSnapshot;
 import io.vertx.config.ConfigStoreOptions;
 import io.vertx.config.spi.ConfigProcessor;
+import io.vertx.config.spi.ConfigRegistry;
+import io.vertx.config.spi.ConfigRetrieverMetrics;
 import io.vertx.config.spi.ConfigStore;
 import io.vertx.config.spi.ConfigStoreFactory;
-import io.vertx.config.spi.utils.Processors;
 import io.vertx.core.*;
 import io.vertx.core.internal.ContextInternal;
 import io.vertx.core.internal.logging.Logger;
 import io.vertx.core.internal.logging.LoggerFactory;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.streams.ReadStream;
 
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 /**
  * Implementation of the {@link ConfigRetriever}.
@@ -50,27 +55,78 @@ public class ConfigRetrieverImpl implements ConfigRetriever {
 
   private final ContextInternal context;
   private final List<ConfigurationProvider> providers;
-  private long scan;
-  private final List<Handler<ConfigChange>> listeners = new ArrayList<>();
-  private final ConfigStreamImpl streamOfConfiguration = new ConfigStreamImpl();
+  // The periodic timers, one per distinct scan period
+  private final List<Long> scans = new ArrayList<>();
+  private boolean closed;
+  // Single-flight scan state
+  private boolean scanning;
+  private boolean scanPending;
+  // The providers to refresh in the follow-up scan, null for all
+  private Set<ConfigurationProvider> pendingRefresh;
+  private long coalescedScans;
+  // Listeners indexed by the configuration subtree they listen to, the ones listening to every change are at the root
+  private final ListenerTrie<Listener> listeners = new ListenerTrie<>();
+  private long listenerCount;
+  // The configurations copied for the listeners, see SharedConfigChange
+  private final AtomicLong listenerCopies = new AtomicLong();
+  private final ConfigStreamImpl streamOfConfiguration = new ConfigStreamImpl(false);
+  // The stream returned by configStream() and the subscriptions created by newConfigStream()
+  private final CopyOnWriteArrayList<ConfigStreamImpl> streams = new CopyOnWriteArrayList<>();
   private final ConfigRetrieverOptions options;
 
-  private JsonObject current = new JsonObject();
+  // The last merged configuration, never modified so it can be compared by reference and shared by the snapshots.
+  // Consecutive configurations share their unchanged subtrees, only the listeners get their own copies.
+  private JsonObject published;
+  // Read without locking, replaced when the configuration changes
+  private volatile ConfigSnapshotImpl snapshot = ConfigSnapshotImpl.EMPTY;
+  private long version;
+  private final List<Handler<ConfigSnapshot>> publicationHandlers = new CopyOnWriteArrayList<>();
+  // The computation retrieving all the stores shared by the concurrent getConfig() calls, null if none
+  private Future<JsonObject> inFlight;
+  // Numbers the computations in the order they start reading the stores. The result of a computation is not applied
+  // if a more recent one has already been applied, so a slow getConfig() cannot revert the result of a scan.
+  private long computations;
+  private long appliedComputation;
+  // The number of the computation the last inputs and merged configuration come from
+  private long mergedComputation;
+  private long joinedConfigRequests;
+  // When all the stores have been retrieved for the last time (System.nanoTime()), 0 if never or invalidated
+  private long retrievedAt;
+  // The provider results and the configuration merged from them during the last computation, the merged
+  // configuration is kept as a completed future so scans with unchanged inputs can return it as is
+  private JsonObject[] lastInputs;
+  private Future<JsonObject> lastMerged;
+  // The merge of the last inputs, before the configuration processor, reused by the next merge
+  private JsonObject lastLayers;
 
   private Handler<Void> beforeScan;
   private Function<JsonObject, JsonObject> processor;
+  // Shares the configuration with the other retrievers of the cluster, null if disabled
+  private final ConfigDistribution distribution;
+  // Persists the last known good configuration, null if disabled
+  private final ConfigPersistence persistence;
+  private final List<Long> storeIds = new ArrayList<>();
+  // Whether the stores are watched, see watchStores()
+  private boolean watching;
+  // Completed once the persisted configuration has been read, null if the persistence is disabled
+  private final Future<Void> loading;
+  // Whether the configuration has been restored from the persisted one, and not retrieved yet
+  private boolean restored;
+  // null if the metrics are disabled
+  private final ConfigRetrieverMetrics metrics;
 
   public ConfigRetrieverImpl(Vertx vertx, ConfigRetrieverOptions options) {
+    this(vertx, options, null);
+  }
+
+  public ConfigRetrieverImpl(Vertx vertx, ConfigRetrieverOptions options, ConfigRetrieverMetrics metrics) {
     this.context = (ContextInternal) vertx.getOrCreateContext();
     this.options = options;
+    this.metrics = metrics != null ? metrics
+      : options.isMetricsEnabled() ? new DefaultConfigRetrieverMetrics() : null;
+    this.streams.add(streamOfConfiguration);
 
-    ServiceLoader<ConfigStoreFactory> storeImpl =
-        ServiceLoader.load(ConfigStoreFactory.class,
-            ConfigStoreFactory.class.getClassLoader());
-
-    Map<String, ConfigStoreFactory> nameToImplMap = new HashMap<>();
-    storeImpl.iterator().forEachRemaining(factory -> nameToImplMap.put(factory.name(), factory));
-    if (nameToImplMap.isEmpty()) {
+    if (ConfigRegistry.getStoreNames().isEmpty()) {
       throw new IllegalStateException("No configuration store implementations found on the classpath");
     }
 
@@ -105,10 +161,10 @@ public class ConfigRetrieverImpl implements ConfigRetriever {
             "the `type` entry is mandatory in a configuration store configuration");
       }
 
-      ConfigStoreFactory factory = nameToImplMap.get(type);
+      ConfigStoreFactory factory = ConfigRegistry.getStoreFactory(type);
       if (factory == null) {
         throw new IllegalArgumentException("unknown configuration store implementation: " +
-            type + " (known implementations are: " + nameToImplMap.keySet() + ")");
+            type + " (known implementations are: " + ConfigRegistry.getStoreNames() + ")");
       }
 
       JsonObject config = option.getConfig();
@@ -118,13 +174,58 @@ public class ConfigRetrieverImpl implements ConfigRetriever {
       ConfigStore store = factory.create(vertx, config);
 
       String format = option.getFormat() != null ? option.getFormat() : "json";
-      ConfigProcessor processor = Processors.get(format);
+      ConfigProcessor processor = ConfigRegistry.getProcessor(format);
       if (processor == null) {
         throw new IllegalArgumentException("unknown configuration format: " + format + " (supported formats are: " +
-            Processors.getSupportedFormats());
+            ConfigRegistry.getFormats());
       }
-      providers.add(new ConfigurationProvider(store, processor, option.getConfig(), option.isOptional()));
+      ConfigurationProvider provider = new ConfigurationProvider(store, processor, option);
+      provider.setMetrics(this.metrics);
+      providers.add(provider);
+      storeIds.add(ConfigPersistence.id(type, format, option.getConfig()));
+    }
+
+    if (options.getLastKnownGoodPath() != null) {
+      persistence = new ConfigPersistence(vertx, options.getLastKnownGoodPath());
+      // Read without blocking, the first retrieval waits for it
+      Promise<Void> loaded = context.promise();
+      persistence.load(storeIds).onComplete(ar -> {
+        if (restore(ar.result())) {
+          // The keys and views created meanwhile get the restored configuration
+          firePublication();
+        }
+        loaded.complete();
+      });
+      loading = loaded.future();
+    } else {
+      persistence = null;
+      loading = null;
     }
+
+    distribution = options.getDistributionAddress() != null
+      ? new ConfigDistribution(this, context, options.getDistributionAddress()) : null;
+  }
+
+  /**
+   * @return whether the persisted configuration has been installed as the published one
+   */
+  private synchronized boolean restore(ConfigPersistence.Content content) {
+    if (content == null) {
+      return false;
+    }
+    for (int i = 0; i < providers.size(); i++) {
+      if (content.configs[i] != null) {
+        providers.get(i).restore(content.versions[i], content.configs[i]);
+      }
+    }
+    if (content.merged == null || published != null) {
+      // Not restored if the stores changed, or if a configuration has been received from the leader meanwhile
+      return false;
+    }
+    published = content.merged;
+    snapshot = new ConfigSnapshotImpl(published, ++version);
+    restored = true;
+    return true;
   }
 
   public static String extractFormatFromFileExtension(String path) {
@@ -162,47 +263,242 @@ public class ConfigRetrieverImpl implements ConfigRetriever {
   }
 
   public synchronized void initializePeriodicScan() {
-    if (options.getScanPeriod() > 0) {
-      this.scan = context.setPeriodic(options.getScanPeriod(), l -> scan());
-    } else {
-      this.scan = -1;
+    if (distribution != null) {
+      distribution.start();
+    }
+    // Group the providers by scan period, each group is refreshed on its own cadence
+    Map<Long, Set<ConfigurationProvider>> groups = new TreeMap<>();
+    for (ConfigurationProvider provider : providers) {
+      long period = provider.getScanPeriod() < 0 ? options.getScanPeriod() : provider.getScanPeriod();
+      if (period > 0) {
+        groups.computeIfAbsent(period, p -> new HashSet<>()).add(provider);
+      }
+    }
+    groups.forEach((period, group) -> {
+      // When every provider has the same period, refresh all of them
+      Set<ConfigurationProvider> refreshed = group.size() == providers.size() ? null : group;
+      scans.add(context.setPeriodic(period, l -> scan(refreshed)));
+    });
+
+    if (distribution == null) {
+      // Otherwise only the leader watches the stores
+      watchStores();
+    }
+  }
+
+  /**
+   * Starts watching the stores: the stores able to detect their changes, and the results arriving after the deadline
+   * of their store, trigger the retrieval of their own provider. The periodic scan is a fallback.
+   */
+  synchronized void watchStores() {
+    if (watching || closed) {
+      return;
+    }
+    watching = true;
+    for (ConfigurationProvider provider : providers) {
+      Set<ConfigurationProvider> refreshed = Collections.singleton(provider);
+      provider.getStore().watch(v -> context.runOnContext(x -> scan(refreshed)));
+      provider.setLateHandler(v -> context.runOnContext(x -> scan(refreshed)));
+    }
+  }
+
+  /**
+   * Stops watching the stores, when this retriever stops leading or is closed.
+   */
+  synchronized void unwatchStores() {
+    if (!watching) {
+      return;
+    }
+    watching = false;
+    for (ConfigurationProvider provider : providers) {
+      provider.getStore().unwatch();
+      provider.setLateHandler(null);
     }
   }
 
   @Override
   public Future<JsonObject> getConfig() {
-    return compute().onSuccess(result -> {
-      synchronized (this) {
-        current = result;
+    Future<Void> l = loading;
+    if (l != null && !l.isComplete()) {
+      // Serve the persisted configuration, or retrieve the stores, once it has been read
+      return l.compose(v -> getConfig());
+    }
+    Promise<JsonObject> promise = null;
+    Future<JsonObject> computation;
+    synchronized (this) {
+      if (restored) {
+        // Serve the persisted configuration immediately, the listeners are notified if the stores differ
+        restored = false;
+        refresh();
+        return context.succeededFuture(published.copy());
       }
-      streamOfConfiguration.handle(result);
-    });
+      long maxAge = options.getMaxConfigAge();
+      if (maxAge > 0 && published != null && retrievedAt != 0
+        && System.nanoTime() - retrievedAt <= TimeUnit.MILLISECONDS.toNanos(maxAge)) {
+        // Recent enough, do not retrieve the stores again
+        joinedConfigRequests++;
+        return context.succeededFuture(published.copy());
+      }
+      if (inFlight != null) {
+        // Join the computation in progress instead of retrieving the stores once more
+        joinedConfigRequests++;
+        computation = inFlight;
+      } else {
+        promise = context.promise();
+        computation = inFlight = promise.future();
+      }
+    }
+    if (promise != null) {
+      Promise<JsonObject> p = promise;
+      long[] sequence = {nextComputation()};
+      Future<JsonObject> retrieval = distribution != null ? distribution.retrieve(() -> {
+        // Retrieved locally once the election is over, possibly after some scans
+        sequence[0] = nextComputation();
+        return compute(null, sequence[0]);
+      }) : compute(null, sequence[0]);
+      retrieval.map(result -> publish(result, sequence[0])).onComplete(ar -> {
+        synchronized (this) {
+          inFlight = null;
+        }
+        p.handle(ar);
+      });
+    }
+    // Each caller gets its own copy
+    return computation.map(JsonObject::copy);
+  }
+
+  /**
+   * @return the number of a new computation, greater than the number of the computations started before
+   */
+  private synchronized long nextComputation() {
+    return ++computations;
+  }
+
+  private JsonObject publish(JsonObject result, long sequence) {
+    boolean changed;
+    synchronized (this) {
+      if (sequence < appliedComputation) {
+        // A more recent configuration has been applied in the meantime, return it instead
+        return published;
+      }
+      appliedComputation = sequence;
+      published = result;
+      retrievedAt = System.nanoTime();
+      JsonObject last = snapshot.unwrap();
+      changed = result != last && !result.equals(last);
+      if (changed) {
+        snapshot = new ConfigSnapshotImpl(result, ++version);
+      }
+    }
+    if (changed) {
+      firePublication();
+    }
+    broadcast(result);
+    return result;
+  }
+
+  /**
+   * @return the number of {@link #getConfig()} calls that have not retrieved the stores, because they joined a
+   * retrieval in progress or because the last configuration was recent enough
+   */
+  public synchronized long getJoinedConfigRequests() {
+    return joinedConfigRequests;
+  }
+
+  @Override
+  public synchronized JsonObject getStatistics() {
+    JsonArray stores = new JsonArray();
+    for (ConfigurationProvider provider : providers) {
+      stores.add(new JsonObject()
+        .put("type", provider.getType())
+        .put("cacheHits", provider.getCacheHits())
+        .put("cacheMisses", provider.getCacheMisses())
+        .put("staleServes", provider.getStaleServes())
+        .put("circuitState", provider.getCircuitState().name())
+        .put("consecutiveFailures", provider.getConsecutiveFailures())
+        .put("circuitOpenings", provider.getCircuitOpenings()));
+    }
+    JsonObject json = new JsonObject()
+      .put("version", version)
+      .put("coalescedScans", coalescedScans)
+      .put("joinedConfigRequests", joinedConfigRequests)
+      .put("stores", stores);
+    if (metrics != null) {
+      json.put("metrics", metrics.toJson());
+    }
+    return json;
   }
 
   @Override
   public synchronized Future<Void> close() {
-    if (scan != -1) {
+    closed = true;
+    if (distribution != null) {
+      distribution.close();
+    }
+    for (long scan : scans) {
       context.owner().cancelTimer(scan);
     }
 
-    streamOfConfiguration.close();
+    for (ConfigStreamImpl stream : streams) {
+      stream.close();
+    }
 
+    unwatchStores();
     for (ConfigurationProvider provider : providers) {
       provider.close();
     }
 
+    if (metrics != null) {
+      metrics.close();
+    }
+
     return context.owner().getOrCreateContext().succeededFuture();
   }
 
   @Override
-  public synchronized JsonObject getCachedConfig() {
-    return current.copy();
+  public JsonObject getCachedConfig() {
+    return snapshot.toJson();
   }
 
   @Override
-  public synchronized void listen(Handler<ConfigChange> listener) {
+  public ConfigSnapshot getSnapshot() {
+    return snapshot;
+  }
+
+  /**
+   * Registers a handler called every time a new snapshot is published, before the listeners are notified.
+   *
+   * @param handler the handler, receiving the new snapshot
+   */
+  public void addPublicationHandler(Handler<ConfigSnapshot> handler) {
+    publicationHandlers.add(Objects.requireNonNull(handler));
+  }
+
+  /**
+   * Unregisters a handler registered with {@link #addPublicationHandler(Handler)}.
+   *
+   * @param handler the handler
+   */
+  public void removePublicationHandler(Handler<ConfigSnapshot> handler) {
+    publicationHandlers.remove(handler);
+  }
+
+  private void firePublication() {
+    ConfigSnapshot last = snapshot;
+    for (Handler<ConfigSnapshot> handler : publicationHandlers) {
+      handler.handle(last);
+    }
+  }
+
+  @Override
+  public void listen(Handler<ConfigChange> listener) {
+    listen("", listener);
+  }
+
+  @Override
+  public synchronized void listen(String pathPrefix, Handler<ConfigChange> listener) {
     Objects.requireNonNull(listener);
-    listeners.add(listener);
+    listeners.add(ConfigPath.parse(pathPrefix), new Listener(listenerCount++, listener));
   }
 
   @Override
@@ -214,6 +510,9 @@ public class ConfigRetrieverImpl implements ConfigRetriever {
   @Override
   public synchronized ConfigRetriever setConfigurationProcessor(Function<JsonObject, JsonObject> processor) {
     this.processor = Objects.requireNonNull(processor, "The processor must not be `null`");
+    // The last merged configuration has not been processed with this processor
+    this.lastMerged = null;
+    this.retrievedAt = 0;
     return this;
   }
 
@@ -222,49 +521,318 @@ public class ConfigRetrieverImpl implements ConfigRetriever {
     return streamOfConfiguration;
   }
 
-  private void scan() {
+  @Override
+  public ReadStream<JsonObject> newConfigStream() {
+    ConfigStreamImpl stream = new ConfigStreamImpl(true);
+    streams.add(stream);
+    return stream;
+  }
+
+  private void scan(Set<ConfigurationProvider> refreshed) {
+    Future<Void> l = loading;
+    if (l != null && !l.isComplete()) {
+      // The persisted configuration is the base of the first scan
+      l.onComplete(v -> scan(refreshed));
+      return;
+    }
     Handler<Void> h;
+    long sequence;
     synchronized (this) {
+      if (closed) {
+        return;
+      }
+      if (distribution != null && !distribution.isLeader()) {
+        // The configuration is received from the leader
+        return;
+      }
+      if (scanning) {
+        // Single-flight, the scans requested in the meantime are coalesced into one follow-up scan
+        coalescedScans++;
+        if (!scanPending) {
+          scanPending = true;
+          pendingRefresh = refreshed == null ? null : new HashSet<>(refreshed);
+        } else if (pendingRefresh != null) {
+          if (refreshed == null) {
+            pendingRefresh = null;
+          } else {
+            pendingRefresh.addAll(refreshed);
+          }
+        }
+        return;
+      }
+      scanning = true;
       h = this.beforeScan;
+      sequence = ++computations;
     }
     if (h != null) {
-      h.handle(null);
-    }
-    compute().onFailure(throwable -> {
-      streamOfConfiguration.fail(throwable);
-      LOGGER.error("Error while scanning configuration", throwable);
-    }).onSuccess(result -> {
-      JsonObject prev;
-      List<Handler<ConfigChange>> handlers;
+      try {
+        h.handle(null);
+      } catch (RuntimeException e) {
+        scanCompleted();
+        throw e;
+      }
+    }
+    Object event = ConfigEvents.beginScan(refreshed == null ? providers.size() : refreshed.size());
+    Future<JsonObject> computation = compute(refreshed, sequence);
+    if (computation.isComplete()) {
+      // The stores answered synchronously, typically because nothing changed
+      scanned(computation, refreshed == null, sequence, event);
+    } else {
+      computation.onComplete(ar -> scanned(ar, refreshed == null, sequence, event));
+    }
+  }
+
+  private void scanned(AsyncResult<JsonObject> ar, boolean full, long sequence, Object event) {
+    String outcome = ConfigEvents.FAILED;
+    try {
+      if (ar.failed()) {
+        for (ConfigStreamImpl stream : streams) {
+          stream.fail(ar.cause());
+        }
+        LOGGER.error("Error while scanning configuration", ar.cause());
+      } else {
+        boolean changed = applyScanResult(ar.result(), full, sequence);
+        outcome = changed ? ConfigEvents.CHANGED : ConfigEvents.UNCHANGED;
+      }
+    } finally {
+      ConfigEvents.endScan(event, outcome);
+      scanCompleted();
+    }
+  }
+
+  /**
+   * @return whether the configuration changed
+   */
+  private boolean applyScanResult(JsonObject result, boolean full, long sequence) {
+    JsonObject prev;
+    ConfigChange diff;
+    List<Handler<ConfigChange>> handlers;
+    synchronized (this) {
+      if (sequence < appliedComputation) {
+        // A getConfig() started after this computation has already applied a more recent configuration
+        if (metrics != null) {
+          metrics.scanCompleted(false);
+        }
+        return false;
+      }
+      appliedComputation = sequence;
+      if (full) {
+        retrievedAt = System.nanoTime();
+      }
+      // Check for changes, the merged configuration is reused as long as the store contents are not modified, and
+      // shares its unchanged subtrees with the previous one otherwise, so the comparison skips them
+      long start = metrics != null ? System.nanoTime() : 0;
+      prev = published != null ? published : snapshot.unwrap();
+      diff = result != published ? new ConfigChange(prev, result) : null;
+      // Computed once here, and shared by the listeners
+      boolean changed = diff != null && !diff.getChangedPaths().isEmpty();
+      if (metrics != null) {
+        if (diff != null) {
+          metrics.configurationCompared(System.nanoTime() - start);
+        }
+        metrics.scanCompleted(changed);
+      }
+      if (changed) {
+        published = result;
+        snapshot = new ConfigSnapshotImpl(result, ++version);
+        // Only wake up the listeners whose subtree changed, in registration order
+        Set<Listener> matching = new TreeSet<>();
+        for (String pointer : diff.getChangedPaths()) {
+          listeners.collect(ConfigPath.parsePointer(pointer), matching);
+        }
+        handlers = new ArrayList<>(matching.size());
+        for (Listener listener : matching) {
+          handlers.add(listener.handler);
+        }
+      } else {
+        // Same content, keep the new instance so the next scans can compare by reference
+        published = result;
+        handlers = null;
+      }
+    }
+    if (handlers != null) {
+      firePublication();
+      long start = metrics != null ? System.nanoTime() : 0;
+      if (!handlers.isEmpty()) {
+        // The shared configurations are not given to the listeners, they are copied when a listener asks for them
+        SharedConfigChange.Configurations configurations = new SharedConfigChange.Configurations(prev, result,
+          listenerCopies);
+        handlers.forEach(changeHandler ->
+          ConfigEvents.notify(changeHandler, new SharedConfigChange(configurations, diff)));
+      }
+      if (metrics != null) {
+        metrics.listenersNotified(handlers.size(), System.nanoTime() - start);
+      }
+      broadcast(result);
+    }
+    return handlers != null;
+  }
+
+  private void broadcast(JsonObject conf) {
+    for (ConfigStreamImpl stream : streams) {
+      stream.handle(conf);
+    }
+  }
+
+  /**
+   * @return the last computed configuration, must not be modified, {@code null} if none
+   */
+  synchronized JsonObject published() {
+    return published;
+  }
+
+  /**
+   * Publishes a configuration received from another retriever, notifying the listeners if it changed.
+   *
+   * @param config the configuration, must not be modified afterwards
+   */
+  void applyRemote(JsonObject config) {
+    applyScanResult(config, true, nextComputation());
+  }
+
+  /**
+   * Schedules a scan of all the stores.
+   */
+  void refresh() {
+    context.runOnContext(v -> scan(null));
+  }
+
+  private void scanCompleted() {
+    Set<ConfigurationProvider> next;
+    synchronized (this) {
+      scanning = false;
+      if (!scanPending) {
+        return;
+      }
+      scanPending = false;
+      next = pendingRefresh;
+      pendingRefresh = null;
+    }
+    scan(next);
+  }
+
+  /**
+   * @return the number of scans that have been requested (by the periodic timers or by stores reporting a change)
+   * while a scan was in progress, and that have been coalesced into a single follow-up scan
+   */
+  public synchronized long getCoalescedScans() {
+    return coalescedScans;
+  }
+
+  /**
+   * Computes the configuration.
+   *
+   * @param refreshed the providers to retrieve, {@code null} to retrieve all of them. The last result of the other
+   *                  providers is reused.
+   * @param sequence  the number of this computation, see {@link #nextComputation()}
+   * @return the merged configuration
+   */
+  private Future<JsonObject> compute(Set<ConfigurationProvider> refreshed, long sequence) {
+    JsonObject[] last;
+    Future<JsonObject> unchanged;
+    synchronized (this) {
+      last = lastInputs;
+      unchanged = lastMerged;
+    }
+    boolean retrieved = last != null;
+    // Only allocated once a provider returns a new result, or a result that is not available yet
+    List<Future<JsonObject>> futures = null;
+    for (int i = 0; i < providers.size(); i++) {
+      ConfigurationProvider provider = providers.get(i);
+      Future<JsonObject> future = refreshed == null || !retrieved || refreshed.contains(provider)
+        ? provider.get(context.owner()) : null;
+      if (futures == null) {
+        if (unchanged != null && (future == null || future.succeeded() && future.result() == last[i])) {
+          continue;
+        }
+        futures = new ArrayList<>(providers.size());
+        for (int j = 0; j < i; j++) {
+          // Same result as the last time, use the last result of the provider
+          futures.add(null);
+        }
+      }
+      futures.add(future);
+    }
+    if (futures == null) {
+      // None of the stores has been modified, skip the merge
+      return unchanged;
+    }
+    List<Future<JsonObject>> all = futures;
+    List<Future<JsonObject>> pending = new ArrayList<>(all.size());
+    for (Future<JsonObject> future : all) {
+      if (future != null) {
+        pending.add(future);
+      }
+    }
+
+    return context.succeededFuture().compose(v -> Future.all(pending).map(compositeFuture -> {
+      JsonObject[] inputs = new JsonObject[all.size()];
+      JsonObject[] previousInputs;
+      JsonObject previousLayers;
+      Function<JsonObject, JsonObject> p;
       synchronized (this) {
-        // Check for changes
-        if (!current.equals(result)) {
-          prev = current;
-          current = result;
-          handlers = !listeners.isEmpty() ? new ArrayList<>(listeners) : Collections.emptyList();
-        } else {
-          prev = null;
-          handlers = null;
+        for (int i = 0; i < inputs.length; i++) {
+          Future<JsonObject> future = all.get(i);
+          // Not retrieved, use the last result of the provider
+          inputs[i] = future != null ? future.result() : lastInputs[i];
+        }
+        if (lastMerged != null && sameInputs(lastInputs, inputs)) {
+          // None of the stores has been modified, skip the merge
+          return lastMerged.result();
         }
+        previousInputs = lastInputs;
+        previousLayers = lastLayers;
+        p = processor;
       }
-      if (handlers != null) {
-        handlers.forEach(changeHandler -> changeHandler.handle(new ConfigChange(prev, result)));
-        streamOfConfiguration.handle(result);
+      // Merge the different futures, only the entries of the modified stores are merged again. The provider results
+      // are reused across computations and are not altered by the merge.
+      long start = metrics != null ? System.nanoTime() : 0;
+      JsonObject json = previousLayers != null && previousInputs.length == inputs.length
+        ? ConfigLayers.merge(previousLayers, previousInputs, inputs) : ConfigLayers.merge(inputs);
+      if (metrics != null) {
+        metrics.configurationMerged(inputs.length, System.nanoTime() - start);
       }
-    });
+      // The merged configuration shares its unchanged entries with the previous one, the processor gets its own copy
+      JsonObject merged = p != null ? p.apply(json.copy()) : json;
+      synchronized (this) {
+        if (sequence < mergedComputation) {
+          // A more recent computation has completed in the meantime, keep its inputs
+          return merged;
+        }
+        mergedComputation = sequence;
+        lastInputs = inputs;
+        lastLayers = json;
+        lastMerged = context.succeededFuture(merged);
+      }
+      if (persistence != null) {
+        persist(merged);
+      }
+      return merged;
+    }));
   }
 
-  private Future<JsonObject> compute() {
-    List<Future<JsonObject>> futures = providers.stream()
-      .map(s -> s.get(context.owner()))
-      .collect(Collectors.toList());
+  private void persist(JsonObject merged) {
+    String[] versions = new String[providers.size()];
+    JsonObject[] configs = new JsonObject[providers.size()];
+    for (int i = 0; i < versions.length; i++) {
+      ConfigurationProvider provider = providers.get(i);
+      versions[i] = provider.getVersion();
+      // Optional stores failing keep their last known good configuration
+      configs[i] = provider.getLastKnownGood();
+    }
+    persistence.save(storeIds, versions, configs, merged);
+  }
 
-    return context.succeededFuture().compose(v -> Future.all(futures).map(compositeFuture -> {
-      // Merge the different futures
-      JsonObject json = new JsonObject();
-      futures.forEach(future -> json.mergeIn((JsonObject) future.result(), true));
-      return json;
-    }).map(json -> processor != null ? processor.apply(json) : json));
+  private static boolean sameInputs(JsonObject[] previous, JsonObject[] inputs) {
+    if (previous == null || previous.length != inputs.length) {
+      return false;
+    }
+    for (int i = 0; i < inputs.length; i++) {
+      if (previous[i] != inputs[i]) {
+        return false;
+      }
+    }
+    return true;
   }
 
   /**
@@ -274,15 +842,59 @@ public class ConfigRetrieverImpl implements ConfigRetriever {
       return Collections.unmodifiableList(providers);
   }
 
+  /**
+   * @return the distribution of the configuration in the cluster, {@code null} if disabled. For introspection purpose.
+   */
+  public ConfigDistribution getDistribution() {
+    return distribution;
+  }
+
+  /**
+   * @return the number of configurations copied for the listeners, a listener only checking the changed paths causes
+   * no copy. For introspection purpose.
+   */
+  public long getListenerCopies() {
+    return listenerCopies.get();
+  }
+
+  private static final class Listener implements Comparable<Listener> {
+
+    private final long order;
+    private final Handler<ConfigChange> handler;
+
+    private Listener(long order, Handler<ConfigChange> handler) {
+      this.order = order;
+      this.handler = handler;
+    }
+
+    @Override
+    public int compareTo(Listener other) {
+      return Long.compare(order, other.order);
+    }
+  }
+
+  /**
+   * A stream of configurations. Each stream has its own handlers and demand, a paused stream only keeps the last
+   * configuration. Publishing to a stream only stores or schedules the (immutable) configuration, it is copied when
+   * delivered.
+   */
   private class ConfigStreamImpl implements ReadStream<JsonObject> {
 
+    // Whether the stream is an independent subscription, removed when its handler is unset
+    private final boolean subscription;
     private Handler<JsonObject> handler;
     private Handler<Throwable> exceptionHandler;
     private Handler<Void> endHandler;
+    // The context the handlers are called on
+    private Context ctx = context;
 
     private JsonObject last;
     private long demand = Long.MAX_VALUE;
 
+    private ConfigStreamImpl(boolean subscription) {
+      this.subscription = subscription;
+    }
+
     @Override
     public synchronized ReadStream<JsonObject> exceptionHandler(Handler<Throwable> handler) {
       Objects.requireNonNull(handler);
@@ -292,15 +904,33 @@ public class ConfigRetrieverImpl implements ConfigRetriever {
 
     @Override
     public ReadStream<JsonObject> handler(Handler<JsonObject> handler) {
+      if (handler == null && subscription) {
+        streams.remove(this);
+        synchronized (this) {
+          this.handler = null;
+          last = null;
+        }
+        return this;
+      }
       Objects.requireNonNull(handler);
       JsonObject conf;
+      Context target;
       synchronized (this) {
         this.handler = handler;
+        if (subscription) {
+          // Deliver on the context of the subscriber, so a slow subscriber does not delay the others
+          Context current = Vertx.currentContext();
+          ctx = current != null ? current : context;
+        }
+        target = ctx;
         conf = getCachedConfig();
       }
+      if (subscription) {
+        streams.addIfAbsent(this);
+      }
 
       if (conf != null && !conf.isEmpty()) {
-        context.runOnContext(v -> this.handler.handle(conf));
+        target.runOnContext(v -> handler.handle(conf));
       }
 
       return this;
@@ -344,7 +974,7 @@ public class ConfigRetrieverImpl implements ConfigRetriever {
           demand--;
         }
         if (succ != null) {
-          context.runOnContext(v -> succ.handle(conf));
+          ctx.runOnContext(v -> succ.handle(conf.copy()));
         }
       }
     }
@@ -356,6 +986,9 @@ public class ConfigRetrieverImpl implements ConfigRetriever {
       return this;
     }
 
+    /**
+     * @param conf the new configuration, must not be modified
+     */
     synchronized void handle(JsonObject conf) {
       Handler<JsonObject> succ = handler;
       boolean isPaused = demand == 0;
@@ -366,30 +999,34 @@ public class ConfigRetrieverImpl implements ConfigRetriever {
       }
 
       if (!isPaused && succ != null) {
-        context.runOnContext(v -> succ.handle(conf));
+        ctx.runOnContext(v -> succ.handle(conf.copy()));
       }
 
     }
 
     void fail(Throwable cause) {
       Handler<Throwable> err;
+      Context target;
       synchronized (this) {
         err = exceptionHandler;
+        target = ctx;
       }
 
       if (err != null) {
-        context.runOnContext(v -> err.handle(cause));
+        target.runOnContext(v -> err.handle(cause));
       }
 
     }
 
     void close() {
       Handler<Void> handler;
+      Context target;
       synchronized (this) {
         handler = endHandler;
+        target = ctx;
       }
       if (handler != null) {
-        context.runOnContext(v -> handler.handle(null));
+        target.runOnContext(v -> handler.handle(null));
       }
     }
   }
@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.vertx.config.impl;
+
+import io.vertx.config.ConfigSnapshot;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Implementation of {@link ConfigSnapshot} wrapping a configuration that is never modified once published.
+ */
+public final class ConfigSnapshotImpl implements ConfigSnapshot {
+
+  /**
+   * The snapshot published before the first retrieval of the configuration.
+   */
+  public static final ConfigSnapshotImpl EMPTY = new ConfigSnapshotImpl(new JsonObject(), 0);
+
+  // Must not be modified
+  private final JsonObject json;
+  private final long version;
+
+  public ConfigSnapshotImpl(JsonObject json, long version) {
+    this.json = Objects.requireNonNull(json);
+    this.version = version;
+  }
+
+  /**
+   * @return the wrapped configuration, it must not be modified
+   */
+  public JsonObject unwrap() {
+    return json;
+  }
+
+  @Override
+  public long version() {
+    return version;
+  }
+
+  @Override
+  public boolean containsKey(String path) {
+    return lookup(json, path, true) != ABSENT;
+  }
+
+  @Override
+  public String getString(String path) {
+    return (String) value(path);
+  }
+
+  @Override
+  public String getString(String path, String def) {
+    Object value = value(path);
+    return value != null ? (String) value : def;
+  }
+
+  @Override
+  public Integer getInteger(String path) {
+    Number number = (Number) value(path);
+    return number == null ? null : number instanceof Integer ? (Integer) number : number.intValue();
+  }
+
+  @Override
+  public Integer getInteger(String path, Integer def) {
+    Integer value = getInteger(path);
+    return value != null ? value : def;
+  }
+
+  @Override
+  public Long getLong(String path) {
+    Number number = (Number) value(path);
+    return number == null ? null : number instanceof Long ? (Long) number : number.longValue();
+  }
+
+  @Override
+  public Long getLong(String path, Long def) {
+    Long value = getLong(path);
+    return value != null ? value : def;
+  }
+
+  @Override
+  public Double getDouble(String path) {
+    Number number = (Number) value(path);
+    return number == null ? null : number instanceof Double ? (Double) number : number.doubleValue();
+  }
+
+  @Override
+  public Double getDouble(String path, Double def) {
+    Double value = getDouble(path);
+    return value != null ? value : def;
+  }
+
+  @Override
+  public Boolean getBoolean(String path) {
+    return (Boolean) value(path);
+  }
+
+  @Override
+  public Boolean getBoolean(String path, Boolean def) {
+    Boolean value = getBoolean(path);
+    return value != null ? value : def;
+  }
+
+  @Override
+  public ConfigSnapshot getSnapshot(String path) {
+    JsonObject value = (JsonObject) value(path);
+    return value != null ? new ConfigSnapshotImpl(value, version) : null;
+  }
+
+  @Override
+  public JsonArray getJsonArray(String path) {
+    JsonArray value = (JsonArray) value(path);
+    return value != null ? value.copy() : null;
+  }
+
+  @Override
+  public JsonObject toJson() {
+    return json.copy();
+  }
+
+  @Override
+  public String toString() {
+    return "ConfigSnapshot{version=" + version + ", config=" + json.encode() + "}";
+  }
+
+  /**
+   * Gets the value at a path parsed beforehand.
+   *
+   * @param path the path
+   * @return the value, {@code null} if none
+   */
+  public Object getValue(Path path) {
+    Object value = path.lookup(json);
+    return value != ABSENT ? value : null;
+  }
+
+  private Object value(String path) {
+    Object value = lookup(json, path, false);
+    return value != ABSENT ? value : null;
+  }
+
+  private static final Object ABSENT = new Object();
+
+  /**
+   * Looks the value at the given path up.
+   *
+   * @param json     the configuration
+   * @param path     the dotted path or JSON pointer
+   * @param presence whether the presence of the key is checked, otherwise {@code null} values are reported as absent
+   * @return the value, {@link #ABSENT} if none
+   */
+  static Object lookup(JsonObject json, String path, boolean presence) {
+    Objects.requireNonNull(path, "The path must not be `null`");
+    if (path.isEmpty()) {
+      return json;
+    }
+    if (path.charAt(0) == '/') {
+      List<String> tokens = ConfigPath.parsePointer(path);
+      Object current = json;
+      for (String token : tokens) {
+        if (!(current instanceof JsonObject)) {
+          return ABSENT;
+        }
+        current = get((JsonObject) current, token, presence);
+        if (current == ABSENT) {
+          return ABSENT;
+        }
+      }
+      return current;
+    }
+    JsonObject current = json;
+    int start = 0;
+    while (true) {
+      // Keys containing dots (such as system properties) take precedence
+      String remaining = start == 0 ? path : path.substring(start);
+      Object value = get(current, remaining, presence);
+      if (value != ABSENT) {
+        return value;
+      }
+      int index = path.indexOf('.', start);
+      if (index == -1) {
+        return ABSENT;
+      }
+      Object next = current.getValue(path.substring(start, index));
+      if (!(next instanceof JsonObject)) {
+        return ABSENT;
+      }
+      current = (JsonObject) next;
+      start = index + 1;
+    }
+  }
+
+  private static Object get(JsonObject json, String key, boolean presence) {
+    Object value = json.getValue(key);
+    if (value == null && (!presence || !json.containsKey(key))) {
+      return ABSENT;
+    }
+    return value;
+  }
+
+  /**
+   * A dotted path or JSON pointer parsed once, to look the same value up in successive snapshots without parsing the
+   * path again. The lookup follows the same rules as {@link #lookup(JsonObject, String, boolean)}.
+   */
+  public static final class Path {
+
+    // The tokens of a JSON pointer, null for a dotted path
+    private final List<String> tokens;
+    // For a dotted path: the segments between the dots, and the path remaining from each segment
+    private final String[] segments;
+    private final String[] remaining;
+
+    private Path(List<String> tokens, String[] segments, String[] remaining) {
+      this.tokens = tokens;
+      this.segments = segments;
+      this.remaining = remaining;
+    }
+
+    /**
+     * Parses a path.
+     *
+     * @param path the dotted path or JSON pointer, the empty string designates the whole configuration
+     * @return the parsed path
+     * @throws IllegalArgumentException if the path is not a valid JSON pointer
+     */
+    public static Path parse(String path) {
+      Objects.requireNonNull(path, "The path must not be `null`");
+      if (path.isEmpty()) {
+        return new Path(Collections.emptyList(), null, null);
+      }
+      if (path.charAt(0) == '/') {
+        return new Path(ConfigPath.parsePointer(path), null, null);
+      }
+      List<String> segments = new ArrayList<>();
+      List<String> remaining = new ArrayList<>();
+      int start = 0;
+      while (true) {
+        remaining.add(path.substring(start));
+        int index = path.indexOf('.', start);
+        if (index == -1) {
+          segments.add(path.substring(start));
+          break;
+        }
+        segments.add(path.substring(start, index));
+        start = index + 1;
+      }
+      return new Path(null, segments.toArray(new String[0]), remaining.toArray(new String[0]));
+    }
+
+    private Object lookup(JsonObject json) {
+      if (tokens != null) {
+        Object current = json;
+        for (String token : tokens) {
+          if (!(current instanceof JsonObject)) {
+            return ABSENT;
+          }
+          current = get((JsonObject) current, token, false);
+          if (current == ABSENT) {
+            return ABSENT;
+          }
+        }
+        return current;
+      }
+      JsonObject current = json;
+      for (int i = 0; ; i++) {
+        // Keys containing dots (such as system properties) take precedence
+        Object value = get(current, remaining[i], false);
+        if (value != ABSENT || i == segments.length - 1) {
+          return value;
+        }
+        Object next = current.getValue(segments[i]);
+        if (!(next instanceof JsonObject)) {
+          return ABSENT;
+        }
+        current = (JsonObject) next;
+      }
+    }
+  }
+}
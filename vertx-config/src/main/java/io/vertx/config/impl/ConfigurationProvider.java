@@ -17,14 +17,26 @@
 
 package io.vertx.config.impl;
 
+import io.vertx.config.ConfigStoreOptions;
+import io.vertx.config.impl.spi.JsonProcessor;
 import io.vertx.config.spi.ConfigProcessor;
+import io.vertx.config.spi.ConfigRetrieverMetrics;
 import io.vertx.config.spi.ConfigStore;
+import io.vertx.config.spi.VersionedContent;
+import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.internal.logging.Logger;
 import io.vertx.core.internal.logging.LoggerFactory;
 import io.vertx.core.json.JsonObject;
 
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * A configuration provider retrieve the configuration from a store and transform it to Json.
  *
@@ -38,45 +50,413 @@ public class ConfigurationProvider {
 
   private final ConfigStore store;
 
+  private final String type;
+
   private final ConfigProcessor processor;
 
   private final Logger logger;
 
+  private final JsonObject empty = new JsonObject();
+
+  private volatile Processed last;
+
+  // The persisted configuration, used when an optional store fails before its first successful retrieval
+  private volatile JsonObject fallback;
+
+  private volatile boolean retrieved;
+
+  private final AtomicLong cacheHits = new AtomicLong();
+
+  private final AtomicLong cacheMisses = new AtomicLong();
+
+  private final long scanPeriod;
+
+  private final long fetchDeadline;
+
+  // The retrieval still running after its deadline, joined by the next retrievals
+  private Future<JsonObject> fetching;
+
+  // The result of a retrieval completed after its deadline, returned by the next retrieval
+  private JsonObject late;
+
+  private volatile Handler<Void> lateHandler;
+
+  private final AtomicLong staleServes = new AtomicLong();
+
+  private final int breakerThreshold;
+  private final long breakerBackoff;
+  private final long breakerMaxBackoff;
+  // Circuit breaker state
+  private int failures;
+  private long backoff;
+  // When the store can be called again (System.nanoTime()), meaningful when the circuit is not closed
+  private long openUntil;
+  private long openings;
+  // Whether the trial retrieval of the half-open circuit is in progress
+  private boolean probing;
+
+  private volatile ConfigRetrieverMetrics metrics;
+
   public ConfigurationProvider(ConfigStore store, ConfigProcessor processor, JsonObject config, boolean optional) {
+    this(store, processor, config, optional, ConfigStoreOptions.DEFAULT_SCAN_PERIOD);
+  }
+
+  public ConfigurationProvider(ConfigStore store, ConfigProcessor processor, JsonObject config, boolean optional,
+                               long scanPeriod) {
+    this(store, processor, new ConfigStoreOptions().setConfig(config).setOptional(optional).setScanPeriod(scanPeriod));
+  }
+
+  public ConfigurationProvider(ConfigStore store, ConfigProcessor processor, ConfigStoreOptions options) {
     this.store = store;
+    this.type = options.getType();
+    this.scanPeriod = options.getScanPeriod();
+    this.fetchDeadline = options.getFetchDeadline();
     this.processor = processor;
-    this.optional = optional;
-    if (config == null) {
+    this.optional = options.isOptional();
+    this.breakerThreshold = options.getCircuitBreakerThreshold();
+    this.breakerBackoff = options.getCircuitBreakerBackoff();
+    this.breakerMaxBackoff = Math.max(options.getCircuitBreakerMaxBackoff(), breakerBackoff);
+    if (options.getConfig() == null) {
       this.configuration = new JsonObject();
     } else {
-      this.configuration = config;
+      this.configuration = options.getConfig();
     }
     this.logger = LoggerFactory.getLogger("ConfigurationProvider#" + store);
   }
 
   Future<JsonObject> get(Vertx vertx) {
-    return store.get()
+    if (fetchDeadline <= 0) {
+      return fetch(vertx);
+    }
+    Future<JsonObject> future;
+    synchronized (this) {
+      if (late != null) {
+        JsonObject json = late;
+        late = null;
+        return Future.succeededFuture(json);
+      }
+      if (fetching == null) {
+        fetching = fetch(vertx);
+      }
+      future = fetching;
+    }
+    if (future.isComplete()) {
+      fetched(future);
+      return future;
+    }
+    JsonObject stale = getLastKnownGood();
+    if (stale == null) {
+      // Nothing to serve in the meantime
+      return future.onComplete(ar -> fetched(future));
+    }
+    Promise<JsonObject> promise = Promise.promise();
+    long timer = vertx.setTimer(fetchDeadline, l -> {
+      if (promise.tryComplete(stale)) {
+        staleServes.incrementAndGet();
+        if (logger.isDebugEnabled()) {
+          logger.debug("The store missed its deadline, using its last configuration");
+        }
+      }
+    });
+    future.onComplete(ar -> {
+      fetched(future);
+      vertx.cancelTimer(timer);
+      boolean inTime = ar.succeeded() ? promise.tryComplete(ar.result()) : promise.tryFail(ar.cause());
+      if (!inTime) {
+        if (ar.failed()) {
+          logger.warn("Unable to retrieve the configuration after the deadline", ar.cause());
+          return;
+        }
+        synchronized (this) {
+          late = ar.result();
+        }
+        Handler<Void> handler = lateHandler;
+        if (handler != null) {
+          handler.handle(null);
+        }
+      }
+    });
+    return promise.future();
+  }
+
+  private synchronized void fetched(Future<JsonObject> future) {
+    if (fetching == future) {
+      fetching = null;
+    }
+  }
+
+  /**
+   * Sets the handler called when a retrieval completes after its deadline. The next retrieval returns its result.
+   *
+   * @param handler the handler
+   */
+  void setLateHandler(Handler<Void> handler) {
+    this.lateHandler = handler;
+  }
+
+  /**
+   * Sets the metrics receiving the durations of the retrievals and of the processing of this store.
+   *
+   * @param metrics the metrics, {@code null} if disabled
+   */
+  void setMetrics(ConfigRetrieverMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  private Future<JsonObject> fetch(Vertx vertx) {
+    if (breakerThreshold > 0 && !admit()) {
+      // Do not wait for the failure of the store
+      ConfigEvents.endFetch(ConfigEvents.beginFetch(type), ConfigEvents.SKIPPED, 0);
+      return optional ? Future.succeededFuture(valueOnFailure())
+        : Future.failedFuture(new IllegalStateException("The circuit breaker of the store is open"));
+    }
+    Processed previous = last;
+    ConfigRetrieverMetrics m = metrics;
+    long start = m != null ? System.nanoTime() : 0;
+    Object event = ConfigEvents.beginFetch(type);
+    Future<VersionedContent> retrieval = store.get(previous != null ? previous.version : null);
+    if (previous != null && retrieval.succeeded() && !retrieval.result().isModified()) {
+      // Steady state, the store reported synchronously that nothing changed: reuse the previous result without
+      // chaining futures
+      record(retrieval, event, m, start);
+      retrieved = true;
+      return previous.future;
+    }
+    return retrieval
+      .onComplete(ar -> record(ar, event, m, start))
       .onFailure(throwable -> {
         if (optional && logger.isDebugEnabled()) {
           logger.debug("Unable to retrieve the configuration", throwable);
         }
       })
-      .flatMap(maybeBuffer -> {
-        return processor.process(vertx, configuration, maybeBuffer)
+      .flatMap(content -> {
+        if (!content.isModified()) {
+          if (previous == null) {
+            return Future.failedFuture(new IllegalStateException("The store reported an unmodified content, " +
+              "but no content has been retrieved yet"));
+          }
+          // Same content as last time, reuse the configuration computed from it
+          return previous.future;
+        }
+        JsonObject structured = content.getJson();
+        if (structured != null && processor instanceof JsonProcessor) {
+          // The store built the configuration, skip the encoding and the parsing
+          return Future.succeededFuture(structured(previous, content.getVersion(), structured));
+        }
+        Buffer input = content.getContent();
+        boolean cacheable = processor.isCacheable(configuration, input);
+        long hash = cacheable ? XxHash64.hash(input) : 0;
+        if (cacheable) {
+          if (previous != null && previous.matches(hash, input.length())) {
+            // The store returned the same content again, skip the processing
+            cacheHits.incrementAndGet();
+            if (!Objects.equals(previous.version, content.getVersion())) {
+              last = new Processed(content.getVersion(), true, hash, input.length(), previous.json);
+            }
+            return previous.future;
+          }
+          cacheMisses.incrementAndGet();
+        }
+        long processing = m != null ? System.nanoTime() : 0;
+        return ConfigEvents.process(processor, vertx, configuration, input)
+          .onComplete(ar -> {
+            if (m != null) {
+              m.contentProcessed(processor.name(), System.nanoTime() - processing, ar.succeeded());
+            }
+          })
           .onFailure(throwable -> {
             if (optional) {
               if (logger.isDebugEnabled()) {
                 logger.debug("Failure caught when processing the configuration", throwable);
               }
             }
+          })
+          .map(json -> {
+            last = new Processed(content.getVersion(), cacheable, hash, input.length(), json);
+            return json;
           });
-      }).recover(throwable -> optional ? Future.succeededFuture(new JsonObject()) : Future.failedFuture(throwable));
+      })
+      .onSuccess(json -> retrieved = true)
+      .recover(throwable -> {
+        if (!optional) {
+          return Future.failedFuture(throwable);
+        }
+        return Future.succeededFuture(valueOnFailure());
+      });
+  }
+
+  private JsonObject structured(Processed previous, String version, JsonObject json) {
+    if (previous != null && previous.json.equals(json)) {
+      // Same configuration again, keep the previous instance so the retriever can compare by reference
+      cacheHits.incrementAndGet();
+      if (!Objects.equals(previous.version, version)) {
+        last = new Processed(version, false, 0, 0, previous.json);
+      }
+      return previous.json;
+    }
+    last = new Processed(version, false, 0, 0, json);
+    return json;
+  }
+
+  private void record(AsyncResult<VersionedContent> ar, Object event, ConfigRetrieverMetrics m, long start) {
+    if (event != null) {
+      boolean modified = ar.succeeded() && ar.result().isModified();
+      ConfigEvents.endFetch(event,
+        ar.failed() ? ConfigEvents.FAILED : modified ? ConfigEvents.MODIFIED : ConfigEvents.NOT_MODIFIED,
+        size(ar));
+    }
+    if (breakerThreshold > 0) {
+      attempted(ar.succeeded());
+    }
+    if (m != null) {
+      m.storeFetched(type, System.nanoTime() - start, size(ar), ar.succeeded());
+    }
+  }
+
+  private static long size(AsyncResult<VersionedContent> ar) {
+    if (ar.failed() || !ar.result().isModified() || ar.result().getJson() != null) {
+      // A JSON object returned by the store is not encoded just to be measured
+      return 0;
+    }
+    return ar.result().getContent().length();
+  }
+
+  private JsonObject valueOnFailure() {
+    JsonObject persisted = fallback;
+    if (!retrieved && persisted != null) {
+      return persisted;
+    }
+    Processed processed = last;
+    if (breakerThreshold > 0 && processed != null) {
+      return processed.json;
+    }
+    return empty;
+  }
+
+  /**
+   * @return whether the store can be called: always when the circuit is closed, only for a single trial retrieval at
+   * a time when it is half-open
+   */
+  private synchronized boolean admit() {
+    if (failures < breakerThreshold) {
+      return true;
+    }
+    if (probing || System.nanoTime() - openUntil < 0) {
+      return false;
+    }
+    probing = true;
+    return true;
+  }
+
+  private synchronized void attempted(boolean succeeded) {
+    probing = false;
+    if (succeeded) {
+      failures = 0;
+      backoff = 0;
+      return;
+    }
+    failures++;
+    if (failures >= breakerThreshold) {
+      // Opens, or opens again after a failed attempt with a longer backoff
+      backoff = backoff == 0 ? breakerBackoff : Math.min(backoff * 2, breakerMaxBackoff);
+      openUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoff);
+      openings++;
+      logger.warn("Circuit breaker opened after " + failures + " failures, the store is skipped for " + backoff
+        + " ms");
+    }
+  }
+
+  /**
+   * The state of the circuit breaker of a store.
+   */
+  public enum CircuitState {
+    /**
+     * The store is called.
+     */
+    CLOSED,
+    /**
+     * The store failed too many times, it is not called.
+     */
+    OPEN,
+    /**
+     * The backoff elapsed, the next retrieval calls the store again. The other retrievals skip the store until this
+     * trial completes.
+     */
+    HALF_OPEN
+  }
+
+  /**
+   * @return the state of the circuit breaker, always {@link CircuitState#CLOSED} when disabled
+   */
+  public synchronized CircuitState getCircuitState() {
+    if (breakerThreshold <= 0 || failures < breakerThreshold) {
+      return CircuitState.CLOSED;
+    }
+    return System.nanoTime() - openUntil < 0 ? CircuitState.OPEN : CircuitState.HALF_OPEN;
+  }
+
+  /**
+   * @return the number of consecutive failures of the store
+   */
+  public synchronized int getConsecutiveFailures() {
+    return failures;
+  }
+
+  /**
+   * @return the time the store is skipped for when the circuit breaker opens, in ms, {@code 0} when it is closed
+   */
+  public synchronized long getCircuitBackoff() {
+    return backoff;
+  }
+
+  /**
+   * @return the number of times the circuit breaker opened
+   */
+  public synchronized long getCircuitOpenings() {
+    return openings;
+  }
+
+  /**
+   * Restores the configuration persisted for this store, used as the previous content (so the store can report it
+   * as not modified) and, for optional stores, as a fallback until the store is retrieved successfully.
+   *
+   * @param version the version of the persisted content, may be {@code null}
+   * @param json    the configuration computed from the persisted content, must not be modified
+   */
+  void restore(String version, JsonObject json) {
+    fallback = json;
+    if (version != null && last == null) {
+      last = new Processed(version, false, 0, 0, json);
+    }
+  }
+
+  /**
+   * @return the version of the last retrieved content, {@code null} if unknown
+   */
+  String getVersion() {
+    Processed processed = last;
+    return processed != null ? processed.version : null;
+  }
+
+  /**
+   * @return the configuration computed from the last retrieved content, or the restored one, {@code null} if none
+   */
+  JsonObject getLastKnownGood() {
+    Processed processed = last;
+    return processed != null ? processed.json : fallback;
   }
 
   void close() {
     store.close();
   }
 
+  /**
+   * @return the type of the store, {@code null} if unknown
+   */
+  public String getType() {
+    return type;
+  }
+
   public ConfigStore getStore() {
     return store;
   }
@@ -84,4 +464,69 @@ public class ConfigurationProvider {
   public ConfigProcessor getProcessor() {
     return processor;
   }
+
+  /**
+   * @return the scan period of the store, see {@link ConfigStoreOptions#getScanPeriod()}
+   */
+  public long getScanPeriod() {
+    return scanPeriod;
+  }
+
+  /**
+   * @return the fetch deadline of the store, see {@link ConfigStoreOptions#getFetchDeadline()}
+   */
+  public long getFetchDeadline() {
+    return fetchDeadline;
+  }
+
+  /**
+   * @return the number of times the store missed its deadline, and its last configuration has been used instead
+   */
+  public long getStaleServes() {
+    return staleServes.get();
+  }
+
+  /**
+   * @return the number of times the store returned the same content as the previous time, and so the previously
+   * computed configuration has been reused without calling the processor
+   */
+  public long getCacheHits() {
+    return cacheHits.get();
+  }
+
+  /**
+   * @return the number of times the processor has been called on a content the provider could have reused
+   */
+  public long getCacheMisses() {
+    return cacheMisses.get();
+  }
+
+  /**
+   * The configuration computed from a given version of the store content. The computed configuration is reused
+   * as long as the store reports the content as not modified or returns content with the same hash, and so must not
+   * be mutated.
+   */
+  private static final class Processed {
+
+    private final String version;
+    private final boolean hashed;
+    private final long hash;
+    private final int length;
+    private final JsonObject json;
+    // Returned as is while the content is not modified
+    private final Future<JsonObject> future;
+
+    private Processed(String version, boolean hashed, long hash, int length, JsonObject json) {
+      this.version = version;
+      this.hashed = hashed;
+      this.hash = hash;
+      this.length = length;
+      this.json = json;
+      this.future = Future.succeededFuture(json);
+    }
+
+    private boolean matches(long hash, int length) {
+      return hashed && this.hash == hash && this.length == length;
+    }
+  }
 }
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package io.vertx.config.impl;
+
+import io.vertx.config.spi.ConfigRetrieverMetrics;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The default {@link ConfigRetrieverMetrics}, keeping the metrics in memory. The durations are reported in
+ * microseconds, the sizes in bytes. The metrics of the stores (and of the formats) are aggregated by type.
+ */
+final class DefaultConfigRetrieverMetrics implements ConfigRetrieverMetrics {
+
+  private static final long MICROSECONDS = 1000L;
+
+  private final Map<String, Operation> stores = new ConcurrentHashMap<>();
+  private final Map<String, Operation> formats = new ConcurrentHashMap<>();
+  private final Histogram merge = new Histogram();
+  private final Histogram diff = new Histogram();
+  private final Histogram dispatch = new Histogram();
+  private final LongAdder changedScans = new LongAdder();
+  private final LongAdder unchangedScans = new LongAdder();
+
+  @Override
+  public void storeFetched(String store, long duration, long bytes, boolean succeeded) {
+    Operation operation = stores.computeIfAbsent(store, s -> new Operation());
+    operation.record(duration, succeeded);
+    if (succeeded) {
+      operation.bytes.record(bytes);
+    }
+  }
+
+  @Override
+  public void contentProcessed(String format, long duration, boolean succeeded) {
+    formats.computeIfAbsent(format, f -> new Operation()).record(duration, succeeded);
+  }
+
+  @Override
+  public void configurationMerged(int stores, long duration) {
+    merge.record(duration);
+  }
+
+  @Override
+  public void configurationCompared(long duration) {
+    diff.record(duration);
+  }
+
+  @Override
+  public void listenersNotified(int listeners, long duration) {
+    dispatch.record(duration);
+  }
+
+  @Override
+  public void scanCompleted(boolean changed) {
+    if (changed) {
+      changedScans.increment();
+    } else {
+      unchangedScans.increment();
+    }
+  }
+
+  @Override
+  public JsonObject toJson() {
+    JsonObject fetched = new JsonObject();
+    stores.forEach((name, operation) -> fetched.put(name, operation.toJson()
+      .put("bytes", operation.bytes.toJson(1))));
+    JsonObject processed = new JsonObject();
+    formats.forEach((name, operation) -> processed.put(name, operation.toJson()));
+    return new JsonObject()
+      .put("stores", fetched)
+      .put("formats", processed)
+      .put("merge", merge.toJson(MICROSECONDS))
+      .put("diff", diff.toJson(MICROSECONDS))
+      .put("dispatch", dispatch.toJson(MICROSECONDS))
+      .put("changedScans", changedScans.sum())
+      .put("unchangedScans", unchangedScans.sum());
+  }
+
+  private static final class Operation {
+
+    private final Histogram durations = new Histogram();
+    private final Histogram bytes = new Histogram();
+    private final LongAdder failures = new LongAdder();
+
+    private void record(long duration, boolean succeeded) {
+      if (succeeded) {
+        durations.record(duration);
+      } else {
+        failures.increment();
+      }
+    }
+
+    private JsonObject toJson() {
+      return new JsonObject()
+        .put("duration", durations.toJson(MICROSECONDS))
+        .put("failures", failures.sum());
+    }
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package io.vertx.config.impl;
+
+import io.vertx.core.json.JsonObject;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of positive values, with a fixed memory footprint. Like HdrHistogram, the values are counted
+ * in buckets covering each power of two, split in 8 linear sub-buckets, so the recorded values are known with a
+ * precision of 12.5% whatever their magnitude.
+ */
+public final class Histogram {
+
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * Records a value, negative values are recorded as {@code 0}.
+   *
+   * @param value the value
+   */
+  public void record(long value) {
+    long v = Math.max(value, 0);
+    counts.incrementAndGet(index(v));
+    count.increment();
+    sum.add(v);
+    min.accumulateAndGet(v, Math::min);
+    max.accumulateAndGet(v, Math::max);
+  }
+
+  /**
+   * @return the index of the bucket counting the given value
+   */
+  public static int index(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+  }
+
+  /**
+   * @return the lowest value counted in the bucket at the given index
+   */
+  public static long lowestValue(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+    long sub = index % SUB_BUCKETS;
+    return (SUB_BUCKETS + sub) << (exponent - SUB_BUCKET_BITS);
+  }
+
+  /**
+   * @return the number of recorded values
+   */
+  public long count() {
+    return count.sum();
+  }
+
+  /**
+   * @param quantile the quantile, between 0 and 1
+   * @return the value at the given quantile (the highest value of its bucket, bounded by the maximum), {@code 0} if
+   * no value has been recorded
+   */
+  public long valueAt(double quantile) {
+    long total = 0;
+    long[] snapshot = new long[BUCKETS];
+    for (int i = 0; i < BUCKETS; i++) {
+      snapshot[i] = counts.get(i);
+      total += snapshot[i];
+    }
+    if (total == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(quantile * total));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += snapshot[i];
+      if (seen >= rank) {
+        long highest = i + 1 < BUCKETS ? lowestValue(i + 1) - 1 : Long.MAX_VALUE;
+        return Math.min(highest, max.get());
+      }
+    }
+    return max.get();
+  }
+
+  /**
+   * @param unit the divisor applied to the values, for example {@code 1000} to convert nanoseconds to microseconds
+   * @return the count, minimum, maximum, mean and main percentiles
+   */
+  public JsonObject toJson(long unit) {
+    long n = count();
+    JsonObject json = new JsonObject().put("count", n);
+    if (n == 0) {
+      return json;
+    }
+    return json
+      .put("min", min.get() / unit)
+      .put("max", max.get() / unit)
+      .put("mean", sum.sum() / n / unit)
+      .put("p50", valueAt(0.5) / unit)
+      .put("p90", valueAt(0.9) / unit)
+      .put("p99", valueAt(0.99) / unit)
+      .put("p999", valueAt(0.999) / unit);
+  }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package io.vertx.config.impl;
+
+import io.vertx.config.ConfigChange;
+import io.vertx.config.spi.ConfigProcessor;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import static io.vertx.config.impl.ConfigEvents.FAILED;
+import static io.vertx.config.impl.ConfigEvents.SUCCEEDED;
+
+/**
+ * The JDK Flight Recorder events, only loaded by {@link ConfigEvents} when the {@code jdk.jfr} module is available.
+ * The events are handled as {@link Object} outside of this class, so the other classes do not depend on the module.
+ */
+final class JfrEvents {
+
+  private static final EventType SCAN = EventType.getEventType(ScanEvent.class);
+  private static final EventType FETCH = EventType.getEventType(FetchEvent.class);
+  private static final EventType PROCESS = EventType.getEventType(ProcessEvent.class);
+  private static final EventType FILE_SET = EventType.getEventType(FileSetEvent.class);
+  private static final EventType LISTENER = EventType.getEventType(ListenerEvent.class);
+
+  private JfrEvents() {
+    // Avoid direct instantiation.
+  }
+
+  static Object beginScan(int stores) {
+    if (!SCAN.isEnabled()) {
+      return null;
+    }
+    ScanEvent event = new ScanEvent();
+    event.stores = stores;
+    event.begin();
+    return event;
+  }
+
+  static void endScan(Object scan, String outcome) {
+    ScanEvent event = (ScanEvent) scan;
+    event.outcome = outcome;
+    event.commit();
+  }
+
+  static Object beginFetch(String store) {
+    if (!FETCH.isEnabled()) {
+      return null;
+    }
+    FetchEvent event = new FetchEvent();
+    event.store = store;
+    event.begin();
+    return event;
+  }
+
+  static void endFetch(Object fetch, String outcome, long bytes) {
+    FetchEvent event = (FetchEvent) fetch;
+    event.outcome = outcome;
+    event.bytes = bytes;
+    event.commit();
+  }
+
+  static Future<JsonObject> process(ConfigProcessor processor, Vertx vertx, JsonObject configuration, Buffer input) {
+    if (!PROCESS.isEnabled()) {
+      return processor.process(vertx, configuration, input);
+    }
+    ProcessEvent event = new ProcessEvent();
+    event.format = processor.name();
+    event.bytes = input.length();
+    event.begin();
+    return processor.process(vertx, configuration, input).onComplete(ar -> {
+      event.outcome = ar.succeeded() ? SUCCEEDED : FAILED;
+      event.commit();
+    });
+  }
+
+  static Handler<AsyncResult<JsonObject>> fileSet(String pattern, int files, Handler<AsyncResult<JsonObject>> handler) {
+    if (!FILE_SET.isEnabled()) {
+      return handler;
+    }
+    FileSetEvent event = new FileSetEvent();
+    event.pattern = pattern;
+    event.files = files;
+    event.begin();
+    return ar -> {
+      event.outcome = ar.succeeded() ? SUCCEEDED : FAILED;
+      event.commit();
+      handler.handle(ar);
+    };
+  }
+
+  static void notify(Handler<ConfigChange> listener, ConfigChange change) {
+    if (!LISTENER.isEnabled()) {
+      listener.handle(change);
+      return;
+    }
+    ListenerEvent event = new ListenerEvent();
+    event.listener = listener.getClass().getName();
+    event.begin();
+    event.outcome = FAILED;
+    try {
+      listener.handle(change);
+      event.outcome = SUCCEEDED;
+    } finally {
+      event.commit();
+    }
+  }
+
+  @Name("io.vertx.config.Scan")
+  @Label("Configuration Scan")
+  @Category({"Vert.x", "Config"})
+  @Description("A scan of the configuration stores")
+  static final class ScanEvent extends Event {
+
+    @Label("Stores")
+    @Description("The number of retrieved stores")
+    int stores;
+
+    @Label("Outcome")
+    String outcome;
+  }
+
+  @Name("io.vertx.config.Fetch")
+  @Label("Configuration Fetch")
+  @Category({"Vert.x", "Config"})
+  @Description("The retrieval of a configuration store")
+  static final class FetchEvent extends Event {
+
+    @Label("Store")
+    String store;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Outcome")
+    String outcome;
+  }
+
+  @Name("io.vertx.config.Process")
+  @Label("Configuration Processing")
+  @Category({"Vert.x", "Config"})
+  @Description("The processing of a configuration content by a ConfigProcessor")
+  static final class ProcessEvent extends Event {
+
+    @Label("Format")
+    String format;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Outcome")
+    String outcome;
+  }
+
+  @Name("io.vertx.config.FileSet")
+  @Label("Configuration File Set")
+  @Category({"Vert.x", "Config"})
+  @Description("The computation of the configuration of a file set")
+  static final class FileSetEvent extends Event {
+
+    @Label("Pattern")
+    String pattern;
+
+    @Label("Files")
+    int files;
+
+    @Label("Outcome")
+    String outcome;
+  }
+
+  @Name("io.vertx.config.Listener")
+  @Label("Configuration Listener")
+  @Category({"Vert.x", "Config"})
+  @Description("The notification of a configuration change to a listener")
+  static final class ListenerEvent extends Event {
+
+    @Label("Listener")
+    String listener;
+
+    @Label("Outcome")
+    String outcome;
+  }
+}
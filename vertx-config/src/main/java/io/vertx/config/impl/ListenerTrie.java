@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.vertx.config.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A prefix trie indexing values (typically listeners) by the path of the configuration subtree they are interested
+ * in. The {@link ConfigPath#WILDCARD} segment matches any key.
+ * <p>
+ * Looking up the values interested in a changed path only visits the nodes along this path (and the wildcard
+ * branches), so the cost depends on the depth of the changed paths and not on the number of registered values.
+ * <p>
+ * This class is not thread-safe.
+ */
+final class ListenerTrie<T> {
+
+  private final Node<T> root = new Node<>();
+
+  /**
+   * Registers a value for the given path.
+   *
+   * @param path  the path segments, empty for the whole configuration
+   * @param value the value
+   */
+  void add(List<String> path, T value) {
+    Node<T> node = root;
+    for (String segment : path) {
+      node = node.child(segment);
+    }
+    node.values.add(value);
+  }
+
+  /**
+   * Collects the values interested in the change of the given path: the values registered for this path, one of its
+   * ancestors, or one of its descendants.
+   *
+   * @param changed the changed path segments (unescaped JSON pointer tokens)
+   * @param out     the collection receiving the values, a set to avoid duplicates
+   */
+  void collect(List<String> changed, Collection<T> out) {
+    collect(root, changed, 0, out);
+  }
+
+  private static <T> void collect(Node<T> node, List<String> changed, int index, Collection<T> out) {
+    out.addAll(node.values);
+    if (index == changed.size()) {
+      // The whole subtree changed
+      for (Node<T> child : node.children()) {
+        collectAll(child, out);
+      }
+      return;
+    }
+    if (node.children != null) {
+      Node<T> child = node.children.get(changed.get(index));
+      if (child != null) {
+        collect(child, changed, index + 1, out);
+      }
+    }
+    if (node.wildcard != null) {
+      collect(node.wildcard, changed, index + 1, out);
+    }
+  }
+
+  private static <T> void collectAll(Node<T> node, Collection<T> out) {
+    out.addAll(node.values);
+    for (Node<T> child : node.children()) {
+      collectAll(child, out);
+    }
+  }
+
+  private static final class Node<T> {
+
+    private final List<T> values = new ArrayList<>(1);
+    private Map<String, Node<T>> children;
+    private Node<T> wildcard;
+
+    private Node<T> child(String segment) {
+      if (ConfigPath.WILDCARD.equals(segment)) {
+        if (wildcard == null) {
+          wildcard = new Node<>();
+        }
+        return wildcard;
+      }
+      if (children == null) {
+        children = new HashMap<>();
+      }
+      return children.computeIfAbsent(segment, s -> new Node<>());
+    }
+
+    private List<Node<T>> children() {
+      List<Node<T>> list = new ArrayList<>();
+      if (children != null) {
+        list.addAll(children.values());
+      }
+      if (wildcard != null) {
+        list.add(wildcard);
+      }
+      return list;
+    }
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.vertx.config.impl;
+
+import io.vertx.config.ConfigChange;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@link ConfigChange} given to the listeners by the retriever. The difference computed during the scan is shared
+ * by the listeners instead of being computed again by each of them. Setting one of the configurations discards it.
+ * <p>
+ * The configurations published by the retriever are shared with the snapshots and the next scans, so they are never
+ * handed out. Each notification makes its copies lazily, the first time a listener asks for them, and the listeners of
+ * the same notification get the same copies. A listener only checking the changed paths causes no copy.
+ */
+final class SharedConfigChange extends ConfigChange {
+
+  private Configurations configurations;
+  private ConfigChange diff;
+
+  SharedConfigChange(Configurations configurations, ConfigChange diff) {
+    this.configurations = configurations;
+    this.diff = diff;
+  }
+
+  @Override
+  public JsonObject getPreviousConfiguration() {
+    Configurations c = configurations;
+    return c != null ? c.previous() : super.getPreviousConfiguration();
+  }
+
+  @Override
+  public JsonObject getNewConfiguration() {
+    Configurations c = configurations;
+    return c != null ? c.current() : super.getNewConfiguration();
+  }
+
+  @Override
+  public ConfigChange setPreviousConfiguration(JsonObject conf) {
+    detach();
+    return super.setPreviousConfiguration(conf);
+  }
+
+  @Override
+  public ConfigChange setNewConfiguration(JsonObject conf) {
+    detach();
+    return super.setNewConfiguration(conf);
+  }
+
+  private void detach() {
+    Configurations c = configurations;
+    if (c != null) {
+      // The configuration not being set is needed to compute the difference
+      configurations = null;
+      super.setPreviousConfiguration(c.previous());
+      super.setNewConfiguration(c.current());
+    }
+    diff = null;
+  }
+
+  @Override
+  public Set<String> getChangedPaths() {
+    return diff != null ? diff.getChangedPaths() : super.getChangedPaths();
+  }
+
+  @Override
+  public Set<String> getAddedPaths() {
+    return diff != null ? diff.getAddedPaths() : super.getAddedPaths();
+  }
+
+  @Override
+  public Set<String> getRemovedPaths() {
+    return diff != null ? diff.getRemovedPaths() : super.getRemovedPaths();
+  }
+
+  @Override
+  public Set<String> getUpdatedPaths() {
+    return diff != null ? diff.getUpdatedPaths() : super.getUpdatedPaths();
+  }
+
+  @Override
+  public boolean isChanged(String pointer) {
+    return diff != null ? diff.isChanged(pointer) : super.isChanged(pointer);
+  }
+
+  /**
+   * The configurations of a notification, copied on first access.
+   */
+  static final class Configurations {
+
+    private final JsonObject previous;
+    private final JsonObject current;
+    private final AtomicLong copies;
+    private JsonObject previousCopy;
+    private JsonObject currentCopy;
+
+    Configurations(JsonObject previous, JsonObject current, AtomicLong copies) {
+      this.previous = previous;
+      this.current = current;
+      this.copies = copies;
+    }
+
+    synchronized JsonObject previous() {
+      if (previousCopy == null) {
+        previousCopy = previous.copy();
+        copies.incrementAndGet();
+      }
+      return previousCopy;
+    }
+
+    synchronized JsonObject current() {
+      if (currentCopy == null) {
+        currentCopy = current.copy();
+        copies.incrementAndGet();
+      }
+      return currentCopy;
+    }
+  }
+}
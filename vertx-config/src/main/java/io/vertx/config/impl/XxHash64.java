@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.vertx.config.impl;
+
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * Implementation of the <a href="https://github.com/Cyan4973/xxHash">xxHash64</a> algorithm (seed 0).
+ * <p>
+ * The content is read in place from the {@link Buffer} (little-endian accessors), so hashing does not copy it.
+ */
+public final class XxHash64 {
+
+  private static final long PRIME64_1 = 0x9E3779B185EBCA87L;
+  private static final long PRIME64_2 = 0xC2B2AE3D27D4EB4FL;
+  private static final long PRIME64_3 = 0x165667B19E3779F9L;
+  private static final long PRIME64_4 = 0x85EBCA77C2B2AE63L;
+  private static final long PRIME64_5 = 0x27D4EB2F165667C5L;
+
+  private XxHash64() {
+    // Avoid direct instantiation.
+  }
+
+  /**
+   * Computes the hash of the whole content of the given buffer.
+   *
+   * @param buffer the buffer, must not be {@code null}
+   * @return the 64-bit hash
+   */
+  public static long hash(Buffer buffer) {
+    int length = buffer.length();
+    int pos = 0;
+    long hash;
+
+    if (length >= 32) {
+      long v1 = PRIME64_1 + PRIME64_2;
+      long v2 = PRIME64_2;
+      long v3 = 0;
+      long v4 = -PRIME64_1;
+      int limit = length - 32;
+      do {
+        v1 = round(v1, buffer.getLongLE(pos));
+        v2 = round(v2, buffer.getLongLE(pos + 8));
+        v3 = round(v3, buffer.getLongLE(pos + 16));
+        v4 = round(v4, buffer.getLongLE(pos + 24));
+        pos += 32;
+      } while (pos <= limit);
+
+      hash = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+      hash = mergeRound(hash, v1);
+      hash = mergeRound(hash, v2);
+      hash = mergeRound(hash, v3);
+      hash = mergeRound(hash, v4);
+    } else {
+      hash = PRIME64_5;
+    }
+
+    hash += length;
+
+    while (pos + 8 <= length) {
+      hash ^= round(0, buffer.getLongLE(pos));
+      hash = Long.rotateLeft(hash, 27) * PRIME64_1 + PRIME64_4;
+      pos += 8;
+    }
+
+    if (pos + 4 <= length) {
+      hash ^= buffer.getUnsignedIntLE(pos) * PRIME64_1;
+      hash = Long.rotateLeft(hash, 23) * PRIME64_2 + PRIME64_3;
+      pos += 4;
+    }
+
+    while (pos < length) {
+      hash ^= buffer.getUnsignedByte(pos) * PRIME64_5;
+      hash = Long.rotateLeft(hash, 11) * PRIME64_1;
+      pos++;
+    }
+
+    hash ^= hash >>> 33;
+    hash *= PRIME64_2;
+    hash ^= hash >>> 29;
+    hash *= PRIME64_3;
+    hash ^= hash >>> 32;
+    return hash;
+  }
+
+  private static long round(long acc, long input) {
+    acc += input * PRIME64_2;
+    acc = Long.rotateLeft(acc, 31);
+    return acc * PRIME64_1;
+  }
+
+  private static long mergeRound(long acc, long val) {
+    acc ^= round(0, val);
+    return acc * PRIME64_1 + PRIME64_4;
+  }
+}
@@ -18,6 +18,7 @@
 package io.vertx.config.impl.spi;
 
 import io.vertx.config.spi.ConfigStore;
+import io.vertx.config.spi.VersionedContent;
 import io.vertx.config.spi.utils.JsonObjectHelper;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
@@ -42,11 +43,15 @@ import java.util.function.Supplier;
  */
 public class EnvVariablesConfigStore implements ConfigStore {
 
+  // The environment variables are read once, so the content never changes
+  private static final String VERSION = "env";
+  private static final Future<VersionedContent> NOT_MODIFIED = Future.succeededFuture(VersionedContent.notModified());
+
   private final VertxInternal vertx;
   private final boolean rawData;
   private final Set<String> keys;
   private final Supplier<Map<String, String>> getenv;
-  private final AtomicReference<Buffer> cached = new AtomicReference<>();
+  private final AtomicReference<JsonObject> cached = new AtomicReference<>();
 
   public EnvVariablesConfigStore(Vertx vertx, boolean rawData, JsonArray keys, Supplier<Map<String, String>> getenv) {
     this.vertx = (VertxInternal) vertx;
@@ -57,12 +62,24 @@ public class EnvVariablesConfigStore implements ConfigStore {
 
   @Override
   public Future<Buffer> get() {
-    Buffer value = cached.get();
+    return vertx.getOrCreateContext().succeededFuture(json().toBuffer());
+  }
+
+  @Override
+  public Future<VersionedContent> get(String previousVersion) {
+    if (VERSION.equals(previousVersion) && cached.get() != null) {
+      return NOT_MODIFIED;
+    }
+    return vertx.getOrCreateContext().succeededFuture(VersionedContent.of(json(), VERSION));
+  }
+
+  private JsonObject json() {
+    JsonObject value = cached.get();
     if (value == null) {
-      value = all(getenv.get(), rawData, keys).toBuffer();
+      value = all(getenv.get(), rawData, keys);
       cached.set(value);
     }
-    return vertx.getOrCreateContext().succeededFuture(value);
+    return value;
   }
 
   private static JsonObject all(Map<String, String> env, boolean rawData, Set<String> keys) {
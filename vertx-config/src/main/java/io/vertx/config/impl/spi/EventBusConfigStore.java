@@ -18,7 +18,9 @@
 package io.vertx.config.impl.spi;
 
 import io.vertx.config.spi.ConfigStore;
+import io.vertx.config.spi.VersionedContent;
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.MessageConsumer;
@@ -38,21 +40,38 @@ public class EventBusConfigStore implements ConfigStore {
 
   private final VertxInternal vertx;
   private final MessageConsumer<Object> consumer;
-  private final AtomicReference<Buffer> last = new AtomicReference<>();
+  // The last received configuration, a JsonObject or a Buffer
+  private final AtomicReference<Object> last = new AtomicReference<>();
+  private volatile Handler<Void> changeHandler;
 
   public EventBusConfigStore(Vertx vertx, String address) {
     this.vertx = (VertxInternal) vertx;
     consumer = vertx.eventBus().consumer(address);
     consumer.handler(message -> {
       Object body = message.body();
-      if (body instanceof JsonObject) {
-        last.set(((JsonObject) body).toBuffer());
-      } else if (body instanceof Buffer) {
-        last.set((Buffer) body);
+      if (body instanceof JsonObject || body instanceof Buffer) {
+        // The event bus delivers a copy of the message body, so it is not modified by the sender
+        last.set(body);
+      } else {
+        return;
+      }
+      Handler<Void> handler = changeHandler;
+      if (handler != null) {
+        handler.handle(null);
       }
     });
   }
 
+  @Override
+  public void watch(Handler<Void> changeHandler) {
+    this.changeHandler = changeHandler;
+  }
+
+  @Override
+  public void unwatch() {
+    this.changeHandler = null;
+  }
+
   @Override
   public Future<Void> close() {
     return consumer.unregister();
@@ -60,8 +79,21 @@ public class EventBusConfigStore implements ConfigStore {
 
   @Override
   public Future<Buffer> get() {
-    Buffer buffer = last.get();
+    Object body = last.get();
+    ContextInternal context = vertx.getOrCreateContext();
+    if (body instanceof JsonObject) {
+      return context.succeededFuture(((JsonObject) body).toBuffer());
+    }
+    return context.succeededFuture(body != null ? (Buffer) body : Buffer.buffer("{}"));
+  }
+
+  @Override
+  public Future<VersionedContent> get(String previousVersion) {
+    Object body = last.get();
     ContextInternal context = vertx.getOrCreateContext();
-    return context.succeededFuture(buffer != null ? buffer : Buffer.buffer("{}"));
+    if (body instanceof Buffer) {
+      return context.succeededFuture(VersionedContent.of((Buffer) body, null));
+    }
+    return context.succeededFuture(VersionedContent.of(body != null ? (JsonObject) body : new JsonObject(), null));
   }
 }
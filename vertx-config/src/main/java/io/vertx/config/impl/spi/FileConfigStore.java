@@ -18,9 +18,11 @@
 package io.vertx.config.impl.spi;
 
 import io.vertx.config.spi.ConfigStore;
+import io.vertx.config.spi.VersionedContent;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.FileSystem;
 import io.vertx.core.internal.VertxInternal;
 import io.vertx.core.json.JsonObject;
 
@@ -30,6 +32,13 @@ import io.vertx.core.json.JsonObject;
  * @author <a href="http://escoffier.me">Clement Escoffier</a>
  */
 public class FileConfigStore implements ConfigStore {
+
+  /**
+   * Files modified more recently than this delay are not versioned, as a later modification within the timestamp
+   * granularity of the file system could keep the same version.
+   */
+  private static final long RACY_MODIFICATION_DELAY = 2000L;
+
   private final VertxInternal vertx;
   private final String path;
 
@@ -46,6 +55,25 @@ public class FileConfigStore implements ConfigStore {
     return vertx.fileSystem().readFile(path);
   }
 
+  @Override
+  public Future<VersionedContent> get(String previousVersion) {
+    FileSystem fs = vertx.fileSystem();
+    return fs.props(path)
+      .map(props -> {
+        if (System.currentTimeMillis() - props.lastModifiedTime() < RACY_MODIFICATION_DELAY) {
+          return null;
+        }
+        return props.lastModifiedTime() + "-" + props.size();
+      })
+      .otherwise((String) null)
+      .flatMap(version -> {
+        if (version != null && version.equals(previousVersion)) {
+          return vertx.getOrCreateContext().succeededFuture(VersionedContent.notModified());
+        }
+        return fs.readFile(path).map(buffer -> VersionedContent.of(buffer, version));
+      });
+  }
+
   @Override
   public Future<Void> close() {
     return vertx.getOrCreateContext().succeededFuture();
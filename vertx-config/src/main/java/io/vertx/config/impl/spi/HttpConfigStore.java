@@ -18,12 +18,12 @@
 package io.vertx.config.impl.spi;
 
 import io.vertx.config.spi.ConfigStore;
+import io.vertx.config.spi.VersionedContent;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpClient;
 import io.vertx.core.http.HttpClientOptions;
-import io.vertx.core.http.HttpClientRequest;
 import io.vertx.core.http.HttpClientResponse;
 import io.vertx.core.http.RequestOptions;
 import io.vertx.core.internal.VertxInternal;
@@ -36,6 +36,9 @@ import io.vertx.core.json.JsonObject;
  */
 public class HttpConfigStore implements ConfigStore {
 
+  private static final String ETAG_VERSION = "etag:";
+  private static final String LAST_MODIFIED_VERSION = "last-modified:";
+
   private final VertxInternal vertx;
   private final HttpClient client;
   private final RequestOptions requestOptions;
@@ -61,9 +64,43 @@ public class HttpConfigStore implements ConfigStore {
 
   @Override
   public Future<Buffer> get() {
+    return get(null).map(VersionedContent::getContent);
+  }
+
+  @Override
+  public Future<VersionedContent> get(String previousVersion) {
     return client.request(requestOptions)
-      .flatMap(HttpClientRequest::send)
-      .flatMap(HttpClientResponse::body);
+      .flatMap(request -> {
+        // Conditional request, the server replies with a 304 if the content has not been modified
+        if (previousVersion != null && previousVersion.startsWith(ETAG_VERSION)) {
+          request.putHeader("If-None-Match", previousVersion.substring(ETAG_VERSION.length()));
+        } else if (previousVersion != null && previousVersion.startsWith(LAST_MODIFIED_VERSION)) {
+          request.putHeader("If-Modified-Since", previousVersion.substring(LAST_MODIFIED_VERSION.length()));
+        }
+        return request.send();
+      })
+      .flatMap(response -> {
+        if (response.statusCode() == 304 && previousVersion != null) {
+          return response.end().map(VersionedContent.notModified());
+        }
+        String version = version(response);
+        return response.body().map(body -> VersionedContent.of(body, version));
+      });
+  }
+
+  private static String version(HttpClientResponse response) {
+    if (response.statusCode() != 200) {
+      return null;
+    }
+    String etag = response.getHeader("ETag");
+    if (etag != null) {
+      return ETAG_VERSION + etag;
+    }
+    String lastModified = response.getHeader("Last-Modified");
+    if (lastModified != null) {
+      return LAST_MODIFIED_VERSION + lastModified;
+    }
+    return null;
   }
 
   @Override
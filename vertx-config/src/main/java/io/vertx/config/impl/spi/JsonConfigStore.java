@@ -18,6 +18,7 @@
 package io.vertx.config.impl.spi;
 
 import io.vertx.config.spi.ConfigStore;
+import io.vertx.config.spi.VersionedContent;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
@@ -33,12 +34,17 @@ import io.vertx.core.json.JsonObject;
  */
 public class JsonConfigStore implements ConfigStore {
 
+  // The configuration is given once, so the content never changes
+  private static final String VERSION = "json";
+  private static final Future<VersionedContent> NOT_MODIFIED = Future.succeededFuture(VersionedContent.notModified());
+
   private final VertxInternal vertx;
   private final JsonObject config;
 
   public JsonConfigStore(Vertx vertx, JsonObject configuration) {
     this.vertx = (VertxInternal) vertx;
-    config = configuration;
+    // Copied, the configuration is handed over to the retriever as is
+    config = configuration == null ? null : configuration.copy();
   }
 
   @Override
@@ -52,6 +58,17 @@ public class JsonConfigStore implements ConfigStore {
     return promise.future();
   }
 
+  @Override
+  public Future<VersionedContent> get(String previousVersion) {
+    if (config == null) {
+      return get().map(buffer -> VersionedContent.of(buffer, VERSION));
+    }
+    if (VERSION.equals(previousVersion)) {
+      return NOT_MODIFIED;
+    }
+    return vertx.getOrCreateContext().succeededFuture(VersionedContent.of(config, VERSION));
+  }
+
   @Override
   public Future<Void> close() {
     return vertx.getOrCreateContext().succeededFuture();
@@ -17,7 +17,9 @@
 
 package io.vertx.config.impl.spi;
 
+import io.vertx.config.impl.XxHash64;
 import io.vertx.config.spi.ConfigStore;
+import io.vertx.config.spi.VersionedContent;
 import io.vertx.config.spi.utils.JsonObjectHelper;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
@@ -25,6 +27,8 @@ import io.vertx.core.buffer.Buffer;
 import io.vertx.core.internal.VertxInternal;
 import io.vertx.core.json.JsonObject;
 
+import java.util.Properties;
+import java.util.TreeSet;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -33,12 +37,17 @@ import java.util.concurrent.atomic.AtomicReference;
  * @author <a href="http://escoffier.me">Clement Escoffier</a>
  */
 public class SystemPropertiesConfigStore implements ConfigStore {
+
+  // With cache, the properties are read once, so the content never changes
+  private static final String CACHED_VERSION = "cached";
+  private static final Future<VersionedContent> NOT_MODIFIED = Future.succeededFuture(VersionedContent.notModified());
+
   private final VertxInternal vertx;
   private final boolean cache;
   private final Boolean rawData;
   private final Boolean hierarchical;
 
-  private AtomicReference<Buffer> cached = new AtomicReference<>();
+  private AtomicReference<JsonObject> cached = new AtomicReference<>();
 
   public SystemPropertiesConfigStore(Vertx vertx, JsonObject configuration) {
     this.vertx = (VertxInternal) vertx;
@@ -49,14 +58,47 @@ public class SystemPropertiesConfigStore implements ConfigStore {
 
   @Override
   public Future<Buffer> get() {
-    Buffer value = cached.get();
+    return vertx.getOrCreateContext().succeededFuture(json().toBuffer());
+  }
+
+  private JsonObject json() {
+    JsonObject value = cached.get();
     if (value == null) {
-      value = JsonObjectHelper.from(System.getProperties(), rawData, hierarchical).toBuffer();
+      value = JsonObjectHelper.from(System.getProperties(), rawData, hierarchical);
       if (cache) {
         cached.set(value);
       }
     }
-    return vertx.getOrCreateContext().succeededFuture(value);
+    return value;
+  }
+
+  @Override
+  public Future<VersionedContent> get(String previousVersion) {
+    if (cache) {
+      if (CACHED_VERSION.equals(previousVersion) && cached.get() != null) {
+        return NOT_MODIFIED;
+      }
+      return vertx.getOrCreateContext().succeededFuture(VersionedContent.of(json(), CACHED_VERSION));
+    }
+    // Without cache, the version is derived from the properties, so it stays valid across restarts and a persisted
+    // version is only reused if the properties did not change
+    Properties properties = System.getProperties();
+    String version = version(properties);
+    if (version.equals(previousVersion)) {
+      return NOT_MODIFIED;
+    }
+    // Never modified, only compared to the next properties
+    JsonObject json = JsonObjectHelper.from(properties, rawData, hierarchical);
+    return vertx.getOrCreateContext().succeededFuture(VersionedContent.of(json, version));
+  }
+
+  private static String version(Properties properties) {
+    Buffer buffer = Buffer.buffer();
+    for (String name : new TreeSet<>(properties.stringPropertyNames())) {
+      buffer.appendString(name).appendByte((byte) '=')
+        .appendString(properties.getProperty(name)).appendByte((byte) '\n');
+    }
+    return Long.toHexString(XxHash64.hash(buffer));
   }
 
   @Override
@@ -47,4 +47,20 @@ public interface ConfigProcessor {
    * @return a future notified  with the result
    */
   Future<JsonObject> process(Vertx vertx, JsonObject configuration, Buffer input);
+
+  /**
+   * Whether the result of the transformation of the given {@code input} only depends on the {@code input} and the
+   * {@code configuration}. In this case, the configuration provider reuses the previous result when the store returns
+   * the same content again, without calling {@link #process(Vertx, JsonObject, Buffer)}.
+   * <p>
+   * Processors reading external resources (such as included files) must return {@code false} when the result may
+   * depend on them.
+   *
+   * @param configuration the processor configuration, may be {@code null}
+   * @param input         the input, must not be {@code null}
+   * @return {@code true} by default
+   */
+  default boolean isCacheable(JsonObject configuration, Buffer input) {
+    return true;
+  }
 }
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.vertx.config.spi;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The registry of the {@link ConfigStoreFactory} and {@link ConfigProcessor} implementations.
+ * <p>
+ * The implementations available on the classpath are discovered once, using a {@link ServiceLoader}, the first time
+ * the registry is used. The discovery can be disabled by setting the {@code vertx-config-discovery} system property
+ * to {@code false}, for example in native images, and the implementations registered explicitly using
+ * {@link #register(ConfigStoreFactory)} and {@link #register(ConfigProcessor)}. An explicitly registered
+ * implementation replaces the one with the same name.
+ * <p>
+ * The content of the registry is immutable, and replaced on registration. Lookups do not lock.
+ */
+public final class ConfigRegistry {
+
+  /**
+   * The system property disabling the discovery of the implementations available on the classpath.
+   */
+  public static final String DISCOVERY_PROPERTY = "vertx-config-discovery";
+
+  private static final AtomicReference<Entries> ENTRIES = new AtomicReference<>();
+
+  private ConfigRegistry() {
+    // Avoid direct instantiation.
+  }
+
+  /**
+   * Gets the store factory with the given name.
+   *
+   * @param name the name, see {@link ConfigStoreFactory#name()}
+   * @return the factory, {@code null} if none
+   */
+  public static ConfigStoreFactory getStoreFactory(String name) {
+    return entries().stores.get(name);
+  }
+
+  /**
+   * Gets the processor of the given format.
+   *
+   * @param format the format, see {@link ConfigProcessor#name()}
+   * @return the processor, {@code null} if none
+   */
+  public static ConfigProcessor getProcessor(String format) {
+    return entries().processors.get(format);
+  }
+
+  /**
+   * @return the names of the registered store factories
+   */
+  public static Set<String> getStoreNames() {
+    return entries().stores.keySet();
+  }
+
+  /**
+   * @return the registered formats
+   */
+  public static Set<String> getFormats() {
+    return entries().processors.keySet();
+  }
+
+  /**
+   * Registers a store factory.
+   *
+   * @param factory the factory, must not be {@code null}
+   */
+  public static void register(ConfigStoreFactory factory) {
+    Objects.requireNonNull(factory, "The factory must not be `null`");
+    Entries current;
+    do {
+      current = entries();
+    } while (!ENTRIES.compareAndSet(current, new Entries(with(current.stores, factory.name(), factory),
+      current.processors)));
+  }
+
+  /**
+   * Registers a processor.
+   *
+   * @param processor the processor, must not be {@code null}
+   */
+  public static void register(ConfigProcessor processor) {
+    Objects.requireNonNull(processor, "The processor must not be `null`");
+    Entries current;
+    do {
+      current = entries();
+    } while (!ENTRIES.compareAndSet(current, new Entries(current.stores,
+      with(current.processors, processor.name(), processor))));
+  }
+
+  private static Entries entries() {
+    Entries entries = ENTRIES.get();
+    if (entries == null) {
+      // Concurrent first calls may both discover the implementations, only one of the results is kept
+      ENTRIES.compareAndSet(null, discover());
+      entries = ENTRIES.get();
+    }
+    return entries;
+  }
+
+  private static Entries discover() {
+    Map<String, ConfigStoreFactory> stores = new HashMap<>();
+    Map<String, ConfigProcessor> processors = new HashMap<>();
+    if (!"false".equalsIgnoreCase(System.getProperty(DISCOVERY_PROPERTY))) {
+      ClassLoader loader = ConfigStoreFactory.class.getClassLoader();
+      ServiceLoader.load(ConfigStoreFactory.class, loader).forEach(factory -> stores.put(factory.name(), factory));
+      ServiceLoader.load(ConfigProcessor.class, loader).forEach(processor -> processors.put(processor.name(), processor));
+    }
+    return new Entries(Collections.unmodifiableMap(stores), Collections.unmodifiableMap(processors));
+  }
+
+  private static <T> Map<String, T> with(Map<String, T> map, String name, T value) {
+    Objects.requireNonNull(name, "The name must not be `null`");
+    Map<String, T> copy = new HashMap<>(map);
+    copy.put(name, value);
+    return Collections.unmodifiableMap(copy);
+  }
+
+  private static final class Entries {
+
+    private final Map<String, ConfigStoreFactory> stores;
+    private final Map<String, ConfigProcessor> processors;
+
+    private Entries(Map<String, ConfigStoreFactory> stores, Map<String, ConfigProcessor> processors) {
+      this.stores = stores;
+      this.processors = processors;
+    }
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package io.vertx.config.spi;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * The metrics of a {@code ConfigRetriever}, following the Vert.x metrics SPI: every method has an empty default
+ * implementation, so implementations only override the events they measure. The methods are called on the
+ * event loop, implementations must not block.
+ * <p>
+ * Durations are given in nanoseconds.
+ */
+public interface ConfigRetrieverMetrics {
+
+  /**
+   * Called when the retrieval of a store completes.
+   *
+   * @param store     the type of the store, see {@link ConfigStoreFactory#name()}
+   * @param duration  the duration of the retrieval
+   * @param bytes     the size of the retrieved content, {@code 0} if the store reported an unmodified content or
+   *                  returned a JSON object
+   * @param succeeded whether the retrieval succeeded
+   */
+  default void storeFetched(String store, long duration, long bytes, boolean succeeded) {
+  }
+
+  /**
+   * Called when a {@link ConfigProcessor} completes, the processing is skipped when a store returns the same content
+   * again.
+   *
+   * @param format    the format, see {@link ConfigProcessor#name()}
+   * @param duration  the duration of the processing
+   * @param succeeded whether the processing succeeded
+   */
+  default void contentProcessed(String format, long duration, boolean succeeded) {
+  }
+
+  /**
+   * Called when the configurations of the stores have been merged.
+   *
+   * @param stores   the number of merged configurations
+   * @param duration the duration of the merge
+   */
+  default void configurationMerged(int stores, long duration) {
+  }
+
+  /**
+   * Called when a new configuration has been compared to the previous one.
+   *
+   * @param duration the duration of the comparison
+   */
+  default void configurationCompared(long duration) {
+  }
+
+  /**
+   * Called when the listeners have been notified of a change.
+   *
+   * @param listeners the number of notified listeners
+   * @param duration  the duration of the notification
+   */
+  default void listenersNotified(int listeners, long duration) {
+  }
+
+  /**
+   * Called when a scan completes successfully.
+   *
+   * @param changed whether the configuration changed
+   */
+  default void scanCompleted(boolean changed) {
+  }
+
+  /**
+   * @return the collected metrics, included in {@code ConfigRetriever#getStatistics()}
+   */
+  default JsonObject toJson() {
+    return new JsonObject();
+  }
+
+  /**
+   * Called when the retriever is closed.
+   */
+  default void close() {
+  }
+}
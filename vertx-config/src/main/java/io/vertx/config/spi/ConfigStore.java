@@ -36,6 +36,52 @@ public interface ConfigStore {
    */
   Future<Buffer> get();
 
+  /**
+   * Retrieves the configuration store in this store, unless it has not been modified since {@code previousVersion}.
+   * <p>
+   * Stores able to detect modifications cheaply (file timestamps, HTTP entity tags...) should override this method
+   * and return {@link VersionedContent#notModified()} when the content has not changed. In this case, the
+   * configuration computed from the previous content is reused. The default implementation delegates to
+   * {@link #get()} and returns an unversioned content, so the content is always processed.
+   * <p>
+   * Stores building their configuration as a JSON object should return it with
+   * {@link VersionedContent#of(io.vertx.core.json.JsonObject, String)}, so it is not encoded and parsed again.
+   *
+   * @param previousVersion the version of the last retrieved content, {@code null} if none. When {@code null}, the
+   *                        store must return the content.
+   * @return a {@code Future} of the asynchronous result.
+   */
+  default Future<VersionedContent> get(String previousVersion) {
+    return get().map(buffer -> VersionedContent.of(buffer, null));
+  }
+
+  /**
+   * Starts watching the store for changes. This method is called by the retriever after the creation of the store or,
+   * when the configuration is distributed, when the retriever becomes the leader. Stores able to detect changes (push
+   * notifications, long polling...) should override this method and call the given handler every time their content
+   * changes. The retriever then immediately retrieves this store again, without waiting for the next periodic scan,
+   * and without retrieving the other stores.
+   * <p>
+   * The handler can be called from any thread. The default implementation does nothing, in this case the store is
+   * only retrieved by the periodic scan.
+   *
+   * @param changeHandler the handler to call when the content of the store changes
+   */
+  default void watch(Handler<Void> changeHandler) {
+    // Changes are detected by the periodic scan
+  }
+
+  /**
+   * Stops watching the store, the handler given to {@link #watch(Handler)} must not be called anymore. This method is
+   * called by the retriever when it stops leading a distributed configuration, or when it is closed. The store may be
+   * watched again later.
+   * <p>
+   * The default implementation does nothing.
+   */
+  default void unwatch() {
+    // Nothing to stop
+  }
+
   /**
    * Closes the configuration store.
    *
@@ -22,7 +22,8 @@ import io.vertx.core.json.JsonObject;
 
 /**
  * Factory to create instances of {@link ConfigStore}. This is a SPI, and so implementations are retrieved
- * from the classpath / classloader using a {@link java.util.ServiceLoader}.
+ * from the classpath / classloader using a {@link java.util.ServiceLoader}, or registered explicitly in the
+ * {@link ConfigRegistry}.
  *
  * @author <a href="http://escoffier.me">Clement Escoffier</a>
  */
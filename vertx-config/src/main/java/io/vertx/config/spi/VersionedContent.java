@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.vertx.config.spi;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Objects;
+
+/**
+ * The outcome of a versioned retrieval from a {@link ConfigStore}, see {@link ConfigStore#get(String)}.
+ * <p>
+ * It either carries the content of the store, optionally tagged with a version, or indicates that the content has
+ * not been modified since the version passed to the store.
+ * <p>
+ * Stores building their configuration in memory (from the environment, a key-value store...) can return it as a
+ * {@link JsonObject} using {@link #of(JsonObject, String)}. When the format of the store is {@code json}, the
+ * configuration is used as is, without being encoded to a buffer and parsed again.
+ */
+public final class VersionedContent {
+
+  private static final VersionedContent NOT_MODIFIED = new VersionedContent(null, null, null);
+
+  private final Buffer content;
+  private final JsonObject json;
+  private final String version;
+
+  private VersionedContent(Buffer content, JsonObject json, String version) {
+    this.content = content;
+    this.json = json;
+    this.version = version;
+  }
+
+  /**
+   * Creates a new instance carrying the content of the store.
+   *
+   * @param content the content
+   * @param version the version of the content, {@code null} if the store cannot version its content. In this case,
+   *                the content is always processed.
+   * @return the created instance
+   */
+  public static VersionedContent of(Buffer content, String version) {
+    return new VersionedContent(content, null, version);
+  }
+
+  /**
+   * Creates a new instance carrying the configuration of the store as a JSON object.
+   * <p>
+   * The ownership of the JSON object is transferred to the retriever: the store must not modify it afterwards, nor
+   * return it to anyone else than the retriever. The retriever never modifies it, so the store can return the same
+   * instance as long as its configuration does not change.
+   *
+   * @param json    the configuration
+   * @param version the version of the configuration, {@code null} if the store cannot version its content. In this
+   *                case, the configuration is compared to the previous one.
+   * @return the created instance
+   */
+  public static VersionedContent of(JsonObject json, String version) {
+    return new VersionedContent(null, Objects.requireNonNull(json, "The configuration must not be `null`"), version);
+  }
+
+  /**
+   * @return the instance indicating that the content has not been modified since the version passed to the store
+   */
+  public static VersionedContent notModified() {
+    return NOT_MODIFIED;
+  }
+
+  /**
+   * @return {@code false} if the content has not been modified since the version passed to the store,
+   * {@code true} otherwise
+   */
+  public boolean isModified() {
+    return this != NOT_MODIFIED;
+  }
+
+  /**
+   * @return the content, {@code null} if not modified. When the store returned a JSON object, it is encoded on every
+   * call.
+   */
+  public Buffer getContent() {
+    return json != null ? json.toBuffer() : content;
+  }
+
+  /**
+   * @return the configuration returned as a JSON object by the store, {@code null} if the store returned a buffer or
+   * if not modified. It must not be modified.
+   */
+  public JsonObject getJson() {
+    return json;
+  }
+
+  /**
+   * @return the version of the content, {@code null} if not modified or if the store does not version its content
+   */
+  public String getVersion() {
+    return version;
+  }
+}
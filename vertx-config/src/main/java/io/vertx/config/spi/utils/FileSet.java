@@ -17,6 +17,7 @@
 
 package io.vertx.config.spi.utils;
 
+import io.vertx.config.impl.ConfigEvents;
 import io.vertx.config.spi.ConfigProcessor;
 import io.vertx.core.*;
 import io.vertx.core.internal.logging.Logger;
@@ -28,6 +29,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
 
 /**
  * Utility class to manage file set selected using a pattern.
@@ -238,7 +240,7 @@ public class FileSet {
   public void buildConfiguration(List<File> files, Handler<AsyncResult<JsonObject>> handler) {
     List<Future<JsonObject>> futures = new ArrayList<>();
 
-    files.stream()
+    List<File> matching = files.stream()
       .map(file -> {
         String relative = null;
         if (file.getAbsolutePath().startsWith(root.getAbsolutePath())) {
@@ -253,35 +255,38 @@ public class FileSet {
       .filter(Objects::nonNull)
       .filter(this::matches)
       .map(s -> new File(root, s))
-      .forEach(file -> {
-        Promise<JsonObject> promise = Promise.promise();
-        futures.add(promise.future());
-        try {
-          vertx.fileSystem().readFile(file.getAbsolutePath()).onComplete(buffer -> {
-              if (buffer.failed()) {
-                promise.fail(buffer.cause());
-              } else {
-                processor.process(vertx, new JsonObject().put("raw-data", rawData)
-                                                         .put("hierarchical", hierarchical), buffer.result())
-                         .onComplete(promise);
-              }
-            });
-        } catch (RejectedExecutionException e) {
-          // May happen because ot the internal thread pool used in the async file system.
-          promise.fail(e);
-        }
-      });
+      .collect(Collectors.toList());
+    Handler<AsyncResult<JsonObject>> done = ConfigEvents.fileSet(pattern, matching.size(), handler);
+
+    matching.forEach(file -> {
+      Promise<JsonObject> promise = Promise.promise();
+      futures.add(promise.future());
+      try {
+        vertx.fileSystem().readFile(file.getAbsolutePath()).onComplete(buffer -> {
+            if (buffer.failed()) {
+              promise.fail(buffer.cause());
+            } else {
+              ConfigEvents.process(processor, vertx, new JsonObject().put("raw-data", rawData)
+                  .put("hierarchical", hierarchical), buffer.result())
+                .onComplete(promise);
+            }
+          });
+      } catch (RejectedExecutionException e) {
+        // May happen because ot the internal thread pool used in the async file system.
+        promise.fail(e);
+      }
+    });
 
     Future.all(futures).onComplete(ar -> {
       if (ar.failed()) {
-        handler.handle(Future.failedFuture(ar.cause()));
+        done.handle(Future.failedFuture(ar.cause()));
       } else {
         // Merge
         JsonObject result = new JsonObject();
         futures.stream()
           .map(future -> (JsonObject) future.result())
           .forEach(config -> result.mergeIn(config, true));
-        handler.handle(Future.succeededFuture(result));
+        done.handle(Future.succeededFuture(result));
       }
     });
   }
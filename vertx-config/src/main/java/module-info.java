@@ -22,6 +22,7 @@ module io.vertx.config {
 
   requires io.vertx.core;
   requires io.vertx.core.logging;
+  requires static jdk.jfr;
 
   exports io.vertx.config;
   exports io.vertx.config.spi;
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package io.vertx.config.tests;
+
+import io.vertx.config.ConfigChange;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the changed paths computed by {@link ConfigChange}.
+ */
+public class ConfigChangeTest {
+
+  private static JsonObject config() {
+    return new JsonObject()
+      .put("name", "app")
+      .put("db", new JsonObject()
+        .put("url", "jdbc:h2:mem")
+        .put("pool", new JsonObject().put("min", 1).put("max", 10)))
+      .put("hosts", new JsonArray().add("a").add("b"));
+  }
+
+  @Test
+  public void testEqualConfigurations() {
+    ConfigChange change = new ConfigChange(config(), config());
+    assertThat(change.getChangedPaths()).isEmpty();
+    assertThat(change.isChanged("")).isFalse();
+    assertThat(change.isChanged("/db")).isFalse();
+  }
+
+  @Test
+  public void testNumbersOfDifferentTypes() {
+    JsonObject previous = new JsonObject().put("port", 8080).put("ratio", 0.5);
+    JsonObject current = new JsonObject().put("port", 8080L).put("ratio", 0.5f);
+    assertThat(new ConfigChange(previous, current).getChangedPaths()).isEmpty();
+  }
+
+  @Test
+  public void testAddedRemovedAndUpdatedPaths() {
+    JsonObject previous = config();
+    JsonObject current = config();
+    current.getJsonObject("db").getJsonObject("pool").put("max", 20);
+    current.getJsonObject("db").remove("url");
+    current.put("cache", new JsonObject().put("size", 100));
+    current.getJsonArray("hosts").add("c");
+
+    ConfigChange change = new ConfigChange(previous, current);
+    assertThat(change.getUpdatedPaths()).containsExactlyInAnyOrder("/db/pool/max", "/hosts");
+    assertThat(change.getRemovedPaths()).containsExactly("/db/url");
+    assertThat(change.getAddedPaths()).containsExactly("/cache");
+    assertThat(change.getChangedPaths())
+      .containsExactlyInAnyOrder("/db/pool/max", "/db/url", "/hosts", "/cache");
+
+    assertThat(change.isChanged("")).isTrue();
+    assertThat(change.isChanged("/db")).isTrue();
+    assertThat(change.isChanged("/db/pool")).isTrue();
+    assertThat(change.isChanged("/db/pool/max")).isTrue();
+    assertThat(change.isChanged("/db/pool/min")).isFalse();
+    assertThat(change.isChanged("/name")).isFalse();
+    assertThat(change.isChanged("/missing")).isFalse();
+    // Nested in an added value
+    assertThat(change.isChanged("/cache/size")).isTrue();
+  }
+
+  @Test
+  public void testTypeChange() {
+    JsonObject previous = new JsonObject().put("db", new JsonObject().put("pool", 5));
+    JsonObject current = new JsonObject().put("db", "jdbc:h2:mem");
+
+    ConfigChange change = new ConfigChange(previous, current);
+    assertThat(change.getUpdatedPaths()).containsExactly("/db");
+    assertThat(change.isChanged("/db/pool")).isTrue();
+  }
+
+  @Test
+  public void testEscapedPointers() {
+    JsonObject previous = new JsonObject().put("a/b", 1).put("c~d", 1);
+    JsonObject current = new JsonObject().put("a/b", 2).put("c~d", 2);
+
+    ConfigChange change = new ConfigChange(previous, current);
+    assertThat(change.getChangedPaths()).containsExactly("/a~1b", "/c~0d");
+    assertThat(change.isChanged("/a~1b")).isTrue();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidPointer() {
+    new ConfigChange(new JsonObject(), config()).isChanged("db");
+  }
+
+  @Test
+  public void testConfigChangeComputesTheDiffLazily() {
+    JsonObject previous = config();
+    JsonObject current = config().put("name", "other");
+    ConfigChange change = new ConfigChange(previous, current);
+    assertThat(change.getChangedPaths()).containsExactly("/name");
+    assertThat(change.isChanged("/name")).isTrue();
+
+    change.setNewConfiguration(config());
+    assertThat(change.getChangedPaths()).isEmpty();
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package io.vertx.config.tests;
+
+import io.vertx.config.ConfigRetriever;
+import io.vertx.config.ConfigRetrieverOptions;
+import io.vertx.config.ConfigSnapshot;
+import io.vertx.config.ConfigStoreOptions;
+import io.vertx.config.impl.ConfigSnapshotImpl;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(VertxUnitRunner.class)
+public class ConfigSnapshotTest {
+
+  private Vertx vertx;
+  private ConfigRetriever retriever;
+
+  @Before
+  public void setUp(TestContext tc) {
+    vertx = Vertx.vertx();
+    vertx.exceptionHandler(tc.exceptionHandler());
+  }
+
+  @After
+  public void tearDown() {
+    if (retriever != null) {
+      retriever.close();
+    }
+    vertx.close();
+  }
+
+  private static ConfigSnapshot snapshot() {
+    return new ConfigSnapshotImpl(new JsonObject()
+      .put("name", "app")
+      .put("java.version", "21")
+      .put("http", new JsonObject()
+        .put("port", 8080)
+        .put("ssl", false)
+        .put("ratio", 0.5)
+        .put("timeout", 10_000_000_000L)
+        .put("hosts", new JsonArray().add("a").add("b"))
+        .putNull("proxy")), 1);
+  }
+
+  @Test
+  public void testTypedGetters() {
+    ConfigSnapshot snapshot = snapshot();
+    assertThat(snapshot.version()).isEqualTo(1);
+    assertThat(snapshot.getString("name")).isEqualTo("app");
+    assertThat(snapshot.getInteger("http.port")).isEqualTo(8080);
+    assertThat(snapshot.getInteger("/http/port")).isEqualTo(8080);
+    assertThat(snapshot.getLong("http.port")).isEqualTo(8080L);
+    assertThat(snapshot.getLong("http.timeout")).isEqualTo(10_000_000_000L);
+    assertThat(snapshot.getDouble("http.ratio")).isEqualTo(0.5);
+    assertThat(snapshot.getBoolean("http.ssl")).isFalse();
+    assertThat(snapshot.getJsonArray("http.hosts")).containsExactly("a", "b");
+    // Keys containing dots
+    assertThat(snapshot.getString("java.version")).isEqualTo("21");
+  }
+
+  @Test
+  public void testMissingValues() {
+    ConfigSnapshot snapshot = snapshot();
+    assertThat(snapshot.getString("missing")).isNull();
+    assertThat(snapshot.getString("missing", "def")).isEqualTo("def");
+    assertThat(snapshot.getInteger("http.missing", 1)).isEqualTo(1);
+    assertThat(snapshot.getInteger("name.port")).isNull();
+    assertThat(snapshot.getBoolean("/http/ssl/enabled", true)).isTrue();
+    assertThat(snapshot.containsKey("http.proxy")).isTrue();
+    assertThat(snapshot.containsKey("http.missing")).isFalse();
+    assertThat(snapshot.getString("http.proxy", "none")).isEqualTo("none");
+  }
+
+  @Test
+  public void testSnapshotsAreNotModifiable() {
+    ConfigSnapshot snapshot = snapshot();
+    snapshot.toJson().getJsonObject("http").put("port", 9090);
+    snapshot.getJsonArray("http.hosts").add("c");
+    assertThat(snapshot.getInteger("http.port")).isEqualTo(8080);
+    assertThat(snapshot.getJsonArray("http.hosts")).hasSize(2);
+
+    ConfigSnapshot http = snapshot.getSnapshot("http");
+    assertThat(http.getInteger("port")).isEqualTo(8080);
+    assertThat(http.version()).isEqualTo(snapshot.version());
+  }
+
+  @Test
+  public void testSnapshotPublication(TestContext tc) {
+    Async async = tc.async();
+    JsonObject config = new JsonObject().put("foo", "bar");
+    retriever = ConfigRetriever.create(vertx, new ConfigRetrieverOptions()
+      .addStore(new ConfigStoreOptions().setType("json").setConfig(config)));
+
+    assertThat(retriever.getSnapshot().version()).isEqualTo(0);
+    assertThat(retriever.getSnapshot().toJson()).isEmpty();
+    retriever.getConfig()
+      .compose(json -> {
+        ConfigSnapshot snapshot = retriever.getSnapshot();
+        assertThat(snapshot.version()).isEqualTo(1);
+        assertThat(snapshot.getString("foo")).isEqualTo("bar");
+        // Modifying the returned configuration does not affect the snapshot
+        json.put("foo", "baz");
+        assertThat(retriever.getSnapshot().getString("foo")).isEqualTo("bar");
+        assertThat(retriever.getCachedConfig().getString("foo")).isEqualTo("bar");
+        return retriever.getConfig();
+      })
+      .onComplete(tc.asyncAssertSuccess(json -> {
+        // Same configuration, the snapshot has not been replaced
+        assertThat(retriever.getSnapshot().version()).isEqualTo(1);
+        async.complete();
+      }));
+  }
+}
@@ -50,4 +50,40 @@ public class ConfigStoreOptionsTest {
     assertThat(copy.getFormat()).isEqualTo(options.getFormat()).isEqualTo("yaml");
     assertThat(copy.getType()).isEqualTo(options.getType()).isEqualTo("file");
   }
+
+  @Test
+  public void testScanPeriod() {
+    ConfigStoreOptions options = new ConfigStoreOptions();
+    assertThat(options.getScanPeriod()).isEqualTo(ConfigStoreOptions.DEFAULT_SCAN_PERIOD);
+    options.setScanPeriod(1000);
+    assertThat(new ConfigStoreOptions(options).getScanPeriod()).isEqualTo(1000);
+    assertThat(new ConfigStoreOptions(options.toJson()).getScanPeriod()).isEqualTo(1000);
+    assertThat(new ConfigStoreOptions(new JsonObject()).getScanPeriod())
+      .isEqualTo(ConfigStoreOptions.DEFAULT_SCAN_PERIOD);
+  }
+
+  @Test
+  public void testFetchDeadline() {
+    ConfigStoreOptions options = new ConfigStoreOptions();
+    assertThat(options.getFetchDeadline()).isEqualTo(ConfigStoreOptions.DEFAULT_FETCH_DEADLINE);
+    options.setFetchDeadline(200);
+    assertThat(new ConfigStoreOptions(options).getFetchDeadline()).isEqualTo(200);
+    assertThat(new ConfigStoreOptions(options.toJson()).getFetchDeadline()).isEqualTo(200);
+  }
+
+  @Test
+  public void testCircuitBreaker() {
+    ConfigStoreOptions options = new ConfigStoreOptions();
+    assertThat(options.getCircuitBreakerThreshold()).isEqualTo(ConfigStoreOptions.DEFAULT_CIRCUIT_BREAKER_THRESHOLD);
+    assertThat(options.getCircuitBreakerBackoff()).isEqualTo(ConfigStoreOptions.DEFAULT_CIRCUIT_BREAKER_BACKOFF);
+    assertThat(options.getCircuitBreakerMaxBackoff())
+      .isEqualTo(ConfigStoreOptions.DEFAULT_CIRCUIT_BREAKER_MAX_BACKOFF);
+    options.setCircuitBreakerThreshold(3).setCircuitBreakerBackoff(100).setCircuitBreakerMaxBackoff(400);
+    for (ConfigStoreOptions copy : new ConfigStoreOptions[]{new ConfigStoreOptions(options),
+      new ConfigStoreOptions(options.toJson())}) {
+      assertThat(copy.getCircuitBreakerThreshold()).isEqualTo(3);
+      assertThat(copy.getCircuitBreakerBackoff()).isEqualTo(100);
+      assertThat(copy.getCircuitBreakerMaxBackoff()).isEqualTo(400);
+    }
+  }
 }
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package io.vertx.config.tests;
+
+import io.vertx.config.ConfigKey;
+import io.vertx.config.ConfigRetriever;
+import io.vertx.config.ConfigRetrieverOptions;
+import io.vertx.config.ConfigSnapshot;
+import io.vertx.config.ConfigStoreOptions;
+import io.vertx.config.ConfigView;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(VertxUnitRunner.class)
+public class ConfigViewTest {
+
+  private Vertx vertx;
+  private ConfigRetriever retriever;
+
+  @Before
+  public void setUp(TestContext tc) {
+    vertx = Vertx.vertx();
+    vertx.exceptionHandler(tc.exceptionHandler());
+    retriever = ConfigRetriever.create(vertx, new ConfigRetrieverOptions()
+      .setScanPeriod(3_600_000)
+      .addStore(new ConfigStoreOptions().setType("event-bus").setConfig(new JsonObject().put("address", "config"))));
+  }
+
+  @After
+  public void tearDown() {
+    retriever.close();
+    vertx.close();
+  }
+
+  private static JsonObject config(int port) {
+    return new JsonObject()
+      .put("http", new JsonObject()
+        .put("port", port)
+        .put("host", "localhost")
+        .put("ssl", true)
+        .put("ratio", 0.25)
+        .put("timeout", 30_000L));
+  }
+
+  @Test
+  public void testDefaultValuesBeforeRetrieval() {
+    ConfigView view = ConfigView.create(retriever);
+    assertThat(view.intKey("http.port", 8080).getInt()).isEqualTo(8080);
+    assertThat(view.stringKey("http.host", "0.0.0.0").get()).isEqualTo("0.0.0.0");
+    assertThat(view.snapshotKey("http").get()).isNull();
+  }
+
+  @Test
+  public void testKeysAreReboundOnPublication(TestContext tc) {
+    Async async = tc.async();
+    ConfigView view = ConfigView.create(retriever);
+    ConfigKey.IntKey port = view.intKey("http.port", 8080);
+    ConfigKey.LongKey timeout = view.longKey("/http/timeout", 0);
+    ConfigKey.BooleanKey ssl = view.booleanKey("http.ssl", false);
+    ConfigKey.DoubleKey ratio = view.doubleKey("http.ratio", 1.0);
+    ConfigKey<String> host = view.stringKey("http.host", null);
+    ConfigKey<ConfigSnapshot> http = view.snapshotKey("http");
+    // Wrong type, the default value is used
+    ConfigKey.IntKey wrong = view.intKey("http.host", -1);
+
+    retriever.getConfig().onComplete(tc.asyncAssertSuccess(json -> {
+      retriever.listen(change -> {
+        if (change.getNewConfiguration().getJsonObject("http").getInteger("port") == 9000) {
+          // The keys are rebound before the listeners are called
+          assertThat(port.getInt()).isEqualTo(9000);
+          assertThat(timeout.getLong()).isEqualTo(30_000L);
+          assertThat(ssl.getBoolean()).isTrue();
+          assertThat(ratio.getDouble()).isEqualTo(0.25);
+          assertThat(host.get()).isEqualTo("localhost");
+          assertThat(http.get().getInteger("port")).isEqualTo(9000);
+          assertThat(wrong.getInt()).isEqualTo(-1);
+          vertx.eventBus().publish("config", config(9001));
+        } else {
+          assertThat(port.getInt()).isEqualTo(9001);
+          assertThat(port.get()).isEqualTo(9001);
+          // Keys created after the publication are bound to the current configuration
+          assertThat(view.intKey("http.port", 0).getInt()).isEqualTo(9001);
+          async.complete();
+        }
+      });
+      vertx.eventBus().publish("config", config(9000));
+    }));
+  }
+
+  @Test
+  public void testPathsAreResolvedLikeSnapshots(TestContext tc) {
+    Async async = tc.async();
+    ConfigView view = ConfigView.create(retriever);
+    ConfigKey<String> whole = view.stringKey("a.b.c", null);
+    ConfigKey<String> dotted = view.stringKey("x.y.z", null);
+    ConfigKey<String> pointer = view.stringKey("/x/y.z", null);
+    ConfigKey<ConfigSnapshot> root = view.snapshotKey("");
+    retriever.getConfig().onComplete(tc.asyncAssertSuccess(v -> {
+      retriever.listen(change -> {
+        ConfigSnapshot snapshot = retriever.getSnapshot();
+        // Keys containing dots take precedence, as for the snapshots
+        assertThat(whole.get()).isEqualTo("whole").isEqualTo(snapshot.getString("a.b.c"));
+        assertThat(dotted.get()).isEqualTo("dotted").isEqualTo(snapshot.getString("x.y.z"));
+        assertThat(pointer.get()).isEqualTo("dotted");
+        assertThat(root.get().toJson()).isEqualTo(snapshot.toJson());
+        async.complete();
+      });
+      vertx.eventBus().publish("config", new JsonObject()
+        .put("a.b.c", "whole")
+        .put("a", new JsonObject().put("b", new JsonObject().put("c", "nested")))
+        .put("x", new JsonObject().put("y.z", "dotted")));
+    }));
+  }
+
+  @Test
+  public void testClosedViewsAreNoLongerUpdated(TestContext tc) {
+    Async async = tc.async();
+    ConfigView view = ConfigView.create(retriever);
+    ConfigView closed = ConfigView.create(retriever);
+    ConfigKey.IntKey port = view.intKey("http.port", 8080);
+    ConfigKey.IntKey stale = closed.intKey("http.port", 8080);
+    closed.close();
+    // Closing twice has no effect
+    closed.close();
+    retriever.getConfig().onComplete(tc.asyncAssertSuccess(json -> {
+      retriever.listen(change -> {
+        assertThat(port.getInt()).isEqualTo(9000);
+        assertThat(stale.getInt()).isEqualTo(8080);
+        try {
+          closed.intKey("http.port", 0);
+          tc.fail("Keys must not be created from a closed view");
+        } catch (IllegalStateException expected) {
+          async.complete();
+        }
+      });
+      vertx.eventBus().publish("config", config(9000));
+    }));
+  }
+}
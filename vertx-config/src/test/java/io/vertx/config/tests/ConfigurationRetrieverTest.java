@@ -17,9 +17,11 @@
 
 package io.vertx.config.tests;
 
+import io.vertx.config.ConfigKey;
 import io.vertx.config.ConfigRetriever;
 import io.vertx.config.ConfigRetrieverOptions;
 import io.vertx.config.ConfigStoreOptions;
+import io.vertx.config.ConfigView;
 import io.vertx.config.tests.spi.ConfigChecker;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
@@ -32,6 +34,11 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermissions;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
@@ -103,6 +110,48 @@ public class ConfigurationRetrieverTest {
     });
   }
 
+  @Test
+  public void testStatistics(TestContext tc) {
+    retriever = ConfigRetriever.create(vertx,
+      addStores(new ConfigRetrieverOptions().setMetricsEnabled(true)));
+    Async async = tc.async();
+
+    retriever.getConfig().onComplete(tc.asyncAssertSuccess(json -> {
+      JsonObject statistics = retriever.getStatistics();
+      assertThat(statistics.getJsonArray("stores")).hasSize(2);
+      assertThat(statistics.getJsonArray("stores").getJsonObject(0).getString("type")).isEqualTo("file");
+      assertThat(statistics.getJsonArray("stores").getJsonObject(0).getString("circuitState")).isEqualTo("CLOSED");
+      JsonObject metrics = statistics.getJsonObject("metrics");
+      JsonObject file = metrics.getJsonObject("stores").getJsonObject("file");
+      assertThat(file.getJsonObject("duration").getLong("count")).isEqualTo(1);
+      assertThat(file.getJsonObject("bytes").getLong("max")).isGreaterThan(0L);
+      assertThat(file.getLong("failures")).isEqualTo(0);
+      // The sys store is fetched but hands over a JsonObject, so only the file content is processed
+      JsonObject sys = metrics.getJsonObject("stores").getJsonObject("sys");
+      assertThat(sys.getJsonObject("duration").getLong("count")).isEqualTo(1);
+      JsonObject formats = metrics.getJsonObject("formats");
+      assertThat(formats.fieldNames()).containsExactly("json");
+      assertThat(formats.getJsonObject("json").getJsonObject("duration").getLong("count")).isEqualTo(1);
+      assertThat(metrics.getJsonObject("merge").getLong("count")).isEqualTo(1);
+      async.complete();
+    }));
+  }
+
+  @Test
+  public void testStatisticsWithoutMetrics(TestContext tc) {
+    retriever = ConfigRetriever.create(vertx,
+      addStores(new ConfigRetrieverOptions()));
+    Async async = tc.async();
+
+    retriever.getConfig().onComplete(tc.asyncAssertSuccess(json -> {
+      JsonObject statistics = retriever.getStatistics();
+      assertThat(statistics.getJsonArray("stores")).hasSize(2);
+      assertThat(statistics.getLong("joinedConfigRequests")).isEqualTo(0);
+      assertThat(statistics.containsKey("metrics")).isFalse();
+      async.complete();
+    }));
+  }
+
   @Test
   public void testLoadingWithProcessor(TestContext tc) {
     retriever = ConfigRetriever.create(vertx,
@@ -398,4 +447,124 @@ public class ConfigurationRetrieverTest {
     });
   }
 
+  @Test
+  public void testLastKnownGoodConfiguration(TestContext tc) throws Exception {
+    File dir = Files.createTempDirectory("vertx-config").toFile();
+    File conf = new File(dir, "conf.json");
+    File persisted = new File(dir, "last-known-good.bin");
+    Files.write(conf.toPath(), "{\"key\":\"value\"}".getBytes(StandardCharsets.UTF_8));
+    ConfigRetrieverOptions options = new ConfigRetrieverOptions().setScanPeriod(100)
+      .setLastKnownGoodPath(persisted.getAbsolutePath())
+      .addStore(new ConfigStoreOptions().setType("file").setOptional(true)
+        .setConfig(new JsonObject().put("path", conf.getAbsolutePath())));
+
+    ConfigRetriever first = ConfigRetriever.create(vertx, options);
+    Async written = tc.async();
+    first.getConfig().onComplete(tc.asyncAssertSuccess(json -> {
+      assertThat(json.getString("key")).isEqualTo("value");
+      vertx.setPeriodic(10, id -> {
+        if (persisted.isFile()) {
+          vertx.cancelTimer(id);
+          first.close();
+          written.complete();
+        }
+      });
+    }));
+    written.awaitSuccess(20_000);
+    if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+      // The configuration may contain secrets
+      assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(persisted.toPath())))
+        .isEqualTo("rw-------");
+    }
+
+    // The store is not available anymore, its persisted content is used
+    assertTrue(conf.delete());
+    retriever = ConfigRetriever.create(vertx, options);
+    Async async = tc.async();
+    retriever.getConfig().onComplete(tc.asyncAssertSuccess(json -> {
+      assertThat(json.getString("key")).isEqualTo("value");
+      assertThat(retriever.getCachedConfig().getString("key")).isEqualTo("value");
+      retriever.listen(change -> {
+        assertThat(change.getNewConfiguration().getString("key")).isEqualTo("value-2");
+        async.complete();
+      });
+      vertx.setTimer(300, l -> {
+        // Not notified until the store content changes
+        tc.assertFalse(async.isCompleted());
+        try {
+          Files.write(conf.toPath(), "{\"key\":\"value-2\"}".getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+          tc.fail(e);
+        }
+      });
+    }));
+  }
+
+  @Test
+  public void testLastKnownGoodConfigurationWithChangedSystemProperties(TestContext tc) throws Exception {
+    File persisted = new File(Files.createTempDirectory("vertx-config").toFile(), "last-known-good.bin");
+    System.setProperty("key", "value");
+    ConfigRetrieverOptions options = new ConfigRetrieverOptions().setScanPeriod(-1)
+      .setLastKnownGoodPath(persisted.getAbsolutePath())
+      .addStore(new ConfigStoreOptions().setType("sys").setConfig(new JsonObject().put("cache", false)));
+
+    ConfigRetriever first = ConfigRetriever.create(vertx, options);
+    Async written = tc.async();
+    first.getConfig().onComplete(tc.asyncAssertSuccess(json -> {
+      assertThat(json.getString("key")).isEqualTo("value");
+      vertx.setPeriodic(10, id -> {
+        if (persisted.isFile()) {
+          vertx.cancelTimer(id);
+          first.close();
+          written.complete();
+        }
+      });
+    }));
+    written.awaitSuccess(20_000);
+
+    // The version persisted by the previous process must not hide the new properties
+    System.setProperty("key", "value-2");
+    retriever = ConfigRetriever.create(vertx, options);
+    retriever.getConfig().onComplete(tc.asyncAssertSuccess(json -> {
+      assertThat(json.getString("key")).isEqualTo("value-2");
+      assertThat(retriever.getCachedConfig().getString("key")).isEqualTo("value-2");
+    }));
+  }
+
+  @Test
+  public void testLastKnownGoodConfigurationIsPublishedToTheViews(TestContext tc) throws Exception {
+    File dir = Files.createTempDirectory("vertx-config").toFile();
+    File conf = new File(dir, "conf.json");
+    File persisted = new File(dir, "last-known-good.bin");
+    Files.write(conf.toPath(), "{\"key\":\"value\"}".getBytes(StandardCharsets.UTF_8));
+    ConfigRetrieverOptions options = new ConfigRetrieverOptions().setScanPeriod(3_600_000)
+      .setLastKnownGoodPath(persisted.getAbsolutePath())
+      .addStore(new ConfigStoreOptions().setType("file").setOptional(true)
+        .setConfig(new JsonObject().put("path", conf.getAbsolutePath())));
+
+    ConfigRetriever first = ConfigRetriever.create(vertx, options);
+    Async written = tc.async();
+    first.getConfig().onComplete(tc.asyncAssertSuccess(json -> {
+      vertx.setPeriodic(10, id -> {
+        if (persisted.isFile()) {
+          vertx.cancelTimer(id);
+          first.close();
+          written.complete();
+        }
+      });
+    }));
+    written.awaitSuccess(20_000);
+
+    // The key is created before the persisted configuration is read, and no retrieval is made
+    retriever = ConfigRetriever.create(vertx, options);
+    ConfigKey<String> key = ConfigView.create(retriever).stringKey("key", "default");
+    Async async = tc.async();
+    vertx.setPeriodic(10, id -> {
+      if ("value".equals(key.get())) {
+        vertx.cancelTimer(id);
+        async.complete();
+      }
+    });
+  }
+
 }
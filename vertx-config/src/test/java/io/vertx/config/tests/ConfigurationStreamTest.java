@@ -166,4 +166,39 @@ public class ConfigurationStreamTest {
         System.setProperty("foo", "bar" + (step + 1));
       });
   }
+
+  @Test
+  public void testIndependentStreams(TestContext tc) {
+    retriever = ConfigRetriever.create(vertx,
+      addStores(new ConfigRetrieverOptions().setScanPeriod(100)));
+    Async async = tc.async();
+    AtomicInteger steps = new AtomicInteger();
+    AtomicInteger received = new AtomicInteger();
+    ReadStream<JsonObject> slow = retriever.newConfigStream();
+    ReadStream<JsonObject> fast = retriever.newConfigStream();
+    slow.pause();
+    slow.handler(conf -> {
+      slow.pause();
+      // Only the last configuration has been kept while paused
+      tc.assertEquals(1, received.incrementAndGet());
+      tc.assertEquals("bar2", conf.getString("foo"));
+      fast.handler(null);
+      System.setProperty("foo", "bar3");
+      vertx.setTimer(500, l -> {
+        tc.assertEquals(3, steps.get());
+        async.complete();
+      });
+    });
+    fast.handler(conf -> {
+      // The paused stream does not prevent the delivery
+      int step = steps.getAndIncrement();
+      tc.assertEquals(step == 0 ? "bar" : "bar" + step, conf.getString("foo"));
+      if (step < 2) {
+        System.setProperty("foo", "bar" + (step + 1));
+      } else {
+        tc.assertEquals(0, received.get());
+        slow.resume();
+      }
+    });
+  }
 }
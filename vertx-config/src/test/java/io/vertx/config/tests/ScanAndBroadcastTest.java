@@ -20,6 +20,10 @@ package io.vertx.config.tests;
 import io.vertx.config.ConfigRetriever;
 import io.vertx.config.ConfigRetrieverOptions;
 import io.vertx.config.ConfigStoreOptions;
+import io.vertx.config.impl.ConfigRetrieverImpl;
+import io.vertx.config.impl.ConfigurationProvider;
+import io.vertx.config.tests.spi.ControlledConfigStore;
+import io.vertx.config.tests.spi.ControlledConfigStoreFactory;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
@@ -36,7 +40,9 @@ import org.junit.runner.RunWith;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -52,6 +58,9 @@ public class ScanAndBroadcastTest {
 
   private Vertx vertx;
   private JsonObject http;
+  private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger maxInFlight = new AtomicInteger();
   private HttpServer server;
   private ConfigRetriever retriever;
 
@@ -64,8 +73,20 @@ public class ScanAndBroadcastTest {
 
     vertx.createHttpServer()
       .requestHandler(request -> {
+        requests.computeIfAbsent(request.path(), path -> new AtomicInteger()).incrementAndGet();
         if (request.path().endsWith("/conf")) {
           request.response().end(http.encodePrettily());
+        } else if (request.path().endsWith("/slow")) {
+          request.response().end(new JsonObject().put("slow-key", "slow-value").encode());
+        } else if (request.path().endsWith("/failing")) {
+          // The store fails to get the content
+          request.connection().close();
+        } else if (request.path().endsWith("/delayed")) {
+          maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+          vertx.setTimer(300, l -> {
+            inFlight.decrementAndGet();
+            request.response().end(http.encode());
+          });
         }
       })
       .listen(8080)
@@ -122,6 +143,265 @@ public class ScanAndBroadcastTest {
     done.awaitSuccess(20_000);
   }
 
+  @Test
+  public void testScanningReportsChangedPaths(TestContext tc) {
+    Async done = tc.async();
+    http.put("db", new JsonObject().put("pool", 5).put("url", "jdbc:h2:mem"));
+    vertx.runOnContext(v -> {
+      retriever = ConfigRetriever.create(vertx,
+        new ConfigRetrieverOptions().setScanPeriod(500).setStores(stores()));
+
+      retriever.getConfig().onComplete(tc.asyncAssertSuccess(json -> {
+        retriever.listen(change -> {
+          assertThat(change.getChangedPaths()).containsExactly("/db/pool");
+          assertThat(change.getUpdatedPaths()).containsExactly("/db/pool");
+          assertThat(change.getAddedPaths()).isEmpty();
+          assertThat(change.getRemovedPaths()).isEmpty();
+          assertThat(change.isChanged("/db")).isTrue();
+          assertThat(change.isChanged("/db/pool")).isTrue();
+          assertThat(change.isChanged("/db/url")).isFalse();
+          assertThat(change.isChanged("/key")).isFalse();
+          done.complete();
+        });
+        http.put("db", new JsonObject().put("pool", 10).put("url", "jdbc:h2:mem"));
+      }));
+    });
+    done.awaitSuccess(20_000);
+  }
+
+  @Test
+  public void testPathScopedListeners(TestContext tc) {
+    Async done = tc.async();
+    http.put("db", new JsonObject().put("pool", 5)).put("http", new JsonObject().put("port", 8080));
+    vertx.runOnContext(v -> {
+      retriever = ConfigRetriever.create(vertx,
+        new ConfigRetrieverOptions().setScanPeriod(500).setStores(stores()));
+
+      retriever.getConfig().onComplete(tc.asyncAssertSuccess(json -> {
+        retriever.listen("http", change -> tc.fail("Unexpected change notification: " + change.getChangedPaths()));
+        retriever.listen("/http/port", change -> tc.fail("Unexpected change notification: " + change.getChangedPaths()));
+        retriever.listen("db.pool", change -> {
+          assertThat(change.getNewConfiguration().getJsonObject("db").getInteger("pool")).isEqualTo(10);
+          done.complete();
+        });
+        http.put("db", new JsonObject().put("pool", 10));
+      }));
+    });
+    done.awaitSuccess(20_000);
+  }
+
+  @Test
+  public void testPerStoreScanPeriod(TestContext tc) {
+    Async done = tc.async();
+    vertx.runOnContext(v -> {
+      retriever = ConfigRetriever.create(vertx,
+        new ConfigRetrieverOptions().setScanPeriod(60_000)
+          .addStore(new ConfigStoreOptions().setType("http").setScanPeriod(100)
+            .setConfig(new JsonObject().put("host", "localhost").put("port", 8080).put("path", "/conf")))
+          .addStore(new ConfigStoreOptions().setType("http").setScanPeriod(0)
+            .setConfig(new JsonObject().put("host", "localhost").put("port", 8080).put("path", "/slow"))));
+
+      retriever.getConfig().onComplete(tc.asyncAssertSuccess(json -> {
+        assertThat(json.getString("slow-key")).isEqualTo("slow-value");
+        retriever.listen(change -> {
+          // The configuration of the store not scanned periodically is still part of the configuration
+          assertThat(change.getNewConfiguration().getString("slow-key")).isEqualTo("slow-value");
+          assertThat(change.getNewConfiguration().getString("some-key")).isEqualTo("some-value");
+          assertThat(requests.get("/conf").get()).isGreaterThan(1);
+          assertThat(requests.get("/slow").get()).isEqualTo(1);
+          done.complete();
+        });
+        http.put("some-key", "some-value");
+      }));
+    });
+    done.awaitSuccess(20_000);
+  }
+
+  @Test
+  public void testScansDoNotOverlap(TestContext tc) {
+    Async done = tc.async();
+    vertx.runOnContext(v -> {
+      retriever = ConfigRetriever.create(vertx,
+        new ConfigRetrieverOptions().setScanPeriod(50)
+          .addStore(new ConfigStoreOptions().setType("http")
+            .setConfig(new JsonObject().put("host", "localhost").put("port", 8080).put("path", "/delayed"))));
+
+      retriever.getConfig().onComplete(tc.asyncAssertSuccess(json -> {
+        // Only consider the scans, the initial retrieval may overlap with the first one
+        maxInFlight.set(inFlight.get());
+        // Several ticks elapse while the store is being read
+        vertx.setTimer(1500, l -> {
+          assertThat(maxInFlight.get()).isEqualTo(1);
+          assertThat(((ConfigRetrieverImpl) retriever).getCoalescedScans()).isGreaterThan(0);
+          assertThat(requests.get("/delayed").get()).isLessThan(12);
+          done.complete();
+        });
+      }));
+    });
+    done.awaitSuccess(20_000);
+  }
+
+  @Test
+  public void testConcurrentGetConfigShareTheRetrieval(TestContext tc) {
+    Async done = tc.async();
+    http.put("some-key", "some-value");
+    vertx.runOnContext(v -> {
+      retriever = ConfigRetriever.create(vertx,
+        new ConfigRetrieverOptions().setScanPeriod(60_000).setMaxConfigAge(10_000)
+          .addStore(new ConfigStoreOptions().setType("http")
+            .setConfig(new JsonObject().put("host", "localhost").put("port", 8080).put("path", "/delayed"))));
+
+      List<Future<JsonObject>> futures = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+        futures.add(retriever.getConfig());
+      }
+      Future.all(futures).onComplete(tc.asyncAssertSuccess(all -> {
+        for (Future<JsonObject> future : futures) {
+          assertThat(future.result().getString("some-key")).isEqualTo("some-value");
+        }
+        // Every caller gets its own copy
+        futures.get(0).result().put("some-key", "modified");
+        assertThat(futures.get(1).result().getString("some-key")).isEqualTo("some-value");
+        assertThat(requests.get("/delayed").get()).isEqualTo(1);
+
+        // Recent enough, the store is not retrieved again
+        retriever.getConfig().onComplete(tc.asyncAssertSuccess(json -> {
+          assertThat(json.getString("some-key")).isEqualTo("some-value");
+          assertThat(requests.get("/delayed").get()).isEqualTo(1);
+          assertThat(((ConfigRetrieverImpl) retriever).getJoinedConfigRequests()).isEqualTo(10);
+          done.complete();
+        }));
+      }));
+    });
+    done.awaitSuccess(20_000);
+  }
+
+  @Test
+  public void testSlowGetConfigDoesNotRevertAScan(TestContext tc) {
+    Async done = tc.async();
+    vertx.runOnContext(v -> {
+      retriever = ConfigRetriever.create(vertx, new ConfigRetrieverOptions().setScanPeriod(50)
+        .addStore(new ConfigStoreOptions().setType(ControlledConfigStoreFactory.NAME).setConfig(new JsonObject()
+          .put("name", "ordering")
+          .put("content", new JsonObject().put("v", 1)))));
+      ControlledConfigStore store = ControlledConfigStore.named("ordering");
+      AtomicInteger changes = new AtomicInteger();
+      retriever.listen(change -> {
+        // Only the scan changes the configuration, the older result of getConfig() is not applied after it
+        assertThat(changes.incrementAndGet()).isEqualTo(1);
+        assertThat(change.getNewConfiguration().getInteger("v")).isEqualTo(2);
+        assertThat(store.release()).isTrue();
+      });
+      // Started before the scan, completed after it
+      store.hold(true);
+      retriever.getConfig().onComplete(tc.asyncAssertSuccess(json -> {
+        assertThat(json.getInteger("v")).isEqualTo(2);
+        assertThat(retriever.getSnapshot().getInteger("v")).isEqualTo(2);
+        vertx.setTimer(200, l -> {
+          assertThat(retriever.getSnapshot().getInteger("v")).isEqualTo(2);
+          assertThat(changes.get()).isEqualTo(1);
+          done.complete();
+        });
+      }));
+      store.hold(false).serve(new JsonObject().put("v", 2));
+    });
+    done.awaitSuccess(20_000);
+  }
+
+  @Test
+  public void testDistributedConfiguration(TestContext tc) {
+    Async done = tc.async();
+    http.put("some-key", "some-value");
+    vertx.runOnContext(v -> {
+      retriever = ConfigRetriever.create(vertx,
+        new ConfigRetrieverOptions().setScanPeriod(100).setDistributionAddress("config")
+          .addStore(new ConfigStoreOptions().setType("http")
+            .setConfig(new JsonObject().put("host", "localhost").put("port", 8080).put("path", "/conf"))));
+
+      retriever.getConfig().onComplete(tc.asyncAssertSuccess(json -> {
+        // The second retriever receives the configuration from the first one, instead of retrieving its own store
+        ConfigRetriever follower = ConfigRetriever.create(vertx,
+          new ConfigRetrieverOptions().setScanPeriod(100).setDistributionAddress("config")
+            .addStore(new ConfigStoreOptions().setType("http")
+              .setConfig(new JsonObject().put("host", "localhost").put("port", 8080).put("path", "/slow"))));
+        follower.getConfig().onComplete(tc.asyncAssertSuccess(conf -> {
+          assertThat(conf.getString("some-key")).isEqualTo("some-value");
+          assertThat(conf.containsKey("slow-key")).isFalse();
+          follower.listen(change -> {
+            JsonObject updated = change.getNewConfiguration();
+            assertThat(updated.containsKey("some-key")).isFalse();
+            assertThat(updated.getJsonObject("nested").getString("key")).isEqualTo("value");
+            assertThat(requests.get("/slow")).isNull();
+            follower.close();
+            done.complete();
+          });
+          http.remove("some-key");
+          http.put("nested", new JsonObject().put("key", "value"));
+        }));
+      }));
+    });
+    done.awaitSuccess(20_000);
+  }
+
+  @Test
+  public void testFetchDeadline(TestContext tc) {
+    Async done = tc.async();
+    http.put("some-key", "some-value");
+    vertx.runOnContext(v -> {
+      retriever = ConfigRetriever.create(vertx,
+        new ConfigRetrieverOptions().setScanPeriod(60_000)
+          .addStore(new ConfigStoreOptions().setType("http").setFetchDeadline(50)
+            .setConfig(new JsonObject().put("host", "localhost").put("port", 8080).put("path", "/delayed"))));
+      ConfigurationProvider provider = ((ConfigRetrieverImpl) retriever).getProviders().get(0);
+
+      // Nothing retrieved yet, the store is awaited
+      retriever.getConfig().onComplete(tc.asyncAssertSuccess(json -> {
+        assertThat(json.getString("some-key")).isEqualTo("some-value");
+        assertThat(provider.getStaleServes()).isEqualTo(0);
+        http.put("some-key", "some-value-2");
+        retriever.listen(change -> {
+          // Applied when the retrieval completes
+          assertThat(change.getNewConfiguration().getString("some-key")).isEqualTo("some-value-2");
+          done.complete();
+        });
+        retriever.getConfig().onComplete(tc.asyncAssertSuccess(stale -> {
+          assertThat(stale.getString("some-key")).isEqualTo("some-value");
+          assertThat(provider.getStaleServes()).isEqualTo(1);
+        }));
+      }));
+    });
+    done.awaitSuccess(20_000);
+  }
+
+  @Test
+  public void testCircuitBreaker(TestContext tc) {
+    Async done = tc.async();
+    vertx.runOnContext(v -> {
+      retriever = ConfigRetriever.create(vertx,
+        new ConfigRetrieverOptions().setScanPeriod(20)
+          .addStore(new ConfigStoreOptions().setType("http").setOptional(true)
+            .setCircuitBreakerThreshold(2).setCircuitBreakerBackoff(60_000)
+            .setConfig(new JsonObject().put("host", "localhost").put("port", 8080).put("path", "/failing")))
+          .addStore(new ConfigStoreOptions().setType("json").setConfig(new JsonObject().put("key", "value"))));
+      ConfigurationProvider provider = ((ConfigRetrieverImpl) retriever).getProviders().get(0);
+      retriever.getConfig().onComplete(tc.asyncAssertSuccess(json -> {
+        assertThat(json.getString("key")).isEqualTo("value");
+        // Let the periodic scans call the store
+        vertx.setTimer(500, l -> {
+          assertThat(provider.getCircuitState()).isEqualTo(ConfigurationProvider.CircuitState.OPEN);
+          assertThat(provider.getCircuitOpenings()).isEqualTo(1);
+          assertThat(requests.get("/failing").get()).isEqualTo(2);
+          retriever.getConfig().onComplete(tc.asyncAssertSuccess(skipped -> {
+            assertThat(skipped.getString("key")).isEqualTo("value");
+            assertThat(requests.get("/failing").get()).isEqualTo(2);
+            done.complete();
+          }));
+        });
+      }));
+    });
+    done.awaitSuccess(20_000);
+  }
+
   @Test
   public void testScanningWithBeforeAndAfterFunctions(TestContext tc) {
     Async done = tc.async();
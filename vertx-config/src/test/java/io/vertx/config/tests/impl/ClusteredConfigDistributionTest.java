@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.vertx.config.tests.impl;
+
+import io.vertx.config.ConfigRetriever;
+import io.vertx.config.ConfigRetrieverOptions;
+import io.vertx.config.ConfigStoreOptions;
+import io.vertx.config.impl.ConfigDistribution;
+import io.vertx.config.impl.ConfigRetrieverImpl;
+import io.vertx.config.tests.spi.ControlledConfigStore;
+import io.vertx.config.tests.spi.ControlledConfigStoreFactory;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.test.fakecluster.FakeClusterManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the distribution of the configuration between retrievers running on several clustered nodes.
+ */
+public class ClusteredConfigDistributionTest {
+
+  private static final String ADDRESS = "clustered-config";
+
+  private final List<Vertx> nodes = new ArrayList<>();
+  private final List<ConfigRetriever> retrievers = new ArrayList<>();
+
+  @Before
+  public void setUp() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      nodes.add(Vertx.builder().withClusterManager(new FakeClusterManager()).buildClustered()
+        .await(20, TimeUnit.SECONDS));
+    }
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    for (ConfigRetriever retriever : retrievers) {
+      retriever.close();
+    }
+    for (Vertx node : nodes) {
+      node.close().await(20, TimeUnit.SECONDS);
+    }
+    FakeClusterManager.reset();
+  }
+
+  /**
+   * Creates a retriever on the given node, reading a store named {@code node-<index>}.
+   */
+  private ConfigRetriever create(int node) {
+    ConfigRetriever retriever = ConfigRetriever.create(nodes.get(node), new ConfigRetrieverOptions()
+      .setScanPeriod(0)
+      .setDistributionAddress(ADDRESS)
+      .addStore(new ConfigStoreOptions().setType(ControlledConfigStoreFactory.NAME).setConfig(new JsonObject()
+        .put("name", "node-" + node)
+        .put("content", new JsonObject().put("from", "node-" + node)))));
+    retrievers.add(retriever);
+    return retriever;
+  }
+
+  private static ControlledConfigStore store(int node) {
+    return ControlledConfigStore.named("node-" + node);
+  }
+
+  private static ConfigDistribution distribution(ConfigRetriever retriever) {
+    return ((ConfigRetrieverImpl) retriever).getDistribution();
+  }
+
+  private static String from(ConfigRetriever retriever) {
+    return retriever.getCachedConfig().getString("from");
+  }
+
+  @Test
+  public void testOnlyTheLeaderWatchesItsStoreAndAnotherOneTakesOver() throws Exception {
+    ConfigRetriever first = create(0);
+    assertThat(first.getConfig().await(20, TimeUnit.SECONDS).getString("from")).isEqualTo("node-0");
+    ControlledConfigStore leaderStore = store(0);
+    waitUntil(leaderStore::isWatched);
+
+    ConfigRetriever second = create(1);
+    ConfigRetriever third = create(2);
+    // The followers get the configuration of the leader, without retrieving nor watching their own store
+    assertThat(second.getConfig().await(20, TimeUnit.SECONDS).getString("from")).isEqualTo("node-0");
+    assertThat(third.getConfig().await(20, TimeUnit.SECONDS).getString("from")).isEqualTo("node-0");
+    for (int i = 1; i < 3; i++) {
+      assertThat(store(i).isWatched()).isFalse();
+      assertThat(store(i).fetches()).isEqualTo(0);
+    }
+
+    // Only the leader is notified of the change of its store, and distributes it
+    leaderStore.change(new JsonObject().put("from", "node-0-changed"));
+    waitUntil(() -> "node-0-changed".equals(from(second)) && "node-0-changed".equals(from(third)));
+
+    // The leader leaves, releasing the lock
+    first.close();
+    retrievers.remove(first);
+    assertThat(leaderStore.isWatched()).isFalse();
+    waitUntil(() -> store(1).isWatched() || store(2).isWatched());
+    int leader = store(1).isWatched() ? 1 : 2;
+    int follower = 3 - leader;
+    ConfigRetriever newLeader = retrievers.get(leader - 1);
+    ConfigRetriever remaining = retrievers.get(follower - 1);
+    assertThat(store(follower).isWatched()).isFalse();
+
+    // The new leader retrieves its store, and numbers its deltas from the configuration it knew
+    waitUntil(() -> ("node-" + leader).equals(from(remaining)));
+    assertThat(from(newLeader)).isEqualTo("node-" + leader);
+    assertThat(distribution(newLeader).getSequence()).isEqualTo(1L);
+    // The follower detected the new leader and requested its configuration
+    ConfigDistribution followed = distribution(remaining);
+    assertThat(followed.getLeader()).isEqualTo(distribution(newLeader).getId());
+    assertThat(followed.getApplied()).isEqualTo(1L);
+    assertThat(store(follower).fetches()).isEqualTo(0);
+  }
+
+  @Test
+  public void testGapsAreRecoveredWithASnapshot() throws Exception {
+    ConfigRetriever leader = create(0);
+    leader.getConfig().await(20, TimeUnit.SECONDS);
+    waitUntil(store(0)::isWatched);
+
+    AtomicInteger snapshots = new AtomicInteger();
+    nodes.get(1).eventBus().addOutboundInterceptor(context -> {
+      if (context.message().address().equals(ADDRESS + ".snapshot")) {
+        snapshots.incrementAndGet();
+      }
+      context.next();
+    });
+    ConfigRetriever follower = create(1);
+    assertThat(follower.getConfig().await(20, TimeUnit.SECONDS).getString("from")).isEqualTo("node-0");
+    assertThat(snapshots.get()).isEqualTo(1);
+
+    String id = distribution(leader).getId();
+    long applied = distribution(follower).getApplied();
+
+    // The next delta is applied
+    nodes.get(1).eventBus().publish(ADDRESS, new JsonObject()
+      .put("leader", id)
+      .put("version", applied + 1)
+      .put("set", new JsonObject().put("/extra", 1))
+      .put("remove", new JsonArray()));
+    waitUntil(() -> follower.getCachedConfig().containsKey("extra"));
+    assertThat(snapshots.get()).isEqualTo(1);
+
+    // A missing delta is detected, and the configuration of the leader is requested instead of applying the delta
+    nodes.get(1).eventBus().publish(ADDRESS, new JsonObject()
+      .put("leader", id)
+      .put("version", applied + 3)
+      .put("set", new JsonObject().put("/gap", true))
+      .put("remove", new JsonArray()));
+    waitUntil(() -> snapshots.get() == 2 && !follower.getCachedConfig().containsKey("extra"));
+    assertThat(follower.getCachedConfig()).isEqualTo(new JsonObject().put("from", "node-0"));
+    assertThat(distribution(follower).getApplied()).isEqualTo(applied);
+  }
+
+  @Test
+  public void testLeaderStepsDownWhenAnotherOneLeads() throws Exception {
+    ConfigRetriever first = create(0);
+    first.getConfig().await(20, TimeUnit.SECONDS);
+    waitUntil(store(0)::isWatched);
+    ConfigRetriever second = create(1);
+    second.getConfig().await(20, TimeUnit.SECONDS);
+
+    // As if the cluster had released the lock of the leader, and another retriever had acquired it
+    nodes.get(2).eventBus().publish(ADDRESS, new JsonObject()
+      .put("leader", "another-leader")
+      .put("version", 1L)
+      .put("set", new JsonObject())
+      .put("remove", new JsonArray()));
+
+    // The leader releases the lock and stops watching its store, the follower takes over
+    waitUntil(() -> store(1).isWatched());
+    assertThat(store(0).isWatched()).isFalse();
+    waitUntil(() -> "node-1".equals(from(first)));
+  }
+
+  private static void waitUntil(Callable<Boolean> condition) throws Exception {
+    long deadline = System.currentTimeMillis() + 20_000;
+    while (!condition.call()) {
+      if (System.currentTimeMillis() > deadline) {
+        throw new AssertionError("Condition not met in time");
+      }
+      Thread.sleep(10);
+    }
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.vertx.config.tests.impl;
+
+import io.vertx.config.impl.ConfigDistribution;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the application of the deltas received by the followers of a distributed configuration.
+ */
+public class ConfigDistributionTest {
+
+  private static JsonObject apply(JsonObject base, JsonObject set, JsonArray remove) {
+    return ConfigDistribution.apply(base, set, remove);
+  }
+
+  private static JsonObject base() {
+    return new JsonObject()
+      .put("name", "app")
+      .put("db", new JsonObject()
+        .put("host", "localhost")
+        .put("port", 5432)
+        .put("pool", new JsonObject().put("min", 1).put("max", 10)))
+      .put("http", new JsonObject().put("port", 8080))
+      .put("tags", new JsonArray().add("a").add("b"));
+  }
+
+  @Test
+  public void testRemovals() {
+    JsonObject base = base();
+    JsonObject copy = base.copy();
+    JsonObject result = apply(base, new JsonObject(), new JsonArray()
+      .add("/name")
+      .add("/db/pool/max")
+      .add("/http/port")
+      // Missing values and parents are ignored
+      .add("/missing")
+      .add("/missing/nested")
+      .add("/name/nested"));
+
+    assertThat(result).isEqualTo(new JsonObject()
+      .put("db", new JsonObject()
+        .put("host", "localhost")
+        .put("port", 5432)
+        .put("pool", new JsonObject().put("min", 1)))
+      .put("http", new JsonObject())
+      .put("tags", new JsonArray().add("a").add("b")));
+    // The base is not modified, and shares the values outside of the paths of the delta
+    assertThat(base).isEqualTo(copy);
+    assertThat(result.getJsonArray("tags")).isSameAs(base.getJsonArray("tags"));
+    assertThat(result.getJsonObject("db")).isNotSameAs(base.getJsonObject("db"));
+  }
+
+  @Test
+  public void testNestedSets() {
+    JsonObject base = base();
+    JsonObject copy = base.copy();
+    JsonObject result = apply(base, new JsonObject()
+      .put("/db/host", "db.example.com")
+      .put("/db/pool/max", 20)
+      .put("/db/pool/timeout", 30)
+      // The missing parents are created, a value that is not an object is replaced
+      .put("/cache/ttl", 60)
+      .put("/name/first", "my")
+      .put("/a~1b", "slash")
+      .put("/tags", new JsonArray().add("c")), new JsonArray());
+
+    assertThat(result.getJsonObject("db")).isEqualTo(new JsonObject()
+      .put("host", "db.example.com")
+      .put("port", 5432)
+      .put("pool", new JsonObject().put("min", 1).put("max", 20).put("timeout", 30)));
+    assertThat(result.getJsonObject("cache")).isEqualTo(new JsonObject().put("ttl", 60));
+    assertThat(result.getJsonObject("name")).isEqualTo(new JsonObject().put("first", "my"));
+    assertThat(result.getString("a/b")).isEqualTo("slash");
+    assertThat(result.getJsonArray("tags")).isEqualTo(new JsonArray().add("c"));
+    assertThat(base).isEqualTo(copy);
+    assertThat(result.getJsonObject("http")).isSameAs(base.getJsonObject("http"));
+  }
+
+  @Test
+  public void testRemovalsAndSetsOnTheSamePath() {
+    JsonObject base = base();
+    // The removals are applied first
+    JsonObject result = apply(base, new JsonObject().put("/db/pool", new JsonObject().put("size", 5)),
+      new JsonArray().add("/db/pool").add("/db/port"));
+
+    assertThat(result.getJsonObject("db")).isEqualTo(new JsonObject()
+      .put("host", "localhost")
+      .put("pool", new JsonObject().put("size", 5)));
+    assertThat(base.getJsonObject("db").getInteger("port")).isEqualTo(5432);
+  }
+
+  @Test
+  public void testWithoutBase() {
+    JsonObject result = apply(null, new JsonObject().put("/a/b", 1), new JsonArray().add("/c"));
+    assertThat(result).isEqualTo(new JsonObject().put("a", new JsonObject().put("b", 1)));
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package io.vertx.config.tests.impl;
+
+import io.vertx.config.ConfigChange;
+import io.vertx.config.ConfigRetriever;
+import io.vertx.config.ConfigRetrieverOptions;
+import io.vertx.config.ConfigStoreOptions;
+import io.vertx.config.tests.spi.ControlledConfigStore;
+import io.vertx.config.tests.spi.ControlledConfigStoreFactory;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the JDK Flight Recorder events emitted by the retriever.
+ */
+@RunWith(VertxUnitRunner.class)
+public class ConfigEventsTest {
+
+  private Vertx vertx;
+
+  @Before
+  public void setUp() {
+    vertx = Vertx.vertx();
+  }
+
+  @After
+  public void tearDown() {
+    vertx.close();
+  }
+
+  @Test
+  public void testFetchAndProcessEvents() throws Exception {
+    List<RecordedEvent> events = record(() -> {
+      ConfigRetriever retriever = ConfigRetriever.create(vertx, new ConfigRetrieverOptions()
+        .addStore(new ConfigStoreOptions().setType("file")
+          .setConfig(new JsonObject().put("path", "src/test/resources/file/regular.json"))));
+      retriever.getConfig().await(20, TimeUnit.SECONDS);
+      retriever.close();
+    }, "io.vertx.config.Fetch", "io.vertx.config.Process");
+
+    List<RecordedEvent> fetches = named(events, "io.vertx.config.Fetch");
+    assertThat(fetches).hasSize(1);
+    assertThat(fetches.get(0).getString("store")).isEqualTo("file");
+    assertThat(fetches.get(0).getString("outcome")).isEqualTo("modified");
+    assertThat(fetches.get(0).getLong("bytes"))
+      .isEqualTo(new File("src/test/resources/file/regular.json").length());
+
+    List<RecordedEvent> processings = named(events, "io.vertx.config.Process");
+    assertThat(processings).hasSize(1);
+    assertThat(processings.get(0).getString("format")).isEqualTo("json");
+    assertThat(processings.get(0).getString("outcome")).isEqualTo("succeeded");
+  }
+
+  @Test
+  public void testScanAndListenerEvents() throws Exception {
+    List<RecordedEvent> events = record(() -> {
+      ConfigRetriever retriever = ConfigRetriever.create(vertx, new ConfigRetrieverOptions().setScanPeriod(0)
+        .addStore(new ConfigStoreOptions().setType(ControlledConfigStoreFactory.NAME)
+          .setConfig(new JsonObject().put("name", "events").put("content", new JsonObject().put("key", 1)))));
+      retriever.getConfig().await(20, TimeUnit.SECONDS);
+      Promise<Void> notified = Promise.promise();
+      retriever.listen(new Listener(notified));
+      // The store reports the change, which triggers a scan of the store
+      ControlledConfigStore.named("events").change(new JsonObject().put("key", 2));
+      notified.future().await(20, TimeUnit.SECONDS);
+      retriever.close();
+    }, "io.vertx.config.Scan", "io.vertx.config.Listener");
+
+    List<RecordedEvent> scans = named(events, "io.vertx.config.Scan");
+    assertThat(scans).hasSize(1);
+    assertThat(scans.get(0).getInt("stores")).isEqualTo(1);
+    assertThat(scans.get(0).getString("outcome")).isEqualTo("changed");
+
+    List<RecordedEvent> listeners = named(events, "io.vertx.config.Listener");
+    assertThat(listeners).hasSize(1);
+    assertThat(listeners.get(0).getString("listener")).isEqualTo(Listener.class.getName());
+    assertThat(listeners.get(0).getString("outcome")).isEqualTo("succeeded");
+  }
+
+  @Test
+  public void testFileSetEvents() throws Exception {
+    List<RecordedEvent> events = record(() -> {
+      ConfigRetriever retriever = ConfigRetriever.create(vertx, new ConfigRetrieverOptions()
+        .addStore(new ConfigStoreOptions().setType("directory")
+          .setConfig(new JsonObject().put("path", "src/test/resources")
+            .put("filesets", new JsonArray().add(new JsonObject().put("pattern", "file/reg*.json"))))));
+      retriever.getConfig().await(20, TimeUnit.SECONDS);
+      retriever.close();
+    }, "io.vertx.config.FileSet");
+
+    List<RecordedEvent> fileSets = named(events, "io.vertx.config.FileSet");
+    assertThat(fileSets).hasSize(1);
+    assertThat(fileSets.get(0).getString("pattern")).isEqualTo("file/reg*.json");
+    assertThat(fileSets.get(0).getInt("files")).isEqualTo(1);
+    assertThat(fileSets.get(0).getString("outcome")).isEqualTo("succeeded");
+  }
+
+  private static List<RecordedEvent> record(Action action, String... names) throws Exception {
+    Path dump = Files.createTempFile("config-events", ".jfr");
+    try (Recording recording = new Recording()) {
+      for (String name : names) {
+        recording.enable(name);
+      }
+      recording.start();
+      action.run();
+      recording.stop();
+      recording.dump(dump);
+      return RecordingFile.readAllEvents(dump);
+    } finally {
+      Files.deleteIfExists(dump);
+    }
+  }
+
+  private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+    return events.stream()
+      .filter(event -> event.getEventType().getName().equals(name))
+      .collect(Collectors.toList());
+  }
+
+  private interface Action {
+    void run() throws Exception;
+  }
+
+  private static final class Listener implements Handler<ConfigChange> {
+
+    private final Promise<Void> notified;
+
+    private Listener(Promise<Void> notified) {
+      this.notified = notified;
+    }
+
+    @Override
+    public void handle(ConfigChange change) {
+      notified.tryComplete();
+    }
+  }
+}
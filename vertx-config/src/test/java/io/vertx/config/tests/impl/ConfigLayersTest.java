@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package io.vertx.config.tests.impl;
+
+import io.vertx.config.ConfigRetriever;
+import io.vertx.config.ConfigRetrieverOptions;
+import io.vertx.config.ConfigStoreOptions;
+import io.vertx.config.impl.ConfigSnapshotImpl;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the incremental merge of the store configurations.
+ */
+@RunWith(VertxUnitRunner.class)
+public class ConfigLayersTest {
+
+  private Vertx vertx;
+  private ConfigRetriever retriever;
+
+  @Before
+  public void setUp(TestContext tc) {
+    vertx = Vertx.vertx();
+    vertx.exceptionHandler(tc.exceptionHandler());
+    JsonObject base = new JsonObject()
+      .put("a", new JsonObject().put("x", 1).put("y", new JsonObject().put("z", 1)))
+      .put("b", new JsonObject().put("k", 1))
+      .put("list", new JsonArray().add(1));
+    retriever = ConfigRetriever.create(vertx, new ConfigRetrieverOptions()
+      .setScanPeriod(3_600_000)
+      .addStore(new ConfigStoreOptions().setType("json").setConfig(base))
+      .addStore(new ConfigStoreOptions().setType("event-bus").setConfig(new JsonObject().put("address", "layers"))));
+  }
+
+  @After
+  public void tearDown() {
+    retriever.close();
+    vertx.close();
+  }
+
+  @Test
+  public void testOnlyModifiedEntriesAreMergedAgain(TestContext tc) {
+    Async async = tc.async();
+    AtomicInteger changes = new AtomicInteger();
+    retriever.getConfig().onComplete(tc.asyncAssertSuccess(initial -> {
+      JsonObject first = ((ConfigSnapshotImpl) retriever.getSnapshot()).unwrap();
+      retriever.listen(change -> {
+        JsonObject json = ((ConfigSnapshotImpl) retriever.getSnapshot()).unwrap();
+        if (changes.incrementAndGet() == 1) {
+          assertThat(change.getNewConfiguration().getJsonObject("a").getInteger("x")).isEqualTo(2);
+          assertThat(change.getNewConfiguration().getJsonObject("a").getJsonObject("y").getInteger("z"))
+            .isEqualTo(1);
+          assertThat(change.getNewConfiguration().getJsonArray("list")).containsExactly("replaced");
+          assertThat(change.getNewConfiguration().getBoolean("c")).isTrue();
+          // The entries of the store that did not change are shared with the previous configuration
+          assertThat(json.getValue("b")).isSameAs(first.getValue("b"));
+          assertThat(json.getJsonObject("a").getValue("y")).isSameAs(first.getJsonObject("a").getValue("y"));
+          vertx.eventBus().publish("layers", new JsonObject().put("b", new JsonObject().put("l", 2)));
+        } else {
+          // The values of the removed overrides are restored
+          JsonObject config = change.getNewConfiguration();
+          assertThat(config.getJsonObject("a").getInteger("x")).isEqualTo(1);
+          assertThat(config.getJsonArray("list")).containsExactly(1);
+          assertThat(config.containsKey("c")).isFalse();
+          assertThat(config.getJsonObject("b")).isEqualTo(new JsonObject().put("k", 1).put("l", 2));
+          // The result is the same as a full merge
+          JsonObject expected = new JsonObject()
+            .put("a", new JsonObject().put("x", 1).put("y", new JsonObject().put("z", 1)))
+            .put("b", new JsonObject().put("k", 1).put("l", 2))
+            .put("list", new JsonArray().add(1));
+          assertThat(config).isEqualTo(expected);
+          async.complete();
+        }
+      });
+      vertx.eventBus().publish("layers", new JsonObject()
+        .put("a", new JsonObject().put("x", 2))
+        .put("list", new JsonArray().add("replaced"))
+        .put("c", true));
+    }));
+  }
+
+  @Test
+  public void testSnapshotsAreNotModifiedByTheNextChanges(TestContext tc) {
+    Async async = tc.async();
+    retriever.getConfig().onComplete(tc.asyncAssertSuccess(initial -> {
+      JsonObject first = ((ConfigSnapshotImpl) retriever.getSnapshot()).unwrap();
+      JsonObject expected = first.copy();
+      retriever.listen(change -> {
+        JsonObject json = ((ConfigSnapshotImpl) retriever.getSnapshot()).unwrap();
+        // The previous snapshot is intact, and shares the unchanged subtrees with the new one
+        assertThat(first).isEqualTo(expected);
+        assertThat(json.getValue("b")).isSameAs(first.getValue("b"));
+        // The listeners get their own copies, they can modify them
+        assertThat(change.getPreviousConfiguration()).isEqualTo(first).isNotSameAs(first);
+        assertThat(change.getNewConfiguration()).isEqualTo(json).isNotSameAs(json);
+        assertThat(change.getNewConfiguration().getValue("b")).isNotSameAs(json.getValue("b"));
+        change.getNewConfiguration().getJsonObject("b").put("k", 3);
+        assertThat(json.getJsonObject("b").getInteger("k")).isEqualTo(1);
+        async.complete();
+      });
+      vertx.eventBus().publish("layers", new JsonObject().put("a", new JsonObject().put("y", new JsonObject())));
+    }));
+  }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package io.vertx.config.tests.impl;
+
+import io.vertx.config.ConfigRetriever;
+import io.vertx.config.ConfigRetrieverOptions;
+import io.vertx.config.ConfigStoreOptions;
+import io.vertx.config.impl.ConfigRetrieverImpl;
+import io.vertx.config.impl.ConfigurationProvider;
+import io.vertx.config.tests.spi.ControlledConfigStore;
+import io.vertx.config.tests.spi.ControlledConfigStoreFactory;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(VertxUnitRunner.class)
+public class ConfigurationProviderTest {
+
+  private Vertx vertx;
+  private ConfigRetriever retriever;
+
+  @Before
+  public void setUp(TestContext tc) {
+    vertx = Vertx.vertx();
+    vertx.exceptionHandler(tc.exceptionHandler());
+  }
+
+  @After
+  public void tearDown() {
+    retriever.close();
+    vertx.close();
+    System.clearProperty("provider-test");
+  }
+
+  @Test
+  public void testSameContentIsNotProcessedAgain(TestContext tc) {
+    Async async = tc.async();
+    // A store without versioning, always returning the same content
+    retriever = ConfigRetriever.create(vertx, new ConfigRetrieverOptions()
+      .addStore(new ConfigStoreOptions().setType(ControlledConfigStoreFactory.NAME)
+        .setConfig(new JsonObject().put("content", new JsonObject().put("foo", "bar")))));
+    ConfigurationProvider provider = ((ConfigRetrieverImpl) retriever).getProviders().get(0);
+
+    retriever.getConfig()
+      .compose(json -> {
+        assertThat(json.getString("foo")).isEqualTo("bar");
+        assertThat(provider.getCacheHits()).isEqualTo(0);
+        assertThat(provider.getCacheMisses()).isEqualTo(1);
+        return retriever.getConfig();
+      })
+      .onComplete(tc.asyncAssertSuccess(json -> {
+        assertThat(json.getString("foo")).isEqualTo("bar");
+        assertThat(provider.getCacheHits()).isEqualTo(1);
+        assertThat(provider.getCacheMisses()).isEqualTo(1);
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void testModifiedContentIsProcessed(TestContext tc) {
+    Async async = tc.async();
+    retriever = ConfigRetriever.create(vertx, new ConfigRetrieverOptions()
+      .addStore(new ConfigStoreOptions().setType("sys").setConfig(new JsonObject().put("cache", false))));
+    ConfigurationProvider provider = ((ConfigRetrieverImpl) retriever).getProviders().get(0);
+
+    retriever.getConfig()
+      .compose(json -> {
+        assertThat(json.getString("provider-test")).isNull();
+        System.setProperty("provider-test", "value");
+        return retriever.getConfig();
+      })
+      .onComplete(tc.asyncAssertSuccess(json -> {
+        assertThat(json.getString("provider-test")).isEqualTo("value");
+        assertThat(provider.getCacheHits()).isEqualTo(0);
+        // The store returns a JSON object, used as is without calling the processor
+        assertThat(provider.getCacheMisses()).isEqualTo(0);
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void testCircuitBreakerBackoff(TestContext tc) {
+    Async async = tc.async();
+    retriever = ConfigRetriever.create(vertx, new ConfigRetrieverOptions().setScanPeriod(0)
+      .addStore(new ConfigStoreOptions().setType(ControlledConfigStoreFactory.NAME).setOptional(true)
+        .setCircuitBreakerThreshold(2).setCircuitBreakerBackoff(100).setCircuitBreakerMaxBackoff(250)
+        .setConfig(new JsonObject().put("name", "breaker").put("content", new JsonObject().put("key", "good")))));
+    ConfigurationProvider provider = ((ConfigRetrieverImpl) retriever).getProviders().get(0);
+    ControlledConfigStore store = ControlledConfigStore.named("breaker");
+
+    retriever.getConfig()
+      .compose(json -> {
+        assertThat(json.getString("key")).isEqualTo("good");
+        assertThat(provider.getCircuitState()).isEqualTo(ConfigurationProvider.CircuitState.CLOSED);
+        store.fail(new IllegalStateException("unavailable"));
+        return retriever.getConfig();
+      })
+      .compose(json -> {
+        assertThat(json.getString("key")).isEqualTo("good");
+        assertThat(provider.getConsecutiveFailures()).isEqualTo(1);
+        assertThat(provider.getCircuitState()).isEqualTo(ConfigurationProvider.CircuitState.CLOSED);
+        return retriever.getConfig();
+      })
+      .compose(json -> {
+        assertThat(provider.getCircuitState()).isEqualTo(ConfigurationProvider.CircuitState.OPEN);
+        assertThat(provider.getCircuitOpenings()).isEqualTo(1);
+        assertThat(provider.getCircuitBackoff()).isEqualTo(100L);
+        assertThat(store.fetches()).isEqualTo(3);
+        return retriever.getConfig();
+      })
+      .compose(json -> {
+        // The store is skipped, and contributes its last good value instead of an empty configuration
+        assertThat(json.getString("key")).isEqualTo("good");
+        assertThat(store.fetches()).isEqualTo(3);
+        return halfOpen(provider);
+      })
+      .compose(v -> retriever.getConfig())
+      .compose(json -> {
+        // The probe failed, the backoff doubles
+        assertThat(json.getString("key")).isEqualTo("good");
+        assertThat(store.fetches()).isEqualTo(4);
+        assertThat(provider.getCircuitState()).isEqualTo(ConfigurationProvider.CircuitState.OPEN);
+        assertThat(provider.getCircuitOpenings()).isEqualTo(2);
+        assertThat(provider.getCircuitBackoff()).isEqualTo(200L);
+        return halfOpen(provider);
+      })
+      .compose(v -> retriever.getConfig())
+      .compose(json -> {
+        // Capped by the maximum backoff
+        assertThat(provider.getCircuitOpenings()).isEqualTo(3);
+        assertThat(provider.getCircuitBackoff()).isEqualTo(250L);
+        return halfOpen(provider);
+      })
+      .compose(v -> retriever.getConfig())
+      .compose(json -> {
+        assertThat(provider.getCircuitOpenings()).isEqualTo(4);
+        assertThat(provider.getCircuitBackoff()).isEqualTo(250L);
+        store.serve(new JsonObject().put("key", "recovered"));
+        return halfOpen(provider);
+      })
+      .compose(v -> retriever.getConfig())
+      .onComplete(tc.asyncAssertSuccess(json -> {
+        // The probe succeeded, the circuit closes
+        assertThat(json.getString("key")).isEqualTo("recovered");
+        assertThat(store.fetches()).isEqualTo(7);
+        assertThat(provider.getCircuitState()).isEqualTo(ConfigurationProvider.CircuitState.CLOSED);
+        assertThat(provider.getConsecutiveFailures()).isEqualTo(0);
+        assertThat(provider.getCircuitBackoff()).isEqualTo(0L);
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void testCircuitBreakerLetsASingleProbeThrough(TestContext tc) {
+    Async async = tc.async();
+    retriever = ConfigRetriever.create(vertx, new ConfigRetrieverOptions().setScanPeriod(0)
+      .addStore(new ConfigStoreOptions().setType(ControlledConfigStoreFactory.NAME).setOptional(true)
+        .setCircuitBreakerThreshold(1).setCircuitBreakerBackoff(100)
+        .setConfig(new JsonObject().put("name", "probe").put("content", new JsonObject().put("key", "good")))));
+    ConfigurationProvider provider = ((ConfigRetrieverImpl) retriever).getProviders().get(0);
+    ControlledConfigStore store = ControlledConfigStore.named("probe");
+    Promise<Void> scanned = Promise.promise();
+    AtomicReference<Future<JsonObject>> probe = new AtomicReference<>();
+
+    retriever.getConfig()
+      .compose(json -> {
+        store.fail(new IllegalStateException("unavailable"));
+        return retriever.getConfig();
+      })
+      .compose(json -> halfOpen(provider))
+      .compose(v -> {
+        // The probe is held, the scan requested meanwhile must not call the store again
+        store.hold(true);
+        probe.set(retriever.getConfig());
+        assertThat(store.fetches()).isEqualTo(3);
+        retriever.setBeforeScanHandler(x -> scanned.tryComplete());
+        store.touch();
+        return scanned.future();
+      })
+      .compose(v -> {
+        Promise<Void> promise = Promise.promise();
+        vertx.setTimer(50, l -> promise.complete());
+        return promise.future();
+      })
+      .compose(v -> {
+        assertThat(store.fetches()).isEqualTo(3);
+        assertThat(store.held()).isEqualTo(1);
+        assertThat(retriever.getCachedConfig().getString("key")).isEqualTo("good");
+        assertThat(provider.getCircuitState()).isEqualTo(ConfigurationProvider.CircuitState.HALF_OPEN);
+        store.release();
+        return probe.get();
+      })
+      .onComplete(tc.asyncAssertSuccess(json -> {
+        // The probe failed, the store is skipped again
+        assertThat(json.getString("key")).isEqualTo("good");
+        assertThat(provider.getCircuitState()).isEqualTo(ConfigurationProvider.CircuitState.OPEN);
+        assertThat(provider.getCircuitOpenings()).isEqualTo(2);
+        async.complete();
+      }));
+  }
+
+  private Future<Void> halfOpen(ConfigurationProvider provider) {
+    assertThat(provider.getCircuitState()).isEqualTo(ConfigurationProvider.CircuitState.OPEN);
+    Promise<Void> promise = Promise.promise();
+    vertx.setPeriodic(10, id -> {
+      if (provider.getCircuitState() == ConfigurationProvider.CircuitState.HALF_OPEN) {
+        vertx.cancelTimer(id);
+        promise.complete();
+      }
+    });
+    return promise.future();
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.vertx.config.tests.impl;
+
+import io.vertx.config.impl.Histogram;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the buckets and the percentiles of the histogram used by the default metrics.
+ */
+public class HistogramTest {
+
+  @Test
+  public void testSmallValuesHaveTheirOwnBucket() {
+    for (int i = 0; i < 8; i++) {
+      assertThat(Histogram.index(i)).isEqualTo(i);
+      assertThat(Histogram.lowestValue(i)).isEqualTo(i);
+    }
+    // 8 to 15 are still exact, then each power of two is split in 8 buckets
+    assertThat(Histogram.index(8)).isEqualTo(8);
+    assertThat(Histogram.index(15)).isEqualTo(15);
+    assertThat(Histogram.index(16)).isEqualTo(16);
+    assertThat(Histogram.index(17)).isEqualTo(16);
+    assertThat(Histogram.index(18)).isEqualTo(17);
+  }
+
+  @Test
+  public void testBucketsCoverEveryValue() {
+    // The lowest value of each bucket is in the bucket, the value before it in the previous one
+    for (int i = 1; i < Histogram.index(Long.MAX_VALUE); i++) {
+      long lowest = Histogram.lowestValue(i);
+      assertThat(Histogram.index(lowest)).isEqualTo(i);
+      assertThat(Histogram.index(lowest - 1)).isEqualTo(i - 1);
+    }
+    assertThat(Histogram.index(Long.MAX_VALUE)).isEqualTo((64 - 3) * 8 - 1);
+  }
+
+  @Test
+  public void testPrecision() {
+    for (long value = 1; value < Long.MAX_VALUE / 3; value = value * 3 + 1) {
+      int index = Histogram.index(value);
+      long lowest = Histogram.lowestValue(index);
+      long next = Histogram.lowestValue(index + 1);
+      assertThat(value).isBetween(lowest, next - 1);
+      // The width of a bucket is at most 12.5% of its lowest value
+      assertThat(next - lowest).isLessThanOrEqualTo(Math.max(1, lowest / 8));
+    }
+  }
+
+  @Test
+  public void testEmptyHistogram() {
+    Histogram histogram = new Histogram();
+    assertThat(histogram.valueAt(0.5)).isEqualTo(0);
+    assertThat(histogram.count()).isEqualTo(0L);
+  }
+
+  @Test
+  public void testPercentiles() {
+    Histogram histogram = new Histogram();
+    for (long i = 1; i <= 1000; i++) {
+      histogram.record(i);
+    }
+    histogram.record(-5L);
+    assertThat(histogram.count()).isEqualTo(1001L);
+    // The highest value of the bucket of the percentile, within 12.5%
+    assertThat(histogram.valueAt(0.5)).isBetween(500L, 563L);
+    assertThat(histogram.valueAt(0.9)).isBetween(900L, 1013L);
+    assertThat(histogram.valueAt(0.99)).isBetween(990L, 1000L);
+    // Bounded by the maximum
+    assertThat(histogram.valueAt(1)).isEqualTo(1000L);
+    // The negative value is counted as 0
+    assertThat(histogram.valueAt(0)).isEqualTo(0L);
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.vertx.config.tests.impl;
+
+import io.vertx.config.ConfigRetriever;
+import io.vertx.config.ConfigRetrieverOptions;
+import io.vertx.config.ConfigStoreOptions;
+import io.vertx.config.tests.spi.ControlledConfigStore;
+import io.vertx.config.tests.spi.ControlledConfigStoreFactory;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the listeners registered on a path are only notified of the changes of their subtree, as found by the
+ * prefix trie of the retriever.
+ */
+public class ListenerTrieTest {
+
+  private Vertx vertx;
+  private ConfigRetriever retriever;
+  private ControlledConfigStore store;
+  private final List<String> notified = new CopyOnWriteArrayList<>();
+  private volatile Promise<Void> notification;
+
+  @Before
+  public void setUp() {
+    vertx = Vertx.vertx();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    if (retriever != null) {
+      retriever.close();
+    }
+    vertx.close().await(20, TimeUnit.SECONDS);
+  }
+
+  private void create(String name, JsonObject content) throws Exception {
+    retriever = ConfigRetriever.create(vertx, new ConfigRetrieverOptions().setScanPeriod(0)
+      .addStore(new ConfigStoreOptions().setType(ControlledConfigStoreFactory.NAME)
+        .setConfig(new JsonObject().put("name", name).put("content", content))));
+    retriever.getConfig().await(20, TimeUnit.SECONDS);
+    store = ControlledConfigStore.named(name);
+  }
+
+  private void listen(String... paths) {
+    for (String path : paths) {
+      retriever.listen(path, change -> notified.add(path));
+    }
+    // Registered last, so called once the other listeners have been notified
+    retriever.listen(change -> notification.complete());
+  }
+
+  /**
+   * @return the paths of the listeners notified of the change, in notification order
+   */
+  private List<String> change(JsonObject content) throws Exception {
+    notified.clear();
+    Promise<Void> promise = Promise.promise();
+    notification = promise;
+    store.change(content);
+    promise.future().await(20, TimeUnit.SECONDS);
+    return new ArrayList<>(notified);
+  }
+
+  @Test
+  public void testPathSyntaxes() throws Exception {
+    create("syntaxes", new JsonObject()
+      .put("a/b", new JsonObject().put("c~d", 1))
+      .put("http", new JsonObject().put("server", new JsonObject().put("port", 8080))));
+    listen("/a~1b/c~0d", "http.server", "/http/server");
+
+    assertThat(change(new JsonObject()
+      .put("a/b", new JsonObject().put("c~d", 2))
+      .put("http", new JsonObject().put("server", new JsonObject().put("port", 8080)))))
+      .containsExactly("/a~1b/c~0d");
+    assertThat(change(new JsonObject()
+      .put("a/b", new JsonObject().put("c~d", 2))
+      .put("http", new JsonObject().put("server", new JsonObject().put("port", 8081)))))
+      .containsExactly("http.server", "/http/server");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEmptySegment() throws Exception {
+    create("empty-segment", new JsonObject());
+    retriever.listen("http..server", change -> {});
+  }
+
+  @Test
+  public void testPrefixMatching() throws Exception {
+    create("prefixes", prefixes(8080, "localhost", 1));
+    listen("", "http", "http.server", "http.client", "db");
+
+    // Ancestors of the changed path
+    assertThat(change(prefixes(8081, "localhost", 1))).containsExactly("", "http", "http.server");
+    // Descendants of the changed path
+    assertThat(change(new JsonObject().put("http", "disabled").put("db", new JsonObject()).put("cache", 1)))
+      .containsExactly("", "http", "http.server", "http.client");
+    // Unrelated
+    assertThat(change(new JsonObject().put("http", "disabled").put("db", new JsonObject()).put("cache", 2)))
+      .containsExactly("");
+  }
+
+  private static JsonObject prefixes(int port, String host, int cache) {
+    return new JsonObject()
+      .put("http", new JsonObject()
+        .put("server", new JsonObject().put("port", port))
+        .put("client", new JsonObject().put("host", host)))
+      .put("db", new JsonObject())
+      .put("cache", cache);
+  }
+
+  @Test
+  public void testWildcard() throws Exception {
+    create("wildcard", features(true, 1, 1));
+    listen("features.*", "features.*.enabled");
+
+    assertThat(change(features(false, 1, 1))).containsExactly("features.*", "features.*.enabled");
+    assertThat(change(features(false, 2, 1))).containsExactly("features.*");
+    assertThat(change(new JsonObject().put("features", "off").put("other", 1)))
+      .containsExactly("features.*", "features.*.enabled");
+    assertThat(change(new JsonObject().put("features", "off").put("other", 2))).isEmpty();
+  }
+
+  private static JsonObject features(boolean enabled, int ratio, int other) {
+    return new JsonObject()
+      .put("features", new JsonObject().put("a", new JsonObject().put("enabled", enabled).put("ratio", ratio)))
+      .put("other", other);
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.vertx.config.tests.impl;
+
+import io.vertx.config.ConfigChange;
+import io.vertx.config.ConfigRetriever;
+import io.vertx.config.ConfigRetrieverOptions;
+import io.vertx.config.ConfigStoreOptions;
+import io.vertx.config.impl.ConfigRetrieverImpl;
+import io.vertx.config.tests.spi.ControlledConfigStore;
+import io.vertx.config.tests.spi.ControlledConfigStoreFactory;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the configurations given to the listeners are copied lazily, once per notification.
+ */
+@RunWith(VertxUnitRunner.class)
+public class SharedConfigChangeTest {
+
+  private static final int ENTRIES = 100;
+
+  private Vertx vertx;
+  private ConfigRetriever retriever;
+
+  @Before
+  public void setUp(TestContext tc) {
+    vertx = Vertx.vertx();
+    vertx.exceptionHandler(tc.exceptionHandler());
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    retriever.close();
+    vertx.close().await(20, TimeUnit.SECONDS);
+  }
+
+  private void create(String name) {
+    retriever = ConfigRetriever.create(vertx, new ConfigRetrieverOptions().setScanPeriod(0)
+      .addStore(new ConfigStoreOptions().setType(ControlledConfigStoreFactory.NAME).setConfig(new JsonObject()
+        .put("name", name)
+        .put("content", content(0)))));
+  }
+
+  private static JsonObject content(int version) {
+    JsonObject json = new JsonObject().put("version", version);
+    for (int i = 0; i < ENTRIES; i++) {
+      json.put("key-" + i, new JsonObject().put("value", i));
+    }
+    return json;
+  }
+
+  @Test
+  public void testListenersCheckingPathsRetainNoCopy(TestContext tc) {
+    int notifications = 5;
+    Async done = tc.async();
+    List<ConfigChange> changes = new ArrayList<>();
+    vertx.runOnContext(v -> {
+      create("retention");
+      ControlledConfigStore store = ControlledConfigStore.named("retention");
+      retriever.getConfig().onComplete(tc.asyncAssertSuccess(json -> {
+        retriever.listen(change -> {
+          assertThat(change.isChanged("/version")).isTrue();
+          assertThat(change.isChanged("/key-0")).isFalse();
+          changes.add(change);
+          if (changes.size() < notifications) {
+            store.change(content(changes.size() + 1));
+            return;
+          }
+          // Each change refers to the configurations of the retriever, none of them has been copied
+          assertThat(((ConfigRetrieverImpl) retriever).getListenerCopies()).isEqualTo(0);
+          done.complete();
+        });
+        store.change(content(1));
+      }));
+    });
+    done.awaitSuccess(20_000);
+  }
+
+  @Test
+  public void testListenersOfANotificationShareTheCopies(TestContext tc) {
+    Async done = tc.async();
+    vertx.runOnContext(v -> {
+      create("sharing");
+      ControlledConfigStore store = ControlledConfigStore.named("sharing");
+      retriever.getConfig().onComplete(tc.asyncAssertSuccess(json -> {
+        List<JsonObject> copies = new ArrayList<>();
+        retriever.listen(change -> {
+          JsonObject conf = change.getNewConfiguration();
+          assertThat(conf.getInteger("version")).isEqualTo(1);
+          assertThat(change.getPreviousConfiguration().getInteger("version")).isEqualTo(0);
+          copies.add(conf);
+          // The copy belongs to the listeners, the configuration of the retriever is not modified
+          conf.put("version", 42);
+        });
+        retriever.listen(change -> {
+          assertThat(change.getNewConfiguration()).isSameAs(copies.get(0));
+          // Copied once for both listeners, the previous and the new configuration
+          assertThat(((ConfigRetrieverImpl) retriever).getListenerCopies()).isEqualTo(2);
+          assertThat(retriever.getSnapshot().getInteger("version")).isEqualTo(1);
+          // Setting a configuration only affects this change
+          change.setNewConfiguration(new JsonObject().put("version", 0));
+          assertThat(change.getPreviousConfiguration().getInteger("version")).isEqualTo(0);
+          assertThat(change.getChangedPaths()).contains("/key-0").doesNotContain("/version");
+          done.complete();
+        });
+        store.change(content(1));
+      }));
+    });
+    done.awaitSuccess(20_000);
+  }
+}
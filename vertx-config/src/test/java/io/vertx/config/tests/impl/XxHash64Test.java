@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.vertx.config.tests.impl;
+
+import io.vertx.config.impl.XxHash64;
+import io.vertx.core.buffer.Buffer;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the xxHash64 implementation against the reference values (seed 0).
+ */
+public class XxHash64Test {
+
+  private static long hash(String content) {
+    return XxHash64.hash(Buffer.buffer(content));
+  }
+
+  @Test
+  public void testEmptyInput() {
+    assertThat(hash("")).isEqualTo(0xEF46DB3751D8E999L);
+  }
+
+  @Test
+  public void testShortInputs() {
+    // Only the byte and the 4-byte tails
+    assertThat(hash("a")).isEqualTo(0xD24EC4F1A98C6E5BL);
+    assertThat(hash("abc")).isEqualTo(0x44BC2CF5AD770999L);
+  }
+
+  @Test
+  public void testInputsLongerThanAStripe() {
+    // One 32-byte stripe, followed by the 8-byte, 4-byte and byte tails
+    assertThat(hash("Nobody inspects the spammish repetition")).isEqualTo(0xFBCEA83C8A378BF1L);
+    assertThat(hash("The quick brown fox jumps over the lazy dog")).isEqualTo(0x0B242D361FDA71BCL);
+  }
+
+  @Test
+  public void testSliceIsHashedLikeItsContent() {
+    Buffer buffer = Buffer.buffer("--Nobody inspects the spammish repetition--");
+    assertThat(XxHash64.hash(buffer.slice(2, buffer.length() - 2))).isEqualTo(0xFBCEA83C8A378BF1L);
+  }
+}
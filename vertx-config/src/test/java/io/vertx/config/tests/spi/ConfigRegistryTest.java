@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.vertx.config.tests.spi;
+
+import io.vertx.config.ConfigRetriever;
+import io.vertx.config.ConfigRetrieverOptions;
+import io.vertx.config.ConfigStoreOptions;
+import io.vertx.config.spi.ConfigRegistry;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(VertxUnitRunner.class)
+public class ConfigRegistryTest {
+
+  private Vertx vertx;
+
+  @Before
+  public void setUp() {
+    vertx = Vertx.vertx();
+  }
+
+  @After
+  public void tearDown() {
+    vertx.close();
+  }
+
+  @Test
+  public void testDiscovery() {
+    assertThat(ConfigRegistry.getStoreNames()).contains("file", "json", "sys", "env", "http", "event-bus");
+    assertThat(ConfigRegistry.getFormats()).contains("json", "raw", "properties");
+    assertThat(ConfigRegistry.getStoreFactory("file")).isNotNull();
+    assertThat(ConfigRegistry.getProcessor("json")).isNotNull();
+    assertThat(ConfigRegistry.getStoreFactory("missing")).isNull();
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testImmutability() {
+    ConfigRegistry.getStoreNames().clear();
+  }
+
+  @Test
+  public void testExplicitRegistration(TestContext tc) {
+    assertThat(ConfigRegistry.getStoreNames()).contains(ControlledConfigStoreFactory.NAME);
+    // Replaces the discovered factory of the same name, no other name is added to the shared registry
+    ControlledConfigStoreFactory factory = new ControlledConfigStoreFactory();
+    int count = ConfigRegistry.getStoreNames().size();
+    ConfigRegistry.register(factory);
+    assertThat(ConfigRegistry.getStoreFactory(ControlledConfigStoreFactory.NAME)).isSameAs(factory);
+    assertThat(ConfigRegistry.getStoreNames()).hasSize(count).contains("file");
+
+    ConfigRetriever retriever = ConfigRetriever.create(vertx, new ConfigRetrieverOptions()
+      .addStore(new ConfigStoreOptions().setType(ControlledConfigStoreFactory.NAME)
+        .setConfig(new JsonObject().put("content", new JsonObject().put("key", "value")))));
+    retriever.getConfig().onComplete(tc.asyncAssertSuccess(json -> {
+      assertThat(json.getString("key")).isEqualTo("value");
+      retriever.close();
+    }));
+  }
+}
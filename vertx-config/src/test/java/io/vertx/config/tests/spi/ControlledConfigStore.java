@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2014 Red Hat, Inc. and others
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package io.vertx.config.tests.spi;
+
+import io.vertx.config.spi.ConfigStore;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A store whose content and failures are set by the tests, created by {@link ControlledConfigStoreFactory}.
+ * <p>
+ * The store configuration contains the {@code name} used to find the store with {@link #named(String)}, and the
+ * initial {@code content}. The store does not version its content, so it is processed on every retrieval.
+ */
+public class ControlledConfigStore implements ConfigStore {
+
+  private static final Map<String, ControlledConfigStore> STORES = new ConcurrentHashMap<>();
+
+  private final String name;
+  private JsonObject content;
+  private Throwable failure;
+  private boolean holding;
+  private final Deque<Runnable> held = new ArrayDeque<>();
+  private int fetches;
+  private Handler<Void> watcher;
+
+  ControlledConfigStore(JsonObject configuration) {
+    this.name = configuration.getString("name");
+    this.content = configuration.getJsonObject("content", new JsonObject());
+    if (name != null) {
+      STORES.put(name, this);
+    }
+  }
+
+  /**
+   * @param name the name of the store, set in its configuration
+   * @return the store, {@code null} if it has not been created or has been closed
+   */
+  public static ControlledConfigStore named(String name) {
+    return STORES.get(name);
+  }
+
+  /**
+   * Serves the given content from now on.
+   *
+   * @param json the content
+   * @return the current store
+   */
+  public synchronized ControlledConfigStore serve(JsonObject json) {
+    content = json;
+    failure = null;
+    return this;
+  }
+
+  /**
+   * Fails the retrievals with the given error, until {@link #serve(JsonObject)} is called.
+   *
+   * @param error the error
+   * @return the current store
+   */
+  public synchronized ControlledConfigStore fail(Throwable error) {
+    failure = error;
+    return this;
+  }
+
+  /**
+   * Holds the next retrievals until they are released with {@link #release()}. A held retrieval completes with the
+   * outcome set when it started.
+   *
+   * @param hold whether the next retrievals are held
+   * @return the current store
+   */
+  public synchronized ControlledConfigStore hold(boolean hold) {
+    holding = hold;
+    return this;
+  }
+
+  /**
+   * Completes the oldest held retrieval.
+   *
+   * @return whether a retrieval has been released
+   */
+  public boolean release() {
+    Runnable next;
+    synchronized (this) {
+      next = held.poll();
+    }
+    if (next == null) {
+      return false;
+    }
+    next.run();
+    return true;
+  }
+
+  /**
+   * @return the number of retrievals, including the held ones
+   */
+  public synchronized int fetches() {
+    return fetches;
+  }
+
+  /**
+   * @return the number of retrievals held and not released yet
+   */
+  public synchronized int held() {
+    return held.size();
+  }
+
+  /**
+   * @return whether the retriever is watching the store
+   */
+  public synchronized boolean isWatched() {
+    return watcher != null;
+  }
+
+  /**
+   * Serves the given content and, if the store is watched, reports the change.
+   *
+   * @param json the new content
+   */
+  public void change(JsonObject json) {
+    serve(json);
+    touch();
+  }
+
+  /**
+   * Reports a change if the store is watched, without changing the outcome of the retrievals.
+   */
+  public void touch() {
+    Handler<Void> handler;
+    synchronized (this) {
+      handler = watcher;
+    }
+    if (handler != null) {
+      handler.handle(null);
+    }
+  }
+
+  @Override
+  public synchronized Future<Buffer> get() {
+    fetches++;
+    Future<Buffer> outcome = failure != null
+      ? Future.failedFuture(failure) : Future.succeededFuture(content.toBuffer());
+    if (!holding) {
+      return outcome;
+    }
+    Promise<Buffer> promise = Promise.promise();
+    held.add(() -> promise.handle(outcome));
+    return promise.future();
+  }
+
+  @Override
+  public synchronized void watch(Handler<Void> changeHandler) {
+    watcher = changeHandler;
+  }
+
+  @Override
+  public synchronized void unwatch() {
+    watcher = null;
+  }
+
+  @Override
+  public Future<Void> close() {
+    if (name != null) {
+      STORES.remove(name, this);
+    }
+    return Future.succeededFuture();
+  }
+}
@@ -17,6 +17,9 @@
 
 package io.vertx.config.tests.spi;
 
+import io.vertx.config.ConfigRetriever;
+import io.vertx.config.ConfigRetrieverOptions;
+import io.vertx.config.ConfigStoreOptions;
 import io.vertx.config.impl.spi.EventBusConfigStoreFactory;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
@@ -57,6 +60,30 @@ public class EventBusConfigStoreTest extends ConfigStoreTestBase {
     testEventBusConfigStore(tc, Buffer.buffer(HttpConfigStoreTest.JSON), false);
   }
 
+  @Test
+  public void testWatch(TestContext tc) {
+    store = factory.create(vertx, new JsonObject().put("address", "config"));
+    Async async = tc.async();
+    store.watch(v -> getConfigAndCheck(tc, async));
+    vertx.eventBus().send("config", new JsonObject(HttpConfigStoreTest.JSON));
+  }
+
+  @Test
+  public void testChangesArePropagatedWithoutWaitingForTheScan(TestContext tc) {
+    Async async = tc.async();
+    retriever = ConfigRetriever.create(vertx, new ConfigRetrieverOptions()
+      .setScanPeriod(3_600_000)
+      .addStore(new ConfigStoreOptions().setType("event-bus").setConfig(new JsonObject().put("address", "config"))));
+    retriever.getConfig().onComplete(tc.asyncAssertSuccess(json -> {
+      assertThat(json.isEmpty()).isTrue();
+      retriever.listen(change -> {
+        ConfigChecker.check(change.getNewConfiguration());
+        async.complete();
+      });
+      vertx.eventBus().publish("config", new JsonObject(HttpConfigStoreTest.JSON));
+    }));
+  }
+
   private void testEventBusConfigStore(TestContext tc, Object config, boolean send) {
     store = factory.create(vertx, new JsonObject().put("address", "config"));
     Async async = tc.async(2);
@@ -21,12 +21,15 @@ import io.vertx.config.ConfigRetriever;
 import io.vertx.config.ConfigRetrieverOptions;
 import io.vertx.config.ConfigStoreOptions;
 import io.vertx.config.impl.spi.FileConfigStoreFactory;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.File;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -132,4 +135,47 @@ public class FileConfigStoreTest extends ConfigStoreTestBase {
     });
   }
 
+  @Test
+  public void testVersionedLoading(TestContext context) {
+    Async async = context.async();
+    File file = new File("target/versioned/config.json");
+    file.getParentFile().mkdirs();
+    vertx.fileSystem().writeFileBlocking(file.getAbsolutePath(), Buffer.buffer("{\"key\":\"value\"}"));
+    // Recently modified files are not versioned
+    assertThat(file.setLastModified(System.currentTimeMillis() - 10_000)).isTrue();
+
+    store = factory.create(vertx, new JsonObject().put("path", file.getAbsolutePath()));
+    store.get(null).onComplete(context.asyncAssertSuccess(first -> {
+      assertThat(first.isModified()).isTrue();
+      assertThat(first.getVersion()).isNotNull();
+      assertThat(first.getContent().toJsonObject().getString("key")).isEqualTo("value");
+      store.get(first.getVersion()).onComplete(context.asyncAssertSuccess(second -> {
+        assertThat(second.isModified()).isFalse();
+        vertx.fileSystem().writeFileBlocking(file.getAbsolutePath(), Buffer.buffer("{\"key\":\"value-2\"}"));
+        assertThat(file.setLastModified(System.currentTimeMillis() - 5_000)).isTrue();
+        store.get(first.getVersion()).onComplete(context.asyncAssertSuccess(third -> {
+          assertThat(third.isModified()).isTrue();
+          assertThat(third.getVersion()).isNotEqualTo(first.getVersion());
+          assertThat(third.getContent().toJsonObject().getString("key")).isEqualTo("value-2");
+          async.complete();
+        }));
+      }));
+    }));
+  }
+
+  @Test
+  public void testRecentlyModifiedFileIsNotVersioned(TestContext context) {
+    Async async = context.async();
+    File file = new File("target/versioned/recent.json");
+    file.getParentFile().mkdirs();
+    vertx.fileSystem().writeFileBlocking(file.getAbsolutePath(), Buffer.buffer("{\"key\":\"value\"}"));
+
+    store = factory.create(vertx, new JsonObject().put("path", file.getAbsolutePath()));
+    store.get(null).onComplete(context.asyncAssertSuccess(content -> {
+      assertThat(content.isModified()).isTrue();
+      assertThat(content.getVersion()).isNull();
+      async.complete();
+    }));
+  }
+
 }
@@ -76,6 +76,14 @@ public class HttpConfigStoreTest extends ConfigStoreTestBase {
           // not found
           request.response().setStatusCode(404).setStatusMessage("Not Found").end();
         }
+        if (request.path().endsWith("/G")) {
+          // entity tag support
+          if ("\"v1\"".equals(request.getHeader("If-None-Match"))) {
+            request.response().setStatusCode(304).end();
+          } else {
+            request.response().putHeader("ETag", "\"v1\"").end(new JsonObject(JSON).encodePrettily());
+          }
+        }
         if (request.path().endsWith("/F")) {
           // send redirects to /A
           request.response().setStatusCode(302).putHeader("Location", "/A").end();
@@ -196,4 +204,41 @@ public class HttpConfigStoreTest extends ConfigStoreTestBase {
       async.complete();
     });
   }
+
+  @Test
+  public void testConditionalRetrieval(TestContext tc) {
+    Async async = tc.async();
+    store = factory.create(vertx, new JsonObject()
+      .put("host", "localhost")
+      .put("port", 8080)
+      .put("path", "/G")
+    );
+
+    store.get(null).onComplete(tc.asyncAssertSuccess(first -> {
+      assertThat(first.isModified()).isTrue();
+      assertThat(first.getVersion()).isNotNull();
+      ConfigChecker.check(first.getContent().toJsonObject());
+      store.get(first.getVersion()).onComplete(tc.asyncAssertSuccess(second -> {
+        assertThat(second.isModified()).isFalse();
+        async.complete();
+      }));
+    }));
+  }
+
+  @Test
+  public void testUnversionedRetrieval(TestContext tc) {
+    Async async = tc.async();
+    store = factory.create(vertx, new JsonObject()
+      .put("host", "localhost")
+      .put("port", 8080)
+      .put("path", "/A")
+    );
+
+    store.get(null).onComplete(tc.asyncAssertSuccess(content -> {
+      assertThat(content.isModified()).isTrue();
+      assertThat(content.getVersion()).isNull();
+      ConfigChecker.check(content.getContent().toJsonObject());
+      async.complete();
+    }));
+  }
 }
@@ -64,6 +64,18 @@ public class JsonConfigStoreTest extends ConfigStoreTestBase {
     });
   }
 
+  @Test
+  public void testNotModified(TestContext tc) {
+    store = factory.create(vertx, new JsonObject(JSON));
+    store.get(null)
+      .compose(content -> {
+        assertThat(content.isModified()).isTrue();
+        assertThat(content.getVersion()).isNotNull();
+        return store.get(content.getVersion());
+      })
+      .onComplete(tc.asyncAssertSuccess(content -> assertThat(content.isModified()).isFalse()));
+  }
+
   @Test
   public void testName() {
     assertThat(factory.name()).isNotNull().isEqualTo("json");
@@ -127,4 +127,22 @@ public class SystemPropertiesConfigStoreTest extends ConfigStoreTestBase {
     });
   }
 
+  @Test
+  public void testVersionedLoadingWithoutCache(TestContext context) {
+    Async async = context.async();
+    store = factory.create(vertx, new JsonObject().put("cache", false));
+    store.get(null).onComplete(context.asyncAssertSuccess(first -> {
+      assertThat(first.isModified()).isTrue();
+      store.get(first.getVersion()).onComplete(context.asyncAssertSuccess(second -> {
+        assertThat(second.isModified()).isFalse();
+        System.setProperty("new", "some new value");
+        store.get(first.getVersion()).onComplete(context.asyncAssertSuccess(third -> {
+          assertThat(third.isModified()).isTrue();
+          assertThat(third.getContent().toJsonObject().getString("new")).isEqualTo("some new value");
+          async.complete();
+        }));
+      }));
+    }));
+  }
+
 }
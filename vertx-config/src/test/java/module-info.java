@@ -18,10 +18,13 @@ open module io.vertx.config.tests {
     requires assertj.core;
     requires io.vertx.config;
     requires io.vertx.core;
+    requires io.vertx.core.tests;
     requires io.vertx.testing.unit;
     requires junit;
     requires com.fasterxml.jackson.core;
+    requires jdk.jfr;
 
-    provides io.vertx.config.spi.ConfigStoreFactory with io.vertx.config.tests.spi.MockEnvVariablesConfigStoreFactory;
+    provides io.vertx.config.spi.ConfigStoreFactory with io.vertx.config.tests.spi.MockEnvVariablesConfigStoreFactory,
+      io.vertx.config.tests.spi.ControlledConfigStoreFactory;
 
 }